@@ -0,0 +1,43 @@
+language events(java);
+
+prefix = "Events"
+package = "org.textmapper.tool.bootstrap.events"
+breaks = true
+eventBased = true
+eventFields = true
+flatStack = true
+positions = "offset"
+endpositions = "offset"
+
+:: lexer
+
+id: /[a-zA-Z_]+/
+num: /[0-9]+/
+'=': /=/
+';': /;/
+'+': /\+/
+'(': /\(/
+')': /\)/
+
+_skip: /[\n\t\r ]+/  (space)
+
+:: parser
+
+input -> File :
+	  statement+ ;
+
+statement -> Statement :
+	  (id -> Name) '=' value=expr ';' ;
+
+%interface Expr;
+
+expr -> Expr :
+	  primary
+	| left=expr '+' right=primary -> Plus
+;
+
+primary -> Expr :
+	  id -> Ref
+	| num -> Number
+	| '(' expr ')' -> Paren
+;
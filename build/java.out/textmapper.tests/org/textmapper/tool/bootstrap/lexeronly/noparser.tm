@@ -0,0 +1,34 @@
+#  syntax: lexer only
+
+#  Copyright 2002-2017 Evgeny Gryaznov
+#
+#  Licensed under the Apache License, Version 2.0 (the "License");
+#  you may not use this file except in compliance with the License.
+#  You may obtain a copy of the License at
+#
+#      http://www.apache.org/licenses/LICENSE-2.0
+#
+#  Unless required by applicable law or agreed to in writing, software
+#  distributed under the License is distributed on an "AS IS" BASIS,
+#  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+#  See the License for the specific language governing permissions and
+#  limitations under the License.
+
+language noparser(java);
+
+prefix = "Noparser"
+package = "org.textmapper.tool.bootstrap.lexeronly"
+lexerInput = "custom"
+genCopyright = true
+genmain = true			 # should be ignored
+
+:: lexer
+
+'{':	/\{/
+
+_skip:	/'([^\n\\']|\\.)*'/
+_skip:	/"([^\n\\"]|\\.)*"/
+_skip:	/[^'"{}]+/
+
+'}':	/\}/
+
@@ -0,0 +1,58 @@
+language lookahead(java);
+
+prefix = "Lookahead"
+package = "org.textmapper.tool.bootstrap.lookahead"
+breaks = true
+eventBased = true
+flatStack = true
+tableStyle = "codegen"
+recursiveLookaheads = true
+positions = "offset"
+endpositions = "offset"
+
+:: lexer
+
+id: /[a-zA-Z_]+/
+num: /[0-9]+/
+'=>': /=>/
+'=': /=/
+';': /;/
+',': /,/
+'+': /\+/
+'(': /\(/
+')': /\)/
+
+_skip: /[\n\t\r ]+/  (space)
+
+:: parser
+
+input :
+	  statement+ ;
+
+statement -> Statement :
+	  expr ';' ;
+
+expr :
+	  primary
+	| expr '+' primary -> Plus
+;
+
+primary :
+	  id -> Ref
+	| num -> Number
+	| (?= !StartOfArrowFunction) '(' expr ')' -> Paren
+	| (?= StartOfArrowFunction) '(' params? ')' '=>' primary -> ArrowFunction
+;
+
+params :
+	  param
+	| params ',' param
+;
+
+param -> Param :
+	  id
+	| id '=' primary
+;
+
+StartOfArrowFunction :
+	  '(' params? ')' '=>' ;
@@ -18,13 +18,14 @@ package org.textmapper.idea.compiler;
 
 import org.jetbrains.annotations.NonNls;
 import org.textmapper.lapg.api.ProcessingStatus;
-import org.textmapper.tool.common.FileBasedStrategy;
-import org.textmapper.tool.gen.TMGenerator;
+import org.textmapper.tool.gen.CompilationSession;
 import org.textmapper.tool.gen.TMOptions;
 import org.textmapper.tool.parser.TMTree.TextSource;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Map.Entry;
 
@@ -36,6 +37,19 @@ public class TmCompilerUtil {
 	@NonNls
 	public static final String BUILDER_ID = "Textmapper";
 
+	private static final int MAX_SESSIONS = 8;
+
+	/**
+	 * Validation sessions of recently edited grammars, by path.
+	 */
+	private static final Map<String, CompilationSession> sessions = Collections.synchronizedMap(
+			new LinkedHashMap<String, CompilationSession>(16, 0.75f, true) {
+				@Override
+				protected boolean removeEldestEntry(Entry<String, CompilationSession> eldest) {
+					return size() > MAX_SESSIONS;
+				}
+			});
+
 	public static boolean compileFile(TmCompilerTask task, TmCompilerContext context) {
 		context.reportProgress("Processing " + task.getFile().getName());
 
@@ -69,13 +83,9 @@ public class TmCompilerUtil {
 	public static void validateFile(TmCompilerTask task, TmProcessingStatus status) {
 		TMOptions options = new TMOptions();
 		task.fillOptions(options);
-		TextSource input = new TextSource(task.getFile().getPath(), task.getFileContent(), 1);
-		new TMGenerator(options, status, new FileBasedStrategy(null) {
-			@Override
-			public void createFile(String name, String contents, Map<String, Object> options, ProcessingStatus status) {
-				throw new UnsupportedOperationException();
-			}
-		}).compileGrammar(input, true);
+		String path = task.getFile().getPath();
+		TextSource input = new TextSource(path, task.getFileContent(), 1);
+		sessions.computeIfAbsent(path, p -> new CompilationSession()).validate(input, options, status);
 	}
 
 }
@@ -25,9 +25,14 @@ import org.textmapper.lapg.api.regex.RegexParseException;
 import org.textmapper.lapg.api.regex.RegexPart;
 import org.textmapper.lapg.builder.GrammarFacade;
 import org.textmapper.lapg.lalr.Builder;
+import org.textmapper.lapg.lalr.ParserTablesIO;
 import org.textmapper.lapg.lex.LexerGenerator;
+import org.textmapper.lapg.lex.LexerTablesIO;
 import org.textmapper.lapg.regex.RegexFacade;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 import java.util.Map;
 
 /**
@@ -55,10 +60,37 @@ public class LapgCore {
 		return Builder.compile(g, status);
 	}
 
+	public static ParserData generateParser(Grammar g, ProcessingStatus status, boolean parallelLalr) {
+		return Builder.compile(g, status, parallelLalr);
+	}
+
 	public static LexerData generateLexer(Grammar g, ProcessingStatus status) {
 		return LexerGenerator.generate(g.getLexerStates(), g.getLexerRules(), g.getPatterns(), status);
 	}
 
+	public static LexerData generateLexer(Grammar g, ProcessingStatus status, boolean minimize) {
+		return LexerGenerator.generate(g.getLexerStates(), g.getLexerRules(), g.getPatterns(), status, minimize);
+	}
+
+	public static void writeParser(ParserData data, DataOutput out) throws IOException {
+		ParserTablesIO.write(data, out);
+	}
+
+	/**
+	 * Reads tables written by {@link #writeParser} for the same grammar.
+	 */
+	public static ParserData readParser(Grammar g, DataInput in) throws IOException {
+		return ParserTablesIO.read(g, in);
+	}
+
+	public static void writeLexer(LexerData data, DataOutput out) throws IOException {
+		LexerTablesIO.write(data, out);
+	}
+
+	public static LexerData readLexer(DataInput in) throws IOException {
+		return LexerTablesIO.read(in);
+	}
+
 	/**
 	 * @throws RegexParseException if regex contains expand parts that cannot be resolved in the given context.
 	 */
@@ -24,11 +24,26 @@ public interface LexerData {
 
 	int[] getChar2no();
 
+	// two-level representation of getChar2no() in blocks of 128 characters (see CharClassArchiver):
+	// chr < getChar2no().length ? pages[index[chr >> 7] + (chr & 127)] : 1, where the first page is ASCII
+	int[] getCharClassIndex();
+
+	int[] getCharClassPages();
+
 	int[] getGroupset();
 
 	// matrix of [getNchars() * num of states] -> next state (non-negative), or action (negative)
 	int[] getChange();
 
+	// the same matrix with default states and row displacement (see TablesArchiver), where
+	// change[2 * i] == base[s] checks that change[2 * i + 1] belongs to s (i = base[s] + c);
+	// otherwise continue with default[s], or take change[2 * (base[s] + getNchars()) + 1] if it is -1
+	int[] getPackedDefault();
+
+	int[] getPackedBase();
+
+	int[] getPackedChange();
+
 	// array of pairs [rule, next state]
 	int[] getBacktracking();
 }
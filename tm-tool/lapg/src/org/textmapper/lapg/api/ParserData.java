@@ -34,10 +34,18 @@ public interface ParserData {
 
 	int[] getSymFromTo();
 
+	int[] getPackedGoto();
+
+	int[] getPackedFromTo();
+
 	int[] getLalr();
 
 	int[] getAction();
 
+	int[] getPackedAction();
+
+	int[] getPackedLalr();
+
 	int[] getRuleLength();
 
 	int[] getFinalStates();
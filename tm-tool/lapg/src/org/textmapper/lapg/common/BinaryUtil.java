@@ -0,0 +1,81 @@
+/**
+ * Copyright 2002-2017 Evgeny Gryaznov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.textmapper.lapg.common;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Compact binary encoding for generated tables. Integers are stored as zigzag varints, so small
+ * values (including -1 and -2, which are everywhere in the tables) take a single byte.
+ */
+public final class BinaryUtil {
+
+	private BinaryUtil() {
+	}
+
+	public static void writeInt(DataOutput out, int value) throws IOException {
+		int v = (value << 1) ^ (value >> 31);
+		while ((v & ~0x7f) != 0) {
+			out.writeByte((v & 0x7f) | 0x80);
+			v >>>= 7;
+		}
+		out.writeByte(v);
+	}
+
+	public static int readInt(DataInput in) throws IOException {
+		int v = 0;
+		for (int shift = 0; ; shift += 7) {
+			if (shift > 28) {
+				throw new IOException("malformed varint");
+			}
+			int b = in.readUnsignedByte();
+			v |= (b & 0x7f) << shift;
+			if ((b & 0x80) == 0) {
+				break;
+			}
+		}
+		return (v >>> 1) ^ -(v & 1);
+	}
+
+	public static void writeArray(DataOutput out, int[] array) throws IOException {
+		writeInt(out, array.length);
+		for (int i : array) {
+			writeInt(out, i);
+		}
+	}
+
+	/**
+	 * Reads the number of elements that follow, which cannot be negative.
+	 */
+	public static int readCount(DataInput in) throws IOException {
+		int count = readInt(in);
+		if (count < 0) {
+			throw new IOException("malformed count");
+		}
+		return count;
+	}
+
+	public static int[] readArray(DataInput in) throws IOException {
+		int length = readCount(in);
+		int[] result = new int[length];
+		for (int i = 0; i < length; i++) {
+			result[i] = readInt(in);
+		}
+		return result;
+	}
+}
@@ -0,0 +1,146 @@
+/**
+ * Copyright 2002-2017 Evgeny Gryaznov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.textmapper.lapg.common;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Packs sparse rows of a table into a pair of arrays (row displacement). Every distinct row gets a unique base,
+ * the entry (row, column) is stored at base + column, and check[base + column] == base identifies its owner.
+ * Identical rows share the same base.
+ */
+public final class RowDisplacement {
+
+	/* base for each row, -1 for rows which were not packed */
+	public final int[] base;
+	public final int[] check;
+	public final int[] next;
+
+	private RowDisplacement(int[] base, int[] check, int[] next) {
+		this.base = base;
+		this.check = check;
+		this.next = next;
+	}
+
+	/**
+	 * Rows are given as (column, value) pairs, columns are in [0, width). Null rows are skipped.
+	 * Every base + column for column in [-1, width) is a valid index in the resulting arrays
+	 * (bases start at 1, column -1 never matches its row).
+	 */
+	public static RowDisplacement pack(int[][] rows, int width) {
+		int[] base = new int[rows.length];
+		Arrays.fill(base, -1);
+		Integer[] order = new Integer[rows.length];
+		int[] same = new int[rows.length];
+		Map<Row, Integer> distinct = new HashMap<>();
+		int nrows = 0;
+		for (int i = 0; i < rows.length; i++) {
+			same[i] = i;
+			if (rows[i] == null) continue;
+			Integer first = distinct.putIfAbsent(new Row(rows[i]), i);
+			if (first == null) {
+				order[nrows++] = i;
+			} else {
+				same[i] = first;
+			}
+		}
+		// dense rows first, they are the hardest to fit
+		Arrays.sort(order, 0, nrows, (a, b) -> rows[a].length != rows[b].length
+				? rows[b].length - rows[a].length
+				: a - b);
+
+		int[] check = new int[2 * width];
+		int[] next = new int[2 * width];
+		Arrays.fill(check, -1);
+		BitSet occupied = new BitSet();
+		BitSet usedBase = new BitSet();
+		int size = 0, lastlen = -1, lastbase = 1;
+
+		for (int k = 0; k < nrows; k++) {
+			int[] row = rows[order[k]];
+			int mincol = width;
+			for (int i = 0; i < row.length; i += 2) {
+				mincol = Math.min(mincol, row[i]);
+			}
+
+			int b = Math.max(1, occupied.nextClearBit(0) - mincol);
+			if (row.length == lastlen) {
+				// rows of the same length are unlikely to fit where the previous one did not
+				b = Math.max(b, lastbase);
+			}
+			for (; ; b++) {
+				if (mincol < width) {
+					// skip to the next position where the leftmost entry fits
+					b = occupied.nextClearBit(b + mincol) - mincol;
+				}
+				if (usedBase.get(b)) continue;
+				int i = 0;
+				while (i < row.length && !occupied.get(b + row[i])) {
+					i += 2;
+				}
+				if (i == row.length) break;
+			}
+
+			if (b + width > check.length) {
+				int oldlen = check.length;
+				int newlen = Math.max(oldlen * 2, b + width);
+				check = Arrays.copyOf(check, newlen);
+				next = Arrays.copyOf(next, newlen);
+				Arrays.fill(check, oldlen, newlen, -1);
+			}
+			base[order[k]] = b;
+			usedBase.set(b);
+			lastlen = row.length;
+			lastbase = b;
+			for (int i = 0; i < row.length; i += 2) {
+				occupied.set(b + row[i]);
+				check[b + row[i]] = b;
+				next[b + row[i]] = row[i + 1];
+			}
+			size = Math.max(size, b + width);
+		}
+		for (int i = 0; i < rows.length; i++) {
+			base[i] = base[same[i]];
+		}
+		return new RowDisplacement(base, Arrays.copyOf(check, size), Arrays.copyOf(next, size));
+	}
+
+	/* a row with its entries sorted by column */
+	private static class Row {
+		private final long[] entries;
+
+		Row(int[] row) {
+			entries = new long[row.length / 2];
+			for (int i = 0; i < entries.length; i++) {
+				entries[i] = ((long) row[2 * i] << 32) | (row[2 * i + 1] & 0xffffffffL);
+			}
+			Arrays.sort(entries);
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			return o instanceof Row && Arrays.equals(entries, ((Row) o).entries);
+		}
+
+		@Override
+		public int hashCode() {
+			return Arrays.hashCode(entries);
+		}
+	}
+}
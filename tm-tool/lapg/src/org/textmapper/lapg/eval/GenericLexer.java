@@ -18,6 +18,7 @@ package org.textmapper.lapg.eval;
 import java.io.IOException;
 import java.io.Reader;
 import java.text.MessageFormat;
+import java.util.Arrays;
 import org.textmapper.lapg.api.Grammar;
 import org.textmapper.lapg.api.LexerData;
 import org.textmapper.lapg.api.LexerRule;
@@ -43,11 +44,14 @@ public class GenericLexer {
 	}
 
 	public static final int TOKEN_SIZE = 2048;
+	public static final int BUFFER_SIZE = 8192;
 
 	private Reader stream;
 	final private ErrorReporter reporter;
 
-	private CharSequence input;
+	private char[] data = new char[BUFFER_SIZE];
+	private int datalen;
+	private boolean endOfStream;
 	private int tokenOffset;
 	private int l;
 	private int charOffset;
@@ -61,51 +65,60 @@ public class GenericLexer {
 
 	private final Grammar grammar;
 	private final int[] tmCharClass;
+	private final int[] tmCharClassIndex;
 	private final int[] tmRuleSymbol;
+	private final int[] tmDefault;
+	private final int[] tmBase;
 	private final int[] tmGoto;
 	private final int[] tmStateMap;
 	private final int[] tmBacktracking;
 	private final int tmFirstRule;
 	private final int tmClassesCount;
 
-	public GenericLexer(CharSequence input, ErrorReporter reporter, LexerData lexerData, Grammar grammar) throws IOException {
+	public GenericLexer(Reader stream, ErrorReporter reporter, LexerData lexerData, Grammar grammar) throws IOException {
 		this.reporter = reporter;
 		this.grammar = grammar;
 		tmRuleSymbol = getRuleSymbols(grammar);
-		tmCharClass = lexerData.getChar2no();
-		tmGoto = lexerData.getChange();
+		tmCharClass = lexerData.getCharClassPages();
+		tmCharClassIndex = lexerData.getCharClassIndex();
+		tmDefault = lexerData.getPackedDefault();
+		tmBase = lexerData.getPackedBase();
+		tmGoto = lexerData.getPackedChange();
 		tmClassesCount = lexerData.getNchars();
 		tmStateMap = lexerData.getGroupset();
 		tmBacktracking = lexerData.getBacktracking();
 		tmFirstRule = -1 - tmBacktracking.length/2;
-		reset(input);
+		reset(stream);
 	}
 
-	public void reset(CharSequence input) throws IOException {
+	public void reset(Reader stream) throws IOException {
 		this.state = 0;
 		tokenLine = currLine = 1;
 		currOffset = 0;
-		this.input = input;
-		tokenOffset = l = 0;
+		this.stream = stream;
+		tokenOffset = l = datalen = 0;
+		endOfStream = false;
 		charOffset = l;
-		chr = l < input.length() ? input.charAt(l++) : -1;
-		if (chr >= Character.MIN_HIGH_SURROGATE && chr <= Character.MAX_HIGH_SURROGATE && l < input.length() &&
-				Character.isLowSurrogate(input.charAt(l))) {
-			chr = Character.toCodePoint((char) chr, input.charAt(l++));
+		while (datalen - l < 2 && !endOfStream) fill();
+		chr = l < datalen ? data[l++] : -1;
+		if (chr >= Character.MIN_HIGH_SURROGATE && chr <= Character.MAX_HIGH_SURROGATE && l < datalen &&
+				Character.isLowSurrogate(data[l])) {
+			chr = Character.toCodePoint((char) chr, data[l++]);
 		}
 	}
 
-	protected void advance() {
+	protected void advance() throws IOException {
 		if (chr == -1) return;
 		currOffset += l - charOffset;
 		if (chr == '\n') {
 			currLine++;
 		}
 		charOffset = l;
-		chr = l < input.length() ? input.charAt(l++) : -1;
-		if (chr >= Character.MIN_HIGH_SURROGATE && chr <= Character.MAX_HIGH_SURROGATE && l < input.length() &&
-				Character.isLowSurrogate(input.charAt(l))) {
-			chr = Character.toCodePoint((char) chr, input.charAt(l++));
+		while (datalen - l < 2 && !endOfStream) fill();
+		chr = l < datalen ? data[l++] : -1;
+		if (chr >= Character.MIN_HIGH_SURROGATE && chr <= Character.MAX_HIGH_SURROGATE && l < datalen &&
+				Character.isLowSurrogate(data[l])) {
+			chr = Character.toCodePoint((char) chr, data[l++]);
 		}
 	}
 
@@ -138,7 +151,7 @@ public class GenericLexer {
 	}
 
 	public String tokenText() {
-		return input.subSequence(tokenOffset, charOffset).toString();
+		return new String(data, tokenOffset, charOffset - tokenOffset);
 	}
 
 	public int tokenSize() {
@@ -146,12 +159,22 @@ public class GenericLexer {
 	}
 
 	private int mapCharacter(int chr) {
-		if (chr >= 0 && chr < tmCharClass.length) return tmCharClass[chr];
+		if (chr >= 0 && chr < 128) return tmCharClass[chr];
+		if (chr >= 128 && (chr >> 7) < tmCharClassIndex.length) return tmCharClass[tmCharClassIndex[chr >> 7] + (chr & 127)];
 		return chr == -1 ? 0 : 1;
 	}
 
+	private int lexerGoto(int state, int chr) {
+		int base = tmBase[state];
+		int i = (base + chr) << 1;
+		if (tmGoto[i] == base) return tmGoto[i + 1];
+		if (tmDefault[state] == -1) return tmGoto[((base + tmClassesCount) << 1) + 1];
+		return lexerGoto(tmDefault[state], chr);
+	}
+
+	private final Span token = new Span();
+
 	public Span next() throws IOException {
-		Span token = new Span();
 		int state;
 
 		tokenloop:
@@ -163,7 +186,7 @@ public class GenericLexer {
 			// TODO use backupRule
 			int backupRule = -1;
 			for (state = tmStateMap[this.state]; state >= 0; ) {
-				state = tmGoto[state * tmClassesCount + mapCharacter(chr)];
+				state = lexerGoto(state, mapCharacter(chr));
 				if (state > tmFirstRule && state < 0) {
 					token.endoffset = currOffset;
 					state = (-1 - state) * 2;
@@ -184,10 +207,11 @@ public class GenericLexer {
 						currLine++;
 					}
 					charOffset = l;
-					chr = l < input.length() ? input.charAt(l++) : -1;
-					if (chr >= Character.MIN_HIGH_SURROGATE && chr <= Character.MAX_HIGH_SURROGATE && l < input.length() &&
-							Character.isLowSurrogate(input.charAt(l))) {
-						chr = Character.toCodePoint((char) chr, input.charAt(l++));
+					while (datalen - l < 2 && !endOfStream) fill();
+					chr = l < datalen ? data[l++] : -1;
+					if (chr >= Character.MIN_HIGH_SURROGATE && chr <= Character.MAX_HIGH_SURROGATE && l < datalen &&
+							Character.isLowSurrogate(data[l])) {
+						chr = Character.toCodePoint((char) chr, data[l++]);
 					}
 				}
 			}
@@ -204,17 +228,41 @@ public class GenericLexer {
 		return token;
 	}
 
-	protected int charAt(int i) {
+	protected int charAt(int i) throws IOException {
 		if (i == 0) return chr;
+		while (datalen - l < i + 1 && !endOfStream) fill();
 		i += l - 1;
-		int res = i < input.length() ? input.charAt(i++) : -1;
-		if (res >= Character.MIN_HIGH_SURROGATE && res <= Character.MAX_HIGH_SURROGATE && i < input.length() &&
-				Character.isLowSurrogate(input.charAt(i))) {
-			res = Character.toCodePoint((char) res, input.charAt(i++));
+		int res = i < datalen ? data[i++] : -1;
+		if (res >= Character.MIN_HIGH_SURROGATE && res <= Character.MAX_HIGH_SURROGATE && i < datalen &&
+				Character.isLowSurrogate(data[i])) {
+			res = Character.toCodePoint((char) res, data[i++]);
 		}
 		return res;
 	}
 
+	/**
+	 * Reads the next portion of the stream into the window. Characters before the current token
+	 * are dropped, so the window only grows for tokens longer than BUFFER_SIZE.
+	 */
+	private void fill() throws IOException {
+		if (tokenOffset > 0) {
+			System.arraycopy(data, tokenOffset, data, 0, datalen - tokenOffset);
+			datalen -= tokenOffset;
+			l -= tokenOffset;
+			charOffset -= tokenOffset;
+			tokenOffset = 0;
+		}
+		if (datalen == data.length) {
+			data = Arrays.copyOf(data, data.length * 2);
+		}
+		int read = stream.read(data, datalen, data.length - datalen);
+		if (read < 0) {
+			endOfStream = true;
+		} else {
+			datalen += read;
+		}
+	}
+
 	protected boolean createToken(Span token, int ruleIndex) throws IOException {
 		int lexemeKind = ruleIndex > 1 ? grammar.getLexerRules()[ruleIndex-2].getKind() : LexerRule.KIND_NONE;
 		return lexemeKind != LexerRule.KIND_SPACE;
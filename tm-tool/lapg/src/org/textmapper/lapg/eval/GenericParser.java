@@ -18,6 +18,7 @@ package org.textmapper.lapg.eval;
 import java.io.IOException;
 import java.text.MessageFormat;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import org.textmapper.lapg.api.Grammar;
 import org.textmapper.lapg.api.ParserData;
@@ -46,16 +47,20 @@ public class GenericParser {
 	private final int[] tmFromTo;
 	private final int[] tmRuleLen;
 	private final int[] tmRuleSymbol;
+	private final int tmNterms;
+	private final int tmDefaultGoto;
 
 	private final boolean debugSyntax;
 
 	public GenericParser(ErrorReporter reporter, ParserData tables, Grammar grammar, boolean debugSyntax) {
 		this.reporter = reporter;
 		this.grammar = grammar;
-		this.tmAction = tables.getAction();
-		this.tmLalr = tables.getLalr();
-		this.tmGoto = tables.getSymGoto();
-		this.tmFromTo = tables.getSymFromTo();
+		this.tmAction = tables.getPackedAction();
+		this.tmLalr = tables.getPackedLalr();
+		this.tmNterms = tables.getNterms();
+		this.tmGoto = tables.getPackedGoto();
+		this.tmFromTo = tables.getPackedFromTo();
+		this.tmDefaultGoto = tables.getStatesCount() + 1;
 		this.tmRuleLen = tables.getRuleLength();
 		this.tmRuleSymbol = tables.getLeft();
 		this.debugSyntax = debugSyntax;
@@ -73,55 +78,50 @@ public class GenericParser {
 			if (symbol == Tokens.Unavailable_) {
 				return -3 - state;
 			}
-			for (p = -tmAction[state] - 3; tmLalr[p] >= 0; p += 2) {
-				if (tmLalr[p] == symbol) {
-					break;
-				}
-			}
-			return tmLalr[p + 1];
+			p = -tmAction[state] - 3;
+			int i = (p + symbol) << 1;
+			return tmLalr[i] == p ? tmLalr[i + 1] : tmLalr[((p + tmNterms) << 1) + 1];
 		}
 		return tmAction[state];
 	}
 
 	protected final int gotoState(int state, int symbol) {
-		int min = tmGoto[symbol], max = tmGoto[symbol + 1];
-		int i, e;
-
-		while (min < max) {
-			e = (min + max) >> 2 << 1;
-			i = tmFromTo[e];
-			if (i == state) {
-				return tmFromTo[e+1];
-			} else if (i < state) {
-				min = e + 2;
-			} else {
-				max = e;
-			}
-		}
-		return -1;
+		int p = tmGoto[state + 1];
+		int i = (p + symbol) << 1;
+		return tmFromTo[i] == p ? tmFromTo[i + 1] : tmGoto[tmDefaultGoto + symbol];
 	}
 
 	protected int tmHead;
-	protected Span[] tmStack;
+	protected int[] tmState;
+	protected int[] tmSymbol;
+	protected Object[] tmValue;
+	protected int[] tmLine;
+	protected int[] tmOffset;
+	protected int[] tmEndoffset;
+	protected final Span tmLeft = new Span();
 	protected Span tmNext;
 	protected GenericLexer tmLexer;
 
 	public Object parse(GenericLexer lexer, int initialState, int finalState, boolean noEoi) throws IOException, ParseException {
 
 		tmLexer = lexer;
-		tmStack = new Span[1024];
+		tmState = new int[1024];
+		tmSymbol = new int[1024];
+		tmValue = new Object[1024];
+		tmLine = new int[1024];
+		tmOffset = new int[1024];
+		tmEndoffset = new int[1024];
 		tmHead = 0;
 		int tmShiftsAfterError = 4;
 
-		tmStack[0] = new Span();
-		tmStack[0].state = initialState;
+		tmState[0] = initialState;
 		tmNext = tmLexer.next();
 
-		while (tmStack[tmHead].state != finalState) {
-			int action = tmAction(tmStack[tmHead].state, tmNext == null ? Tokens.Unavailable_ : tmNext.symbol);
+		while (tmState[tmHead] != finalState) {
+			int action = tmAction(tmState[tmHead], tmNext == null ? Tokens.Unavailable_ : tmNext.symbol);
 			if (action <= -3 && tmNext == null) {
 				tmNext = tmLexer.next();
-				action = tmAction(tmStack[tmHead].state, tmNext.symbol);
+				action = tmAction(tmState[tmHead], tmNext.symbol);
 			}
 
 			if (action >= 0) {
@@ -131,7 +131,7 @@ public class GenericParser {
 				tmShiftsAfterError++;
 			}
 
-			if (action == -2 || tmStack[tmHead].state == -1) {
+			if (action == -2 || tmState[tmHead] == -1) {
 				if (grammar.getError() == null) {
 					break;
 				}
@@ -147,21 +147,20 @@ public class GenericParser {
 				}
 				if (tmHead < 0) {
 					tmHead = 0;
-					tmStack[0] = new Span();
-					tmStack[0].state = initialState;
+					tmState[0] = initialState;
 				}
 				break;
 			}
 		}
 
-		if (tmStack[tmHead].state != finalState) {
+		if (tmState[tmHead] != finalState) {
 			if (tmShiftsAfterError >= 4) {
 				reporter.error(MessageFormat.format("syntax error before line {0}",
 								tmLexer.getTokenLine()), tmNext == null ? tmLexer.getLine() : tmNext.line, tmNext == null ? tmLexer.getOffset() : tmNext.offset, tmNext == null ? tmLexer.getOffset() : tmNext.endoffset);
 			}
 			throw new ParseException();
 		}
-		return tmStack[noEoi ? tmHead : tmHead - 1].value;
+		return tmValue[noEoi ? tmHead : tmHead - 1];
 	}
 
 	protected boolean restore() throws IOException {
@@ -171,19 +170,21 @@ public class GenericParser {
 		if (tmNext.symbol == 0) {
 			return false;
 		}
-		while (tmHead >= 0 && gotoState(tmStack[tmHead].state, grammar.getError().getIndex()) == -1) {
-			dispose(tmStack[tmHead]);
-			tmStack[tmHead] = null;
+		while (tmHead >= 0 && gotoState(tmState[tmHead], grammar.getError().getIndex()) == -1) {
+			dispose(tmHead);
+			tmValue[tmHead] = null;
 			tmHead--;
 		}
 		if (tmHead >= 0) {
-			tmStack[++tmHead] = new Span();
-			tmStack[tmHead].symbol = grammar.getError().getIndex();
-			tmStack[tmHead].value = null;
-			tmStack[tmHead].state = gotoState(tmStack[tmHead - 1].state, grammar.getError().getIndex());
-			tmStack[tmHead].line = tmNext.line;
-			tmStack[tmHead].offset = tmNext.offset;
-			tmStack[tmHead].endoffset = tmNext.endoffset;
+			if (++tmHead == tmState.length) {
+				growStack();
+			}
+			tmSymbol[tmHead] = grammar.getError().getIndex();
+			tmValue[tmHead] = null;
+			tmState[tmHead] = gotoState(tmState[tmHead - 1], grammar.getError().getIndex());
+			tmLine[tmHead] = tmNext.line;
+			tmOffset[tmHead] = tmNext.offset;
+			tmEndoffset[tmHead] = tmNext.endoffset;
 			return true;
 		}
 		return false;
@@ -193,40 +194,63 @@ public class GenericParser {
 		if (tmNext == null) {
 			tmNext = tmLexer.next();
 		}
-		tmStack[++tmHead] = tmNext;
-		tmStack[tmHead].state = gotoState(tmStack[tmHead - 1].state, tmNext.symbol);
+		if (++tmHead == tmState.length) {
+			growStack();
+		}
+		tmSymbol[tmHead] = tmNext.symbol;
+		tmValue[tmHead] = tmNext.value;
+		tmLine[tmHead] = tmNext.line;
+		tmOffset[tmHead] = tmNext.offset;
+		tmEndoffset[tmHead] = tmNext.endoffset;
+		tmState[tmHead] = gotoState(tmState[tmHead - 1], tmNext.symbol);
 		if (debugSyntax) {
 			System.out.println(MessageFormat.format("shift: {0} ({1})", grammar.getSymbols()[tmNext.symbol].getNameText(), tmLexer.tokenText()));
 		}
-		if (tmStack[tmHead].state != -1 && tmNext.symbol != 0) {
+		if (tmState[tmHead] != -1 && tmNext.symbol != 0) {
 			tmNext = lazy ? null : tmLexer.next();
 		}
 	}
 
 	protected void reduce(int rule) {
-		Span left = new Span();
-		left.value = (tmRuleLen[rule] != 0) ? tmStack[tmHead + 1 - tmRuleLen[rule]].value : null;
+		Span left = tmLeft;
+		left.value = (tmRuleLen[rule] != 0) ? tmValue[tmHead + 1 - tmRuleLen[rule]] : null;
 		left.symbol = tmRuleSymbol[rule];
 		left.state = 0;
 		if (debugSyntax) {
 			System.out.println("reduce to " + grammar.getSymbols()[tmRuleSymbol[rule]].getNameText());
 		}
-		Span startsym = (tmRuleLen[rule] != 0) ? tmStack[tmHead + 1 - tmRuleLen[rule]] : tmNext;
-		left.line = startsym == null ? tmLexer.getLine() : startsym.line;
-		left.offset = startsym == null ? tmLexer.getOffset() : startsym.offset;
-		left.endoffset = (tmRuleLen[rule] != 0) ? tmStack[tmHead].endoffset : tmNext == null ? tmLexer.getOffset() : tmNext.offset;
+		left.line = (tmRuleLen[rule] != 0) ? tmLine[tmHead + 1 - tmRuleLen[rule]] : tmNext == null ? tmLexer.getLine() : tmNext.line;
+		left.offset = (tmRuleLen[rule] != 0) ? tmOffset[tmHead + 1 - tmRuleLen[rule]] : tmNext == null ? tmLexer.getOffset() : tmNext.offset;
+		left.endoffset = (tmRuleLen[rule] != 0) ? tmEndoffset[tmHead] : tmNext == null ? tmLexer.getOffset() : tmNext.offset;
 		applyRule(left, rule, tmRuleLen[rule]);
 		for (int e = tmRuleLen[rule]; e > 0; e--) {
-			cleanup(tmStack[tmHead]);
-			tmStack[tmHead--] = null;
+			cleanup(tmHead);
+			tmValue[tmHead--] = null;
 		}
-		tmStack[++tmHead] = left;
-		tmStack[tmHead].state = gotoState(tmStack[tmHead - 1].state, left.symbol);
+		if (++tmHead == tmState.length) {
+			growStack();
+		}
+		tmSymbol[tmHead] = left.symbol;
+		tmValue[tmHead] = left.value;
+		tmLine[tmHead] = left.line;
+		tmOffset[tmHead] = left.offset;
+		tmEndoffset[tmHead] = left.endoffset;
+		tmState[tmHead] = gotoState(tmState[tmHead - 1], left.symbol);
+	}
+
+	protected void growStack() {
+		int capacity = tmState.length * 2;
+		tmState = Arrays.copyOf(tmState, capacity);
+		tmSymbol = Arrays.copyOf(tmSymbol, capacity);
+		tmValue = Arrays.copyOf(tmValue, capacity);
+		tmLine = Arrays.copyOf(tmLine, capacity);
+		tmOffset = Arrays.copyOf(tmOffset, capacity);
+		tmEndoffset = Arrays.copyOf(tmEndoffset, capacity);
 	}
 
 	protected void applyRule(Span tmLeft, int rule, int ruleLength) {
 		if (ruleLength == 1) {
-			Object right = tmStack[tmHead].value;
+			Object right = tmValue[tmHead];
 			if (right instanceof GenericNode) {
 				tmLeft.value = right;
 			} else {
@@ -235,8 +259,8 @@ public class GenericParser {
 		} else if (ruleLength > 1) {
 			List<GenericNode> children = new ArrayList<>(ruleLength);
 			for (int i = ruleLength - 1; i >= 0; i--) {
-				if (tmStack[tmHead - i].value instanceof GenericNode) {
-					children.add((GenericNode) tmStack[tmHead - i].value);
+				if (tmValue[tmHead - i] instanceof GenericNode) {
+					children.add((GenericNode) tmValue[tmHead - i]);
 				}
 			}
 			tmLeft.value = new GenericNode(source, tmLeft.offset, tmLeft.endoffset, children.toArray(new GenericNode[children.size()]));
@@ -244,14 +268,14 @@ public class GenericParser {
 	}
 
 	/**
-	 * disposes symbol dropped by error recovery mechanism
+	 * disposes symbol dropped by error recovery mechanism (at the given stack position)
 	 */
-	protected void dispose(Span value) {
+	protected void dispose(int index) {
 	}
 
 	/**
-	 * cleans node removed from the stack
+	 * cleans node removed from the stack (at the given stack position)
 	 */
-	protected void cleanup(Span value) {
+	protected void cleanup(int index) {
 	}
 }
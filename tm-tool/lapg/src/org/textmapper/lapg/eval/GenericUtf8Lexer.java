@@ -0,0 +1,292 @@
+/**
+ * Copyright 2002-2017 Evgeny Gryaznov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.textmapper.lapg.eval;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.text.MessageFormat;
+import org.textmapper.lapg.api.Grammar;
+import org.textmapper.lapg.api.LexerData;
+import org.textmapper.lapg.api.LexerRule;
+
+public class GenericUtf8Lexer {
+
+	public static class Span {
+		public Object value;
+		public int symbol;
+		public int state;
+		public int line;
+		public int offset;
+		public int endoffset;
+	}
+
+	public interface Tokens {
+		int Unavailable_ = -1;
+		int eoi = 0;
+	}
+
+	public interface ErrorReporter {
+		void error(String message, int line, int offset, int endoffset);
+	}
+
+	public static final int TOKEN_SIZE = 2048;
+
+	private Reader stream;
+	final private ErrorReporter reporter;
+
+	private ByteBuffer input;
+	private int inputEnd;
+	private int tokenOffset;
+	private int l;
+	private int charOffset;
+	private int chr;
+
+	private int state;
+
+	private int tokenLine;
+	private int currLine;
+	private int currOffset;
+
+	private final Grammar grammar;
+	private final int[] tmCharClass;
+	private final int[] tmCharClassIndex;
+	private final int[] tmRuleSymbol;
+	private final int[] tmDefault;
+	private final int[] tmBase;
+	private final int[] tmGoto;
+	private final int[] tmStateMap;
+	private final int[] tmBacktracking;
+	private final int tmFirstRule;
+	private final int tmClassesCount;
+
+	public GenericUtf8Lexer(ByteBuffer input, ErrorReporter reporter, LexerData lexerData, Grammar grammar) throws IOException {
+		this.reporter = reporter;
+		this.grammar = grammar;
+		tmRuleSymbol = getRuleSymbols(grammar);
+		tmCharClass = lexerData.getCharClassPages();
+		tmCharClassIndex = lexerData.getCharClassIndex();
+		tmDefault = lexerData.getPackedDefault();
+		tmBase = lexerData.getPackedBase();
+		tmGoto = lexerData.getPackedChange();
+		tmClassesCount = lexerData.getNchars();
+		tmStateMap = lexerData.getGroupset();
+		tmBacktracking = lexerData.getBacktracking();
+		tmFirstRule = -1 - tmBacktracking.length/2;
+		reset(input);
+	}
+
+	public void reset(ByteBuffer input) throws IOException {
+		this.state = 0;
+		tokenLine = currLine = 1;
+		currOffset = 0;
+		this.input = input;
+		inputEnd = input.limit();
+		tokenOffset = l = input.position();
+		charOffset = l;
+		chr = l < inputEnd ? input.get(l++) & 0xff : -1;
+		if (chr >= 0x80) {
+			chr = decodeUtf8(chr);
+		}
+	}
+
+	protected void advance() {
+		if (chr == -1) return;
+		currOffset += l - charOffset;
+		if (chr == '\n') {
+			currLine++;
+		}
+		charOffset = l;
+		chr = l < inputEnd ? input.get(l++) & 0xff : -1;
+		if (chr >= 0x80) {
+			chr = decodeUtf8(chr);
+		}
+	}
+
+	public int getState() {
+		return state;
+	}
+
+	public void setState(int state) {
+		this.state = state;
+	}
+
+	public int getTokenLine() {
+		return tokenLine;
+	}
+
+	public int getLine() {
+		return currLine;
+	}
+
+	public void setLine(int currLine) {
+		this.currLine = currLine;
+	}
+
+	public int getOffset() {
+		return currOffset;
+	}
+
+	public void setOffset(int currOffset) {
+		this.currOffset = currOffset;
+	}
+
+	public String tokenText() {
+		byte[] bytes = new byte[charOffset - tokenOffset];
+		ByteBuffer token = input.duplicate();
+		token.position(tokenOffset);
+		token.get(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+	public int tokenSize() {
+		return charOffset - tokenOffset;
+	}
+
+	private int mapCharacter(int chr) {
+		if (chr >= 0 && chr < 128) return tmCharClass[chr];
+		if (chr >= 128 && (chr >> 7) < tmCharClassIndex.length) return tmCharClass[tmCharClassIndex[chr >> 7] + (chr & 127)];
+		return chr == -1 ? 0 : 1;
+	}
+
+	private int lexerGoto(int state, int chr) {
+		int base = tmBase[state];
+		int i = (base + chr) << 1;
+		if (tmGoto[i] == base) return tmGoto[i + 1];
+		if (tmDefault[state] == -1) return tmGoto[((base + tmClassesCount) << 1) + 1];
+		return lexerGoto(tmDefault[state], chr);
+	}
+
+	private final Span token = new Span();
+
+	public Span next() throws IOException {
+		int state;
+
+		tokenloop:
+		do {
+			token.offset = currOffset;
+			tokenLine = token.line = currLine;
+			tokenOffset = charOffset;
+
+			// TODO use backupRule
+			int backupRule = -1;
+			for (state = tmStateMap[this.state]; state >= 0; ) {
+				state = lexerGoto(state, mapCharacter(chr));
+				if (state > tmFirstRule && state < 0) {
+					token.endoffset = currOffset;
+					state = (-1 - state) * 2;
+					backupRule = tmBacktracking[state++];
+					state = tmBacktracking[state];
+				}
+				if (state == tmFirstRule && chr == -1) {
+					token.endoffset = currOffset;
+					token.symbol = 0;
+					token.value = null;
+					reporter.error("Unexpected end of input reached", token.line, token.offset, token.endoffset);
+					token.offset = currOffset;
+					break tokenloop;
+				}
+				if (state >= tmFirstRule && chr != -1) {
+					currOffset += l - charOffset;
+					if (chr == '\n') {
+						currLine++;
+					}
+					charOffset = l;
+					chr = l < inputEnd ? input.get(l++) & 0xff : -1;
+					if (chr >= 0x80) {
+						chr = decodeUtf8(chr);
+					}
+				}
+			}
+			token.endoffset = currOffset;
+
+			token.symbol = tmRuleSymbol[tmFirstRule - state];
+			token.value = null;
+
+			if (token.symbol == -1) {
+				reporter.error(MessageFormat.format("invalid token at line {0}: `{1}`, skipped", currLine, tokenText()), token.line, token.offset, token.endoffset);
+			}
+
+		} while (token.symbol == -1 || !createToken(token, tmFirstRule - state));
+		return token;
+	}
+
+	protected int charAt(int i) {
+		if (i == 0) return chr;
+		int next = l;
+		int res = -1;
+		for (; i > 0; i--) {
+			res = l < inputEnd ? input.get(l++) & 0xff : -1;
+			if (res == -1) break;
+			if (res >= 0x80) {
+				res = decodeUtf8(res);
+			}
+		}
+		l = next;
+		return res;
+	}
+
+	/**
+	 * Decodes a multi-byte UTF-8 sequence, which starts with a given byte, and moves past it.
+	 * Malformed sequences are replaced with U+FFFD, one byte at a time.
+	 */
+	private int decodeUtf8(int b) {
+		int size, res;
+		if (b >= 0xc2 && b < 0xe0) {
+			size = 1;
+			res = b & 0x1f;
+		} else if (b >= 0xe0 && b < 0xf0) {
+			size = 2;
+			res = b & 0x0f;
+		} else if (b >= 0xf0 && b < 0xf5) {
+			size = 3;
+			res = b & 0x07;
+		} else {
+			return 0xfffd;
+		}
+		if (l + size > inputEnd) return 0xfffd;
+		// RFC 3629: no overlong forms, surrogates, or code points above U+10FFFF
+		int second = input.get(l) & 0xff;
+		if (b == 0xe0 && second < 0xa0 || b == 0xed && second > 0x9f
+				|| b == 0xf0 && second < 0x90 || b == 0xf4 && second > 0x8f) {
+			return 0xfffd;
+		}
+		for (int i = 0; i < size; i++) {
+			int next = input.get(l + i);
+			if ((next & 0xc0) != 0x80) return 0xfffd;
+			res = (res << 6) | (next & 0x3f);
+		}
+		l += size;
+		return res;
+	}
+
+	protected boolean createToken(Span token, int ruleIndex) throws IOException {
+		int lexemeKind = ruleIndex > 1 ? grammar.getLexerRules()[ruleIndex-2].getKind() : LexerRule.KIND_NONE;
+		return lexemeKind != LexerRule.KIND_SPACE;
+	}
+
+	private static int[] getRuleSymbols(Grammar grammar) {
+		LexerRule[] lexerRules = grammar.getLexerRules();
+		int[] result = new int[lexerRules.length + 2];
+		result[0] = grammar.getInvalidToken() != null ? grammar.getInvalidToken().getIndex() : -1;
+		result[1] = grammar.getEoi().getIndex();
+		for (int i = 0; i < lexerRules.length; i++) {
+			result[i + 2] = lexerRules[i].getSymbol().getIndex();
+		}
+		return result;
+	}
+}
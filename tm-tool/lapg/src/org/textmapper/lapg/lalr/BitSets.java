@@ -0,0 +1,85 @@
+/**
+ * Copyright 2002-2017 Evgeny Gryaznov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.textmapper.lapg.lalr;
+
+/**
+ * Operations on bit matrices, stored row by row in long[] (64 bits per word).
+ */
+final class BitSets {
+
+	static final int BITS = 64;
+
+	private BitSets() {
+	}
+
+	// number of words needed to store the given number of bits
+	static int words(int bits) {
+		return (bits + BITS - 1) / BITS;
+	}
+
+	static boolean get(long[] set, int offset, int bit) {
+		return (set[offset + bit / BITS] & (1L << (bit % BITS))) != 0;
+	}
+
+	static void set(long[] set, int offset, int bit) {
+		set[offset + bit / BITS] |= (1L << (bit % BITS));
+	}
+
+	// dst[dstOffset..dstOffset+len) |= src[srcOffset..srcOffset+len)
+	static void or(long[] dst, int dstOffset, long[] src, int srcOffset, int len) {
+		for (int i = 0; i < len; i++) {
+			dst[dstOffset + i] |= src[srcOffset + i];
+		}
+	}
+
+	/**
+	 * Transitive closure of an n x n relation (Warshall), row i is stored at [rowlen * i, rowlen * (i+1)).
+	 * Instead of testing single bits, the whole row of the intermediate vertex is merged at once.
+	 */
+	static void closure(long[] relation, int n, int rowlen) {
+		for (int k = 0; k < n; k++) {
+			int kword = k / BITS;
+			long kbit = 1L << (k % BITS);
+			int krow = rowlen * k;
+			for (int i = 0; i < n; i++) {
+				int irow = rowlen * i;
+				if (i != k && (relation[irow + kword] & kbit) != 0) {
+					or(relation, irow, relation, krow, rowlen);
+				}
+			}
+		}
+	}
+
+	/**
+	 * For each row i of the n x n relation, computes the union of targets[j] for all j in row i.
+	 * targets[j] is a bit set of resultlen words; the result is stored row by row as well.
+	 */
+	static long[] compose(long[] relation, int n, int rowlen, long[][] targets, int resultlen) {
+		long[] result = new long[n * resultlen];
+		for (int i = 0; i < n; i++) {
+			int irow = rowlen * i, resultrow = resultlen * i;
+			for (int w = 0; w < rowlen; w++) {
+				long bits = relation[irow + w];
+				while (bits != 0) {
+					int j = w * BITS + Long.numberOfTrailingZeros(bits);
+					bits &= bits - 1;
+					or(result, resultrow, targets[j], 0, resultlen);
+				}
+			}
+		}
+		return result;
+	}
+}
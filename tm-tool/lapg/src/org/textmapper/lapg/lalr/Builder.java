@@ -21,8 +21,8 @@ import java.util.*;
 
 public class Builder extends Lalr1 {
 
-	private Builder(Grammar g, ProcessingStatus status) {
-		super(g, status);
+	private Builder(Grammar g, ProcessingStatus status, boolean parallel) {
+		super(g, status, parallel);
 	}
 
 	// tables
@@ -240,12 +240,12 @@ public class Builder extends Lalr1 {
 					int max = ai + termset;
 					int termSym = 0;
 					for (; ai < max; ai++) {
-						int bits = LA[ai];
+						long bits = LA[ai];
 						if (bits == 0) {
 							termSym += BITS;
 						} else {
 							for (int e = 0; e < BITS; e++) {
-								if ((bits & (1 << e)) != 0) {
+								if ((bits & (1L << e)) != 0) {
 									if (next[termSym] == -2) {
 										// OK
 										next[termSym] = larule[i];
@@ -439,7 +439,14 @@ public class Builder extends Lalr1 {
 	}
 
 	public static ParserData compile(Grammar g, ProcessingStatus status) {
-		Builder en = new Builder(g, status);
+		return compile(g, status, false);
+	}
+
+	/**
+	 * @param parallel propagate LALR(1) lookaheads concurrently (produces the same tables)
+	 */
+	public static ParserData compile(Grammar g, ProcessingStatus status, boolean parallel) {
+		Builder en = new Builder(g, status, parallel);
 		return en.generate();
 	}
 
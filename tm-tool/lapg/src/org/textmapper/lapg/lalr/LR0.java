@@ -28,21 +28,23 @@ import java.util.Map.Entry;
  */
 class LR0 extends ContextFree {
 
-	protected static final int BITS = 32;
-	private static final int STATE_TABLE_SIZE = 1037;
+	protected static final int BITS = BitSets.BITS;
+	private static final int STATE_TABLE_SIZE = 1024; /* initial, power of two */
 
 	// LR0 engine internals
 	private int nvars;
 	private int varset, ruleset;
-	private int[] ruleforvar /* nvars: set of rules (closure) */;
+	private long[] ruleforvar /* nvars: set of rules (closure) */;
 
 	private int[] toreduce, closure /* [items] */;
 	private int closureend /* size of closure */;
 	private int[][] symbase /* nsyms: array of size symbasesize[i] = items after sym shift */;
 	private int[] symbasesize;
 	private int[] symcanshift /* list of symbols to shift [nsyms] */;
-	private int[] closurebit /* list of rules, added to closure [ruleset] */;
-	private State[] table;
+	private long[] closurebit /* list of rules, added to closure [ruleset] */;
+	private State[] table /* open addressing: state by core */;
+	private int[] tablehash /* full hash of the core in the corresponding slot */;
+	private int tablesize /* number of occupied slots */;
 	private State current, last;
 	private State[] next_to_final;
 	private SoftConflictBuilder softconflicts;
@@ -90,16 +92,17 @@ class LR0 extends ContextFree {
 
 	private void allocate_data() {
 		nvars = nsyms - nterms;
-		ruleset = (((rules) + BITS - 1) / BITS);
-		varset = (((nvars) + BITS - 1) / BITS);
-		termset = (((nterms) + BITS - 1) / BITS);
+		ruleset = BitSets.words(rules);
+		varset = BitSets.words(nvars);
+		termset = BitSets.words(nterms);
 
 		toreduce = new int[rules + 1];
 		closure = new int[items];
-		closurebit = new int[ruleset];
+		closurebit = new long[ruleset];
 
 		table = new State[STATE_TABLE_SIZE];
-		Arrays.fill(table, null);
+		tablehash = new int[STATE_TABLE_SIZE];
+		tablesize = 0;
 
 		next_to_final = new State[inputs.length];
 
@@ -157,52 +160,37 @@ class LR0 extends ContextFree {
 	}
 
 	private void build_sets() {
-		int i, e, j;
+		int i, e;
 
 		// firsts [Non-term -> set of(Non-term)]
-		int[] firsts = new int[nvars * varset];
-		Arrays.fill(firsts, 0);
+		long[] firsts = new long[nvars * varset];
 
 		for (i = 0; i < nvars; i++) {
 			for (int ruleIndex : derives[i]) {
 				e = rright[rindex[ruleIndex]];
 				if (e >= nterms) {
-					firsts[varset * i + (e - nterms) / BITS] |= (1 << ((e - nterms) % BITS));
+					BitSets.set(firsts, varset * i, e - nterms);
 				}
 			}
 		}
 
 		// [j,i] && [i,e] => [j,e]
-		for (i = 0; i < nvars; i++) {
-			for (j = 0; j < nvars; j++) {
-				if (((firsts[varset * j + (i) / BITS] & (1 << ((i) % BITS))) != 0)) {
-					for (e = 0; e < nvars; e++) {
-						if (((firsts[varset * i + (e) / BITS] & (1 << ((e) % BITS))) != 0)) {
-							firsts[varset * j + (e) / BITS] |= (1 << ((e) % BITS));
-						}
-					}
-				}
-			}
-		}
+		BitSets.closure(firsts, nvars, varset);
 
 		// set [i,i]
 		for (i = 0; i < nvars; i++) {
-			firsts[varset * i + (i) / BITS] |= (1 << ((i) % BITS));
+			BitSets.set(firsts, varset * i, i);
 		}
 
 		// ruleforvar
-		ruleforvar = new int[nvars * ruleset];
-		Arrays.fill(ruleforvar, 0);
-
+		long[][] varrules = new long[nvars][];
 		for (i = 0; i < nvars; i++) {
-			for (e = 0; e < nvars; e++) {
-				if (((firsts[varset * i + (e) / BITS] & (1 << ((e) % BITS))) != 0)) {
-					for (int p : derives[e]) {
-						ruleforvar[ruleset * i + (p) / BITS] |= (1 << ((p) % BITS));
-					}
-				}
+			varrules[i] = new long[ruleset];
+			for (int p : derives[i]) {
+				BitSets.set(varrules[i], 0, p);
 			}
 		}
+		ruleforvar = BitSets.compose(firsts, nvars, varset, varrules, ruleset);
 	}
 
 	private void initializeLR0() {
@@ -214,7 +202,7 @@ class LR0 extends ContextFree {
 			}
 			last.number = nstates;
 			last.nreduce = last.nshifts = last.symbol = last.fromstate = 0;
-			last.next = last.link = null;
+			last.next = null;
 			last.shifts = last.reduce = null;
 			last.elems = new int[]{-1};
 		}
@@ -235,10 +223,7 @@ class LR0 extends ContextFree {
 			for (i = 0; prev[i] >= 0; i++) {
 				e = rright[prev[i]];
 				if (e >= nterms) {
-					int from = (e - nterms) * ruleset;
-					for (int x = 0; x < ruleset; x++) {
-						closurebit[x] |= ruleforvar[from++];
-					}
+					BitSets.or(closurebit, 0, ruleforvar, (e - nterms) * ruleset, ruleset);
 				}
 			}
 		}
@@ -247,12 +232,12 @@ class LR0 extends ContextFree {
 		closureend = 0;
 
 		for (i = 0; i < ruleset; i++) {
-			int rulebit = closurebit[i];
+			long rulebit = closurebit[i];
 			if (rulebit == 0) {
 				rule += BITS;
 			} else {
 				for (e = 0; e < BITS; e++) {
-					if ((rulebit & (1 << e)) != 0) {
+					if ((rulebit & (1L << e)) != 0) {
 						int index = rindex[rule];
 						while (prev[prev_index] >= 0 && prev[prev_index] < index) {
 							closure[closureend++] = prev[prev_index++];
@@ -269,11 +254,41 @@ class LR0 extends ContextFree {
 		}
 	}
 
+	private static int slot(int hash, int mask) {
+		hash *= 0x9e3779b9;
+		return (hash ^ (hash >>> 16)) & mask;
+	}
+
+	private void add_to_table(State t, int hash) {
+		if (2 * (tablesize + 1) > table.length) {
+			State[] oldtable = table;
+			int[] oldhash = tablehash;
+			table = new State[oldtable.length * 2];
+			tablehash = new int[oldtable.length * 2];
+			for (int i = 0; i < oldtable.length; i++) {
+				if (oldtable[i] != null) {
+					put_slot(oldtable[i], oldhash[i]);
+				}
+			}
+		}
+		put_slot(t, hash);
+		tablesize++;
+	}
+
+	private void put_slot(State t, int hash) {
+		int mask = table.length - 1;
+		int i = slot(hash, mask);
+		while (table[i] != null) {
+			i = (i + 1) & mask;
+		}
+		table[i] = t;
+		tablehash[i] = hash;
+	}
+
 	private State new_state(int from, int by, int hash, int size, int inputsign) {
 		last = last.next = new State();
 		last.elems = new int[size + 1];
-		last.link = table[hash % STATE_TABLE_SIZE];
-		table[hash % STATE_TABLE_SIZE] = last;
+		add_to_table(last, hash);
 		last.fromstate = from;
 		last.symbol = by;
 		last.number = nstates++;
@@ -298,22 +313,22 @@ class LR0 extends ContextFree {
 		for (hash = i = 0; i < size; i++) {
 			hash = 31 * hash + new_core[i];
 		}
-		hash = Math.abs(hash);
-		State t = table[hash % STATE_TABLE_SIZE];
 		int inputsign = current.number < inputs.length && inputs[current.number] == symbol ? current.number : -1;
 
-		while (t != null) {
+		State t;
+		int mask = table.length - 1;
+		for (int slot = slot(hash, mask); (t = table[slot]) != null; slot = (slot + 1) & mask) {
+			if (tablehash[slot] != hash || t.elems.length != size + 1 || inputsign != t.inputsign) {
+				continue;
+			}
 			for (i = 0; i < size; i++) {
 				if (new_core[i] != t.elems[i]) {
 					break;
 				}
 			}
-
-			if (i == size && t.elems[size] == -1 && inputsign == t.inputsign) {
+			if (i == size) {
 				break;
 			}
-
-			t = t.link;
 		}
 
 		if (t == null) {
@@ -541,6 +556,7 @@ class LR0 extends ContextFree {
 		symcanshift = null;
 		closurebit = null;
 		table = null;
+		tablehash = null;
 		current = last = null;
 		softconflicts = null;
 	}
@@ -548,7 +564,7 @@ class LR0 extends ContextFree {
 	protected static class State {
 		int fromstate, symbol, number, nshifts, nreduce;
 		int inputsign;
-		State link, next;
+		State next;
 		int[] shifts;
 		int[] reduce;
 		boolean LR0;
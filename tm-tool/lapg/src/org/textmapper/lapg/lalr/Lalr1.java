@@ -20,29 +20,33 @@ import org.textmapper.lapg.api.ProcessingStatus;
 
 import java.text.MessageFormat;
 import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 
 class Lalr1 extends LR0 {
 
-	static class Short {
-		int value;
-		Short next;
-	}
+	private final boolean parallel;
 
-	Lalr1(Grammar g, ProcessingStatus status) {
+	Lalr1(Grammar g, ProcessingStatus status, boolean parallel) {
 		super(g, status);
+		this.parallel = parallel;
 	}
 
 	// LALR
 
 	int[] larule /* index in LA -> rule */, laindex /* state -> index in LA */;
-	int[] LA /* (state,rule to reduce in state) -> setof(term) */;
+	long[] LA /* (state,rule to reduce in state) -> setof(term) */;
 	int[] term_goto /* sym -> index [nsyms + 1] */, term_from, term_to /* [ntgotos + ngotos] for each shift: state->state */;
 
 	private int maxrpart /* max len of rule's right part */, ngotos, ntgotos;
-	private Short[] lookback /* [number of available non-LR0 reductions] */;
-	private int[] edge;
-	private int[][] graph;
-	private int[] follow /* ngotos ->setof(term) */;
+	private int[] lookback_index /* LA index -> range in lookback_goto [number of non-LR0 reductions + 1] */;
+	private int[] lookback_goto;
+	private int[] lookback_la /* (LA index, goto) pairs, in order of discovery [nlookback] */;
+	private int nlookback;
+	private int[] edge /* edges of the relation being built [nedges] */;
+	private int nedges;
+	private int[] graph_index /* vertex -> range in graph_edges [ngotos + 1] */, graph_edges;
+	private long[] follow /* ngotos ->setof(term) */;
 
 	protected void buildLalr() {
 		LA = null;
@@ -56,7 +60,6 @@ class Lalr1 extends LR0 {
 		}
 
 		edge = new int[ngotos + 1];
-		graph = new int[ngotos][];
 
 		init_follow();
 		build_follow();
@@ -66,7 +69,7 @@ class Lalr1 extends LR0 {
 		show_lookaheads();
 
 		edge = null;
-		graph = null;
+		graph_index = graph_edges = null;
 
 		freeLA();
 
@@ -77,7 +80,7 @@ class Lalr1 extends LR0 {
 	}
 
 
-	// fills: laindex, larule, maxrpart; creates: lookback, LA
+	// fills: laindex, larule, maxrpart; creates: LA
 	private void initializeLA() {
 		int i, e, k;
 		State t;
@@ -111,11 +114,7 @@ class Lalr1 extends LR0 {
 		laindex = new int[nstates + 1];
 		laindex[nstates] = e;
 		larule = new int[e];
-		lookback = new Short[e];
-		LA = new int[e * termset];
-
-		Arrays.fill(lookback, null);
-		Arrays.fill(LA, 0);
+		LA = new long[e * termset];
 
 		// fills: larule, laindex
 		for (i = 0, t = first; t != null; t = t.next) {
@@ -215,10 +214,12 @@ class Lalr1 extends LR0 {
 
 		for (; i < max; i++) {
 			if (larule[i] == rule) {
-				Short s = new Short();
-				s.value = gotono;
-				s.next = lookback[i];
-				lookback[i] = s;
+				if (nlookback == lookback_la.length) {
+					lookback_la = Arrays.copyOf(lookback_la, nlookback * 2);
+					lookback_goto = Arrays.copyOf(lookback_goto, nlookback * 2);
+				}
+				lookback_la[nlookback] = i;
+				lookback_goto[nlookback++] = gotono;
 				return;
 			}
 		}
@@ -226,16 +227,47 @@ class Lalr1 extends LR0 {
 		assert false;
 	}
 
+	// groups collected (LA index, goto) pairs by LA index: fills lookback_index, lookback_goto
+	private void pack_lookback() {
+		final int n = laindex[nstates];
+		int i;
+
+		lookback_index = new int[n + 1];
+		for (i = 0; i < nlookback; i++) {
+			lookback_index[lookback_la[i] + 1]++;
+		}
+		for (i = 0; i < n; i++) {
+			lookback_index[i + 1] += lookback_index[i];
+		}
+
+		int[] gotos = new int[nlookback];
+		int[] fill = Arrays.copyOf(lookback_index, n);
+		for (i = 0; i < nlookback; i++) {
+			gotos[fill[lookback_la[i]]++] = lookback_goto[i];
+		}
+		lookback_goto = gotos;
+		lookback_la = null;
+	}
+
+	// appends an edge to the relation being built
+	private void add_edge(int target) {
+		if (nedges == edge.length) {
+			edge = Arrays.copyOf(edge, nedges * 2);
+		}
+		edge[nedges++] = target;
+	}
+
 
 	// builds in-rule follow set, processes empty symbols
 	private void init_follow() {
-		int settrav = 0, nedges = 0;
-		int[][] empties = graph;
+		int settrav = 0;
+		int[] empties = new int[ngotos + 1];
 
-		follow = new int[ngotos * termset];
-		Arrays.fill(follow, 0);
+		follow = new long[ngotos * termset];
+		nedges = 0;
 
 		for (int i = 0; i < ngotos; i++, settrav += termset) {
+			empties[i] = nedges;
 			int st = term_to[ntgotos + i];
 			int[] shifts = state[st].shifts;
 			int nshifts = state[st].nshifts, shifts_ind = 0;
@@ -245,22 +277,22 @@ class Lalr1 extends LR0 {
 				int src = term_from[ntgotos + i];
 				if (noEoiInput[src] && final_states[src] == st) {
 					for (int k = 0; k < termset - 1; k++) {
-						follow[settrav + k] = ~0;
+						follow[settrav + k] = ~0L;
 					}
 					for (int k = (termset - 1) * BITS; k < nterms; k++) {
-						follow[settrav + termset - 1] |= (1 << (k % BITS));
+						BitSets.set(follow, settrav, k);
 					}
 				}
 			}
 
 			for (; shifts_ind < nshifts && state[shifts[shifts_ind]].symbol < nterms; shifts_ind++) {
 				int sym = state[shifts[shifts_ind]].symbol;
-				follow[settrav + sym / BITS] |= (1 << (sym % BITS));
+				BitSets.set(follow, settrav, sym);
 
 				// add soft terms
 				if(classterm[sym] == -1) {
 					for (int soft = softterms[sym]; soft != -1; soft = softterms[soft]) {
-						follow[settrav + soft / BITS] |= (1 << (soft % BITS));
+						BitSets.set(follow, settrav, soft);
 					}
 				}
 			}
@@ -268,22 +300,17 @@ class Lalr1 extends LR0 {
 			for (; shifts_ind < nshifts; shifts_ind++) {
 				int k = state[shifts[shifts_ind]].symbol;
 				if (sym_empty[k]) {
-					edge[nedges++] = select_goto(st, k);
+					add_edge(select_goto(st, k));
 				}
 			}
-
-			if (nedges != 0) {
-				empties[i] = new int[nedges + 1];
-				System.arraycopy(edge, 0, empties[i], 0, nedges);
-				empties[i][nedges] = -1;
-				nedges = 0;
-			} else {
-				empties[i] = null;
-			}
 		}
+		empties[ngotos] = nedges;
 
-		graph_closure(empties);
-		Arrays.fill(empties, null);
+		if (parallel) {
+			parallel_closure(empties, edge);
+		} else {
+			graph_closure(empties, edge);
+		}
 	}
 
 	private int state_by_symbol(int sourceState, int symbol) {
@@ -301,10 +328,17 @@ class Lalr1 extends LR0 {
 
 	// builds 1) lookback 2) cross-rule follow graph & updates follow set
 	private void build_follow() {
-		int i, length, currstate, nedges = 0, rpart;
+		int i, length, currstate, rpart;
 		int[] states = new int[maxrpart + 1];
 
+		graph_index = new int[ngotos + 1];
+		nedges = 0;
+		lookback_la = new int[ngotos + 1];
+		lookback_goto = new int[ngotos + 1];
+		nlookback = 0;
+
 		for (i = 0; i < ngotos; i++) {
+			graph_index[i] = nedges;
 			int fstate = term_from[ntgotos + i];
 			int symbol = state[term_to[ntgotos + i]].symbol;
 
@@ -329,7 +363,7 @@ class Lalr1 extends LR0 {
 						currstate = states[--length];
 
 						// b) inner rule's goto inherits outer follow set
-						edge[nedges++] = select_goto(currstate, rright[rpart]);
+						add_edge(select_goto(currstate, rright[rpart]));
 						if (sym_empty[rright[rpart]]) {
 							continue;
 						}
@@ -337,50 +371,41 @@ class Lalr1 extends LR0 {
 					break;
 				}
 			}
-
-			if (nedges != 0) {
-				graph[i] = new int[nedges + 1];
-				System.arraycopy(edge, 0, graph[i], 0, nedges);
-				graph[i][nedges] = -1;
-				nedges = 0;
-			} else {
-				graph[i] = null;
-			}
 		}
+		graph_index[ngotos] = nedges;
+		graph_edges = edge;
+		pack_lookback();
 
 		show_graph();
-		graph = transpose_graph(graph, ngotos);
+		transpose_graph();
 		show_graph();
 
-		graph_closure(graph);
+		if (parallel) {
+			parallel_closure(graph_index, graph_edges);
+		} else {
+			graph_closure(graph_index, graph_edges);
+		}
 	}
 
 
 	// fills: LA
 	private void buildLA() {
 		final int n = laindex[nstates];
-		Short s;
-		int p, i, from;
+		int p, i;
 
 		for (p = 0, i = 0; i < n; i++, p += termset) {
 
 			// add all associated gotos
-			for (s = lookback[i]; s != null; s = s.next) {
-				from = termset * s.value;
-				for (int q = 0; q < termset; q++) {
-					LA[p + q] |= follow[from + q];
-				}
+			for (int e = lookback_index[i]; e < lookback_index[i + 1]; e++) {
+				BitSets.or(LA, p, follow, termset * lookback_goto[e], termset);
 			}
-
-			// free lookback
-			lookback[i] = null;
 		}
 	}
 
 
 	// frees temporary data
 	private void freeLA() {
-		lookback = null;
+		lookback_index = lookback_goto = null;
 		follow = null;
 	}
 
@@ -410,7 +435,7 @@ class Lalr1 extends LR0 {
 
 			status.debug(format(term_from[ntgotos + i], false) + " -> " + format(term_to[ntgotos + i], true) + "\t");
 			for (e = 0; e < nterms; e++) {
-				if (((follow[i * termset + (e) / BITS] & (1 << ((e) % BITS))) != 0)) {
+				if (BitSets.get(follow, i * termset, e)) {
 					status.debug(" " + sym[e].getNameText());
 				}
 			}
@@ -429,11 +454,10 @@ class Lalr1 extends LR0 {
 		status.debug("\nGraph:\n");
 
 		for (int i = 0; i < ngotos; i++) {
-			int[] p = graph[i];
-			if (p != null) {
+			if (graph_index[i] < graph_index[i + 1]) {
 				status.debug(MessageFormat.format(" {0,number,####}: ", i));
-				for (int e = 0; p[e] >= 0; e++) {
-					status.debug(" " + p[e]);
+				for (int e = graph_index[i]; e < graph_index[i + 1]; e++) {
+					status.debug(" " + graph_edges[e]);
 				}
 				status.debug("\n");
 			}
@@ -465,7 +489,7 @@ class Lalr1 extends LR0 {
 
 					status.debug("  >>>");
 					for (k = 0; k < nterms; k++) {
-						if (((LA[set + (k) / BITS] & (1 << ((k) % BITS))) != 0)) {
+						if (BitSets.get(LA, set, k)) {
 							status.debug(" " + sym[k].getNameText());
 						}
 					}
@@ -477,79 +501,57 @@ class Lalr1 extends LR0 {
 	}
 
 	// reverts all edges in graph
-	private static int[][] transpose_graph(int[][] graph, final int n) {
-		int[] nedges = new int[n];
-		int[] p;
+	private void transpose_graph() {
+		final int n = ngotos;
+		int[] newindex = new int[n + 1];
+		int[] newedges = new int[graph_index[n]];
 		int i;
 
 		// calculate new row sizes
-		Arrays.fill(nedges, 0);
-		for (i = 0; i < n; i++) {
-			p = graph[i];
-			if (p != null) {
-				for (int e = 0; p[e] >= 0; e++) {
-					nedges[p[e]]++;
-				}
-			}
+		for (i = 0; i < graph_index[n]; i++) {
+			newindex[graph_edges[i] + 1]++;
 		}
-
-		// allocate new graph
-		int[][] newgraph = new int[n][];
 		for (i = 0; i < n; i++) {
-			newgraph[i] = (nedges[i] != 0) ? new int[nedges[i] + 1] : null;
+			newindex[i + 1] += newindex[i];
 		}
 
 		// fill new graph
-		Arrays.fill(nedges, 0);
-		for (i = 0; i < n; i++) {
-			p = graph[i];
-			if (p != null) {
-				for (int e = 0; p[e] >= 0; e++) {
-					newgraph[p[e]][nedges[p[e]]++] = i;
-				}
-			}
-		}
-
-		// insert -1 (end-of-row markers)
+		int[] fill = Arrays.copyOf(newindex, n);
 		for (i = 0; i < n; i++) {
-			if (newgraph[i] != null) {
-				newgraph[i][nedges[i]] = -1;
+			for (int e = graph_index[i]; e < graph_index[i + 1]; e++) {
+				newedges[fill[graph_edges[e]]++] = i;
 			}
 		}
 
-		return newgraph;
+		graph_index = newindex;
+		graph_edges = newedges;
 	}
 
 	// graph closure // //////////////////////////////////////////////////////////////////////////////
 
 	private int infinity, top;
-	private int[][] relation;
+	private int[] rel_index, rel_edges;
 	private int[] gc_index, gc_vertices;
 
 	// process one vertex
 	private void do_vertex(int i) {
-		int height, k;
+		int height;
 
 		gc_vertices[++top] = i;
 		height = top;
 		gc_index[i] = top;
 
-		if (relation[i] != null) {
-			int[] row = relation[i];
-			for (int e = 0; row[e] >= 0; e++) {
-				if (gc_index[row[e]] == 0) {
-					do_vertex(row[e]);
-				}
-
-				if (gc_index[i] > gc_index[row[e]]) {
-					gc_index[i] = gc_index[row[e]];
-				}
+		for (int e = rel_index[i]; e < rel_index[i + 1]; e++) {
+			int target = rel_edges[e];
+			if (gc_index[target] == 0) {
+				do_vertex(target);
+			}
 
-				int from = termset * row[e], to = termset * i;
-				for (k = 0; k < termset; k++) {
-					follow[to++] |= follow[from++];
-				}
+			if (gc_index[i] > gc_index[target]) {
+				gc_index[i] = gc_index[target];
 			}
+
+			BitSets.or(follow, termset * i, follow, termset * target, termset);
 		}
 
 		if (gc_index[i] == height) {
@@ -559,19 +561,17 @@ class Lalr1 extends LR0 {
 				if (i == e) {
 					break;
 				}
-				int from = termset * i, to = termset * e;
-				for (k = 0; k < termset; k++) {
-					follow[to++] |= follow[from++];
-				}
+				BitSets.or(follow, termset * e, follow, termset * i, termset);
 			}
 		}
 	}
 
 	// modifies: follow (in according to digraph)
-	private void graph_closure(int[][] relation) {
+	private void graph_closure(int[] index, int[] edges) {
 		int i;
 
-		this.relation = relation;
+		rel_index = index;
+		rel_edges = edges;
 		gc_index = new int[ngotos];
 		gc_vertices = new int[ngotos + 1];
 		infinity = ngotos + 2;
@@ -582,13 +582,191 @@ class Lalr1 extends LR0 {
 		}
 
 		for (i = 0; i < ngotos; i++) {
-			if (gc_index[i] == 0 && relation[i] != null) {
+			if (gc_index[i] == 0 && rel_index[i] < rel_index[i + 1]) {
 				do_vertex(i);
 			}
 		}
 
 		gc_index = null;
 		gc_vertices = null;
-		this.relation = null;
+		rel_index = rel_edges = null;
+	}
+
+	// parallel graph closure // /////////////////////////////////////////////////////////////////////
+
+	private static final int PARALLEL_THRESHOLD = 64;
+
+	private int ncomponents;
+	private int[] component /* vertex -> strongly connected component, or -1 */;
+
+	// assigns the vertex (and all reachable vertices) to components, in reverse topological order
+	private void find_component(int i) {
+		int height;
+
+		gc_vertices[++top] = i;
+		height = top;
+		gc_index[i] = top;
+
+		for (int e = rel_index[i]; e < rel_index[i + 1]; e++) {
+			int target = rel_edges[e];
+			if (gc_index[target] == 0) {
+				find_component(target);
+			}
+
+			if (gc_index[i] > gc_index[target]) {
+				gc_index[i] = gc_index[target];
+			}
+		}
+
+		if (gc_index[i] == height) {
+			for (; ; ) {
+				int e = gc_vertices[top--];
+				gc_index[e] = infinity;
+				component[e] = ncomponents;
+				if (i == e) {
+					break;
+				}
+			}
+			ncomponents++;
+		}
+	}
+
+	// modifies: follow (exactly as graph_closure does); components which do not depend
+	// on each other are merged concurrently
+	private void parallel_closure(int[] index, int[] edges) {
+		int i, c;
+
+		rel_index = index;
+		rel_edges = edges;
+		gc_index = new int[ngotos];
+		gc_vertices = new int[ngotos + 1];
+		component = new int[ngotos];
+		Arrays.fill(component, -1);
+		infinity = ngotos + 2;
+		top = 0;
+		ncomponents = 0;
+
+		for (i = 0; i < ngotos; i++) {
+			if (gc_index[i] == 0 && rel_index[i] < rel_index[i + 1]) {
+				find_component(i);
+			}
+		}
+		gc_index = null;
+		gc_vertices = null;
+
+		// component -> vertices
+		int[] compindex = new int[ncomponents + 1];
+		for (i = 0; i < ngotos; i++) {
+			if (component[i] >= 0) {
+				compindex[component[i] + 1]++;
+			}
+		}
+		for (c = 0; c < ncomponents; c++) {
+			compindex[c + 1] += compindex[c];
+		}
+		int[] compvertices = new int[compindex[ncomponents]];
+		int[] fill = Arrays.copyOf(compindex, ncomponents);
+		for (i = 0; i < ngotos; i++) {
+			if (component[i] >= 0) {
+				compvertices[fill[component[i]]++] = i;
+			}
+		}
+
+		// layer of a component: 1 + max layer of the components it depends on
+		// (dependencies always have smaller numbers)
+		int[] layer = new int[ncomponents];
+		int nlayers = 0;
+		for (c = 0; c < ncomponents; c++) {
+			int l = 0;
+			for (int v = compindex[c]; v < compindex[c + 1]; v++) {
+				int vertex = compvertices[v];
+				for (int e = rel_index[vertex]; e < rel_index[vertex + 1]; e++) {
+					int target = component[rel_edges[e]];
+					if (target != c && layer[target] + 1 > l) {
+						l = layer[target] + 1;
+					}
+				}
+			}
+			layer[c] = l;
+			if (l + 1 > nlayers) {
+				nlayers = l + 1;
+			}
+		}
+
+		// layer -> components
+		int[] layerindex = new int[nlayers + 1];
+		for (c = 0; c < ncomponents; c++) {
+			layerindex[layer[c] + 1]++;
+		}
+		for (int l = 0; l < nlayers; l++) {
+			layerindex[l + 1] += layerindex[l];
+		}
+		int[] layercomponents = new int[ncomponents];
+		fill = Arrays.copyOf(layerindex, nlayers);
+		for (c = 0; c < ncomponents; c++) {
+			layercomponents[fill[layer[c]]++] = c;
+		}
+
+		ForkJoinPool pool = ForkJoinPool.commonPool();
+		for (int l = 0; l < nlayers; l++) {
+			int from = layerindex[l], to = layerindex[l + 1];
+			if (to - from < PARALLEL_THRESHOLD) {
+				for (i = from; i < to; i++) {
+					merge_component(layercomponents[i], compindex, compvertices);
+				}
+			} else {
+				pool.invoke(new MergeComponents(layercomponents, from, to, compindex, compvertices));
+			}
+		}
+
+		component = null;
+		rel_index = rel_edges = null;
+	}
+
+	// all vertices of the component get the union of their own sets and the sets of all
+	// vertices they depend on (those are already final)
+	private void merge_component(int c, int[] compindex, int[] compvertices) {
+		int first = compvertices[compindex[c]], to = termset * first;
+		for (int v = compindex[c]; v < compindex[c + 1]; v++) {
+			int vertex = compvertices[v];
+			if (vertex != first) {
+				BitSets.or(follow, to, follow, termset * vertex, termset);
+			}
+			for (int e = rel_index[vertex]; e < rel_index[vertex + 1]; e++) {
+				if (component[rel_edges[e]] != c) {
+					BitSets.or(follow, to, follow, termset * rel_edges[e], termset);
+				}
+			}
+		}
+		for (int v = compindex[c] + 1; v < compindex[c + 1]; v++) {
+			System.arraycopy(follow, to, follow, termset * compvertices[v], termset);
+		}
+	}
+
+	private class MergeComponents extends RecursiveAction {
+		private final int[] components;
+		private final int from, to;
+		private final int[] compindex, compvertices;
+
+		MergeComponents(int[] components, int from, int to, int[] compindex, int[] compvertices) {
+			this.components = components;
+			this.from = from;
+			this.to = to;
+			this.compindex = compindex;
+			this.compvertices = compvertices;
+		}
+
+		@Override
+		protected void compute() {
+			if (to - from < PARALLEL_THRESHOLD) {
+				for (int i = from; i < to; i++) {
+					merge_component(components[i], compindex, compvertices);
+				}
+				return;
+			}
+			int mid = (from + to) >>> 1;
+			invokeAll(new MergeComponents(components, from, mid, compindex, compvertices),
+					new MergeComponents(components, mid, to, compindex, compvertices));
+		}
 	}
 }
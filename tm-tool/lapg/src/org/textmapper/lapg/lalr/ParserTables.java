@@ -19,6 +19,9 @@ import org.textmapper.lapg.api.LookaheadRule;
 import org.textmapper.lapg.api.Marker;
 import org.textmapper.lapg.api.ParserData;
 import org.textmapper.lapg.api.Symbol;
+import org.textmapper.lapg.common.RowDisplacement;
+
+import java.util.Arrays;
 
 /**
  * Representation of generated parser tables.
@@ -33,6 +36,8 @@ class ParserTables implements ParserData {
 	private int[] final_states;
 	private Marker[] markers;
 	private LookaheadRule[] lookaheadRules;
+	private int[] packed_action, packed_lalr;
+	private int[] packed_goto, packed_fromto;
 
 	ParserTables(Symbol[] sym,
 				 int rules, int nsyms, int nterms, int nstates,
@@ -106,6 +111,174 @@ class ParserTables implements ParserData {
 		return action_index;
 	}
 
+	@Override
+	public int[] getPackedAction() {
+		if (packed_action == null) {
+			pack_actions();
+		}
+		return packed_action;
+	}
+
+	@Override
+	public int[] getPackedLalr() {
+		if (packed_lalr == null) {
+			pack_actions();
+		}
+		return packed_lalr;
+	}
+
+	/*
+	 *  Compresses lookahead actions: the most frequent reduction of each state becomes its default
+	 *  action, and the remaining (terminal, action) pairs are packed by row displacement. The default is
+	 *  stored in the extra column nterms, so the lookup needs no other tables:
+	 *
+	 *    base = -3 - packed_action[state]    (only for packed_action[state] < -2)
+	 *    i = base + terminal
+	 *    action = packed_lalr[2*i] == base ? packed_lalr[2*i+1] : packed_lalr[2*(base+nterms)+1]
+	 *
+	 *  States whose actions all match the default do not need a lookahead token anymore.
+	 */
+	private void pack_actions() {
+		int[] packed = Arrays.copyOf(action_index, nstates);
+		int[][] rows = new int[nstates][];
+		int[] count = new int[rules];
+		for (int state = 0; state < nstates; state++) {
+			if (action_index[state] >= -2) continue;
+			int start = -3 - action_index[state];
+
+			int def = -2, max = 0;
+			for (int i = start; action_table[i] >= 0; i += 2) {
+				int action = action_table[i + 1];
+				if (action >= 0 && ++count[action] > max) {
+					max = count[action];
+					def = action;
+				}
+			}
+			int size = 0;
+			for (int i = start; action_table[i] >= 0; i += 2) {
+				if (action_table[i + 1] >= 0) {
+					count[action_table[i + 1]] = 0;
+				}
+				if (action_table[i + 1] != def) {
+					size++;
+				}
+			}
+			if (size == 0) {
+				packed[state] = def;
+				continue;
+			}
+
+			int[] row = new int[2 * (size + 1)];
+			int e = 0;
+			for (int i = start; action_table[i] >= 0; i += 2) {
+				if (action_table[i + 1] != def) {
+					row[e++] = action_table[i];
+					row[e++] = action_table[i + 1];
+				}
+			}
+			row[e++] = nterms;
+			row[e] = def;
+			rows[state] = row;
+		}
+
+		RowDisplacement table = RowDisplacement.pack(rows, nterms + 1);
+		for (int state = 0; state < nstates; state++) {
+			if (rows[state] != null) {
+				packed[state] = -3 - table.base[state];
+			}
+		}
+		int[] lalr = new int[table.check.length * 2];
+		for (int i = 0; i < table.check.length; i++) {
+			lalr[2 * i] = table.check[i];
+			lalr[2 * i + 1] = table.next[i];
+		}
+		packed_action = packed;
+		packed_lalr = lalr;
+	}
+
+	@Override
+	public int[] getPackedGoto() {
+		if (packed_goto == null) {
+			pack_goto();
+		}
+		return packed_goto;
+	}
+
+	@Override
+	public int[] getPackedFromTo() {
+		if (packed_fromto == null) {
+			pack_goto();
+		}
+		return packed_fromto;
+	}
+
+	/*
+	 *  Compresses transitions: each nonterminal gets a default target (its most frequent one), and the
+	 *  remaining transitions of each state are packed by row displacement (rows are states, columns
+	 *  are symbols). Row 0 is reserved for state -1, which has no transitions.
+	 *
+	 *    base = packed_goto[state + 1]
+	 *    i = base + symbol
+	 *    target = packed_fromto[2*i] == base ? packed_fromto[2*i+1] : packed_goto[nstates + 1 + symbol]
+	 *
+	 *  The goto on a nonterminal is only asked for after a reduction, where it always exists. Terminals
+	 *  keep -1 as the default, since the parser relies on it to detect syntax errors in LR0 states.
+	 */
+	private void pack_goto() {
+		int[] packed = new int[nstates + 1 + nsyms];
+		int[] size = new int[nstates + 1];
+		int[] count = new int[nstates];
+		for (int symbol = 0; symbol < nsyms; symbol++) {
+			int min = sym_goto[symbol], max = sym_goto[symbol + 1];
+
+			int def = -1, best = 0;
+			if (symbol >= nterms) {
+				for (int i = min; i < max; i += 2) {
+					if (++count[sym_fromto[i + 1]] > best) {
+						best = count[sym_fromto[i + 1]];
+						def = sym_fromto[i + 1];
+					}
+				}
+				for (int i = min; i < max; i += 2) {
+					count[sym_fromto[i + 1]] = 0;
+				}
+			}
+			packed[nstates + 1 + symbol] = def;
+			for (int i = min; i < max; i += 2) {
+				if (sym_fromto[i + 1] != def) {
+					size[sym_fromto[i] + 1]++;
+				}
+			}
+		}
+
+		int[][] rows = new int[nstates + 1][];
+		for (int i = 0; i <= nstates; i++) {
+			rows[i] = new int[2 * size[i]];
+			size[i] = 0;
+		}
+		for (int symbol = 0; symbol < nsyms; symbol++) {
+			int def = packed[nstates + 1 + symbol];
+			for (int i = sym_goto[symbol]; i < sym_goto[symbol + 1]; i += 2) {
+				if (sym_fromto[i + 1] != def) {
+					int[] row = rows[sym_fromto[i] + 1];
+					int e = size[sym_fromto[i] + 1]++;
+					row[2 * e] = symbol;
+					row[2 * e + 1] = sym_fromto[i + 1];
+				}
+			}
+		}
+
+		RowDisplacement table = RowDisplacement.pack(rows, nsyms);
+		System.arraycopy(table.base, 0, packed, 0, nstates + 1);
+		int[] fromto = new int[table.check.length * 2];
+		for (int i = 0; i < table.check.length; i++) {
+			fromto[2 * i] = table.check[i];
+			fromto[2 * i + 1] = table.next[i];
+		}
+		packed_goto = packed;
+		packed_fromto = fromto;
+	}
+
 	@Override
 	public int[] getFinalStates() {
 		return final_states;
@@ -0,0 +1,180 @@
+/**
+ * Copyright 2002-2017 Evgeny Gryaznov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.textmapper.lapg.lalr;
+
+import org.textmapper.lapg.api.*;
+import org.textmapper.lapg.api.LookaheadRule.LookaheadCase;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+import static org.textmapper.lapg.common.BinaryUtil.*;
+
+/**
+ * Stores parser tables in a binary form. Symbols, inputs and lookahead targets are written as
+ * indices, so the tables can only be read back against the same grammar.
+ */
+public final class ParserTablesIO {
+
+	private ParserTablesIO() {
+	}
+
+	public static void write(ParserData data, DataOutput out) throws IOException {
+		writeInt(out, data.getRules());
+		writeInt(out, data.getNsyms());
+		writeInt(out, data.getNterms());
+		writeInt(out, data.getStatesCount());
+		writeArray(out, data.getLeft());
+		writeArray(out, data.getRuleLength());
+		writeArray(out, data.getSymGoto());
+		writeArray(out, data.getSymFromTo());
+		writeArray(out, data.getLalr());
+		writeArray(out, data.getAction());
+		writeArray(out, data.getFinalStates());
+
+		Marker[] markers = data.getMarkers();
+		writeInt(out, markers.length);
+		for (Marker m : markers) {
+			out.writeUTF(m.getName());
+			writeArray(out, m.getStates());
+		}
+
+		LookaheadRule[] rules = data.getLookaheadRules();
+		writeInt(out, rules.length);
+		for (LookaheadRule r : rules) {
+			writeInt(out, r.getIndex());
+			writeInt(out, r.getDefaultTarget().getIndex());
+			writeInt(out, r.getCases().length);
+			for (LookaheadCase c : r.getCases()) {
+				writeInt(out, c.getInput().getIndex());
+				out.writeBoolean(c.isNegated());
+				writeInt(out, c.getTarget().getIndex());
+			}
+		}
+	}
+
+	public static ParserData read(Grammar g, DataInput in) throws IOException {
+		Symbol[] sym = g.getSymbols();
+		int rules = readInt(in);
+		int nsyms = readInt(in);
+		int nterms = readInt(in);
+		int nstates = readInt(in);
+		if (nsyms != g.getGrammarSymbols() || nterms != g.getTerminals()
+				|| rules < g.getRules().length) {
+			throw new IOException("tables do not match the grammar");
+		}
+		int[] rleft = readArray(in);
+		int[] rlen = readArray(in);
+		int[] symGoto = readArray(in);
+		int[] symFromTo = readArray(in);
+		int[] lalr = readArray(in);
+		int[] action = readArray(in);
+		int[] finalStates = readArray(in);
+
+		Marker[] markers = new Marker[readCount(in)];
+		for (int i = 0; i < markers.length; i++) {
+			String name = in.readUTF();
+			Set<Integer> states = new LinkedHashSet<>();
+			for (int state : readArray(in)) {
+				states.add(state);
+			}
+			markers[i] = new MarkerImpl(name, states);
+		}
+
+		LookaheadRule[] lookaheadRules = new LookaheadRule[readCount(in)];
+		for (int i = 0; i < lookaheadRules.length; i++) {
+			int index = readInt(in);
+			Nonterminal defaultTarget = nonterminal(sym, readInt(in));
+			LookaheadCase[] cases = new LookaheadCase[readCount(in)];
+			for (int e = 0; e < cases.length; e++) {
+				int input = readInt(in);
+				if (input < 0 || input >= g.getInput().length) {
+					throw new IOException("tables do not match the grammar");
+				}
+				boolean negated = in.readBoolean();
+				cases[e] = new StoredCase(g.getInput()[input], negated, nonterminal(sym, readInt(in)));
+			}
+			lookaheadRules[i] = new StoredRule(index, cases, defaultTarget);
+		}
+
+		return new ParserTables(sym, rules, nsyms, nterms, nstates, rleft, rlen,
+				symGoto, symFromTo, lalr, action, finalStates, markers, lookaheadRules);
+	}
+
+	private static Nonterminal nonterminal(Symbol[] sym, int index) throws IOException {
+		if (index < 0 || index >= sym.length || sym[index].isTerm()) {
+			throw new IOException("tables do not match the grammar");
+		}
+		return (Nonterminal) sym[index];
+	}
+
+	private static class StoredCase implements LookaheadCase {
+		private final InputRef input;
+		private final boolean negated;
+		private final Nonterminal target;
+
+		StoredCase(InputRef input, boolean negated, Nonterminal target) {
+			this.input = input;
+			this.negated = negated;
+			this.target = target;
+		}
+
+		@Override
+		public InputRef getInput() {
+			return input;
+		}
+
+		@Override
+		public boolean isNegated() {
+			return negated;
+		}
+
+		@Override
+		public Nonterminal getTarget() {
+			return target;
+		}
+	}
+
+	private static class StoredRule implements LookaheadRule {
+		private final int index;
+		private final LookaheadCase[] cases;
+		private final Nonterminal defaultTarget;
+
+		StoredRule(int index, LookaheadCase[] cases, Nonterminal defaultTarget) {
+			this.index = index;
+			this.cases = cases;
+			this.defaultTarget = defaultTarget;
+		}
+
+		@Override
+		public int getIndex() {
+			return index;
+		}
+
+		@Override
+		public LookaheadCase[] getCases() {
+			return cases;
+		}
+
+		@Override
+		public Nonterminal getDefaultTarget() {
+			return defaultTarget;
+		}
+	}
+}
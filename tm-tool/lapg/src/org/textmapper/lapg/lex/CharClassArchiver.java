@@ -0,0 +1,73 @@
+/**
+ * Copyright 2002-2017 Evgeny Gryaznov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.textmapper.lapg.lex;
+
+import java.nio.IntBuffer;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Compresses the character map into a two-level table. Characters are split into blocks of
+ * BLOCK_SIZE, identical blocks are stored once in pages, and index refers to the first character
+ * of each block's page. The first page is always the ASCII block, so for chr < BLOCK_SIZE the
+ * index can be skipped:
+ *
+ *   class = chr < char2no.length ? pages[index[chr >> BLOCK_BITS] + (chr & (BLOCK_SIZE - 1))] : 1
+ */
+class CharClassArchiver {
+
+	static final int BLOCK_BITS = 7;
+	static final int BLOCK_SIZE = 1 << BLOCK_BITS;
+
+	private final int[] char2no;
+
+	int[] index, pages;
+
+	CharClassArchiver(int[] char2no) {
+		this.char2no = char2no;
+	}
+
+	void buildPacked() {
+		int blocks = (char2no.length + BLOCK_SIZE - 1) >> BLOCK_BITS;
+		int[] padded = new int[Math.max(blocks, 1) * BLOCK_SIZE];
+		System.arraycopy(char2no, 0, padded, 0, char2no.length);
+		for (int i = char2no.length; i < padded.length; i++) {
+			padded[i] = 1;
+		}
+
+		index = new int[blocks];
+		int[] result = new int[padded.length];
+		int size = 0;
+
+		// IntBuffer compares its remaining elements, which makes it a block key
+		Map<IntBuffer, Integer> seen = new HashMap<>();
+		for (int b = 0; b < Math.max(blocks, 1); b++) {
+			IntBuffer block = IntBuffer.wrap(padded, b * BLOCK_SIZE, BLOCK_SIZE);
+			Integer offset = seen.get(block);
+			if (offset == null) {
+				offset = size;
+				seen.put(block, offset);
+				System.arraycopy(padded, b * BLOCK_SIZE, result, size, BLOCK_SIZE);
+				size += BLOCK_SIZE;
+			}
+			if (b < blocks) {
+				index[b] = offset;
+			}
+		}
+		pages = new int[size];
+		System.arraycopy(result, 0, pages, 0, size);
+	}
+}
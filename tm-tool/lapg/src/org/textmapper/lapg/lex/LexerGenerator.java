@@ -50,6 +50,7 @@ public class LexerGenerator {
 	private static class State {
 		State next, hash;
 		int number;
+		int hashCode;
 		int[] set;
 		// -1 invalid token, -2 eoi, -3... lexer rule #0
 		int[] action;
@@ -84,10 +85,11 @@ public class LexerGenerator {
 		}
 	}
 
-	private static final int TABLE_SIZE = 1024; // should be a power of 2
+	private static final int INITIAL_TABLE_SIZE = 1024; // should be a power of 2
 
 	// initial information
 	private final ProcessingStatus status;
+	private final boolean minimize;
 
 	// lexical analyzer description
 	private int nitems, nrules, nlexerStates;
@@ -104,13 +106,15 @@ public class LexerGenerator {
 	private State first;
 	private State last;
 	private int[] clsr;
+	private int[][] itemClosure;
 	private BitSet cset;
 
 	private int[] groupset;
 	private int[] backtracking;
 
-	private LexerGenerator(ProcessingStatus status) {
+	private LexerGenerator(ProcessingStatus status, boolean minimize) {
 		this.status = status;
+		this.minimize = minimize;
 	}
 
 	private int add_set(int[] state, State insertAfter) {
@@ -123,7 +127,10 @@ public class LexerGenerator {
 		State n;
 
 		// search for existing
-		for (n = hash[hCode & (TABLE_SIZE - 1)]; n != null; n = n.hash) {
+		for (n = hash[hCode & (hash.length - 1)]; n != null; n = n.hash) {
+			if (n.hashCode != hCode) {
+				continue;
+			}
 			int i = 0;
 			while (state[i] >= 0 && n.set[i] == state[i]) {
 				i++;
@@ -140,11 +147,15 @@ public class LexerGenerator {
 		n.set[lastIndex] = -1;
 		n.next = null;
 		n.number = states++;
+		n.hashCode = hCode;
 		n.action = null;
 		n.defaultRule = null;
 
-		n.hash = hash[hCode & (TABLE_SIZE - 1)];
-		hash[hCode & (TABLE_SIZE - 1)] = n;
+		if (states > hash.length) {
+			rehash(hash.length * 2);
+		}
+		n.hash = hash[hCode & (hash.length - 1)];
+		hash[hCode & (hash.length - 1)] = n;
 
 		if (first == null) {
 			first = last = n;
@@ -162,50 +173,74 @@ public class LexerGenerator {
 		return n.number;
 	}
 
-	// builds closure of the given set (using jumps)
-	private void closure(int[] set) {
-		int lex = 0;
-		int outputSize = 0;
-		for (int p = 0; set[p] >= 0; ) {
-
-			// search for next rule
-			while (lex < nrules && set[p] >= lindex[lex + 1]) {
-				lex++;
+	private void rehash(int size) {
+		State[] newHash = new State[size];
+		for (State bucket : hash) {
+			while (bucket != null) {
+				State n = bucket;
+				bucket = n.hash;
+				n.hash = newHash[n.hashCode & (size - 1)];
+				newHash[n.hashCode & (size - 1)] = n;
 			}
-			assert lex < nrules;
+		}
+		hash = newHash;
+	}
 
-			// create closure for it in cset
-			cset.clear();
+	// precomputes closures of individual items (without parentheses & quantifiers)
+	private void buildItemClosures() {
+		itemClosure = new int[nitems][];
+		int[] items = new int[maxPatternLength()];
+		for (int lex = 0; lex < nrules; lex++) {
 			BitSet jumps = ldata[lex].jumps;
 			int len = ldata[lex].len;
 			int base = lindex[lex];
 
-			for (; set[p] >= 0 && set[p] < lindex[lex + 1]; p++) {
-				assert set[p] >= base;
-				int n = (set[p] - base) * len;
-				for (int l = 0; l < len; l++) {
-					if (jumps.get(n + l)) {
-						cset.set(l);
+			for (int i = 0; i < len; i++) {
+				int size = 0;
+				for (int l = jumps.nextSetBit(i * len); l >= 0 && l < (i + 1) * len; l = jumps.nextSetBit(l + 1)) {
+					RegexInstructionKind kind = ldata[lex].pattern[l - i * len].getKind();
+					if (kind == RegexInstructionKind.Set ||
+							kind == RegexInstructionKind.Symbol ||
+							kind == RegexInstructionKind.Any ||
+							kind == RegexInstructionKind.Done) {
+						items[size++] = base + l - i * len;
 					}
 				}
+				itemClosure[base + i] = Arrays.copyOf(items, size);
 			}
+		}
+	}
 
-			// save cset in closure (without parentheses & quantifiers)
-			for (int val = cset.nextSetBit(0); val >= 0; val = cset.nextSetBit(val + 1)) {
-				RegexInstructionKind kind = ldata[lex].pattern[val].getKind();
-				if (kind == RegexInstructionKind.Set ||
-						kind == RegexInstructionKind.Symbol ||
-						kind == RegexInstructionKind.Any ||
-						kind == RegexInstructionKind.Done) {
-					clsr[outputSize++] = base + val;
+	// builds closure of the given set (using jumps)
+	private void closure(int[] set) {
+		int outputSize = 0;
+		for (int p = 0; set[p] >= 0; ) {
+			int lex = lsym[set[p]];
+			int base = lindex[lex];
+			int end = lindex[lex + 1];
+
+			// a single item of the rule: copy its closure
+			if (set[p + 1] < 0 || set[p + 1] >= end) {
+				int[] items = itemClosure[set[p++]];
+				System.arraycopy(items, 0, clsr, outputSize, items.length);
+				outputSize += items.length;
+				continue;
+			}
+
+			// otherwise merge closures of all rule items in cset
+			cset.clear();
+			for (; set[p] >= 0 && set[p] < end; p++) {
+				for (int item : itemClosure[set[p]]) {
+					cset.set(item - base);
 				}
 			}
+			for (int val = cset.nextSetBit(0); val >= 0; val = cset.nextSetBit(val + 1)) {
+				clsr[outputSize++] = base + val;
+			}
 		}
 
 		// save closure in initial array
-		for (lex = 0; lex < outputSize; lex++) {
-			set[lex] = clsr[lex];
-		}
+		System.arraycopy(clsr, 0, set, 0, outputSize);
 		set[outputSize] = -1;
 	}
 
@@ -322,26 +357,39 @@ public class LexerGenerator {
 		}
 	}
 
+	private int maxPatternLength() {
+		int maxPatternLength = 1;
+		for (int i = 0; i < nrules; i++) {
+			if (ldata[i].len > maxPatternLength) {
+				maxPatternLength = ldata[i].len;
+			}
+		}
+		return maxPatternLength;
+	}
+
+	private RegexInstruction instruction(int item) {
+		int lex = lsym[item];
+		return ldata[lex].pattern[item - lindex[lex]];
+	}
+
 	private boolean buildStates() {
 		int i, k;
 		int nnext, errors = 0;
 		BitSet toshift = new BitSet(characters);
 
 		// allocate temporary storage
-		hash = new State[TABLE_SIZE];
-		Arrays.fill(hash, null);
+		hash = new State[INITIAL_TABLE_SIZE];
 		clsr = new int[nitems];
 		int[] next = new int[nitems + 1];
+
+		// items moving on each symbol, bucketed by symbol: targets[bucket[sym]..bucket[sym+1]-1]
+		int[] bucket = new int[characters + 1];
+		int[] targets = new int[nitems];
 		states = 0;
 
 		// allocate temporary set
-		int maxPatternLength = 1;
-		for (i = 0; i < nrules; i++) {
-			if (ldata[i].len > maxPatternLength) {
-				maxPatternLength = ldata[i].len;
-			}
-		}
-		cset = new BitSet(maxPatternLength);
+		cset = new BitSet(maxPatternLength());
+		buildItemClosures();
 
 		// create first group states
 		groupset = new int[nlexerStates];
@@ -361,6 +409,7 @@ public class LexerGenerator {
 		}
 
 		// generate states
+		int nl = '\n' < char2no.length ? char2no['\n'] : 1;
 		for (State current = first; current != null; current = current.next) {
 
 			// first of all we must search if there any lexeme have been read already
@@ -369,9 +418,7 @@ public class LexerGenerator {
 			int[] cset = current.set;
 
 			for (int csi = 0; cset[csi] >= 0; csi++) {
-				int csval = cset[csi];
-				int lex = lsym[csval];
-				RegexInstruction instruction = ldata[lex].pattern[csval - lindex[lex]];
+				RegexInstruction instruction = instruction(cset[csi]);
 				switch (instruction.getKind()) {
 					case Done:
 						// end of some regexp found
@@ -406,7 +453,6 @@ public class LexerGenerator {
 						toshift.set(symValue);
 						break;
 					case Any: /* except \n and eof */
-						int nl = char2no['\n'];
 						boolean nlVal = toshift.get(nl);
 						toshift.set(1, characters);
 						toshift.set(nl, nlVal);
@@ -433,33 +479,59 @@ public class LexerGenerator {
 			current.action = new int[characters];
 			current.defaultRule = lexnum >= 0 ? ldata[lexnum].lexerRule : null;
 
+			// distribute items by the symbols they move on, in one pass
+			Arrays.fill(bucket, 0);
+			for (int p = 0; cset[p] >= 0; p++) {
+				RegexInstruction instruction = instruction(cset[p]);
+				switch (instruction.getKind()) {
+					case Any:
+						for (int sym = 0; sym < characters; sym++) {
+							if (sym != nl) bucket[sym + 1]++;
+						}
+						break;
+					case Symbol:
+						bucket[instruction.getValue() + 1]++;
+						break;
+					case Set:
+						for (int sym : set2symbols[instruction.getValue()]) {
+							bucket[sym + 1]++;
+						}
+						break;
+				}
+			}
+			for (int sym = 0; sym < characters; sym++) {
+				bucket[sym + 1] += bucket[sym];
+			}
+			if (bucket[characters] > targets.length) {
+				targets = new int[Math.max(bucket[characters], targets.length * 2)];
+			}
+			for (int p = 0; cset[p] >= 0; p++) {
+				RegexInstruction instruction = instruction(cset[p]);
+				switch (instruction.getKind()) {
+					case Any:
+						for (int sym = 0; sym < characters; sym++) {
+							if (sym != nl) targets[bucket[sym]++] = cset[p] + 1;
+						}
+						break;
+					case Symbol:
+						targets[bucket[instruction.getValue()]++] = cset[p] + 1;
+						break;
+					case Set:
+						for (int sym : set2symbols[instruction.getValue()]) {
+							targets[bucket[sym]++] = cset[p] + 1;
+						}
+						break;
+				}
+			}
+			// bucket[sym] now points to the end of sym's items (i.e. to the start of sym+1)
+
 			// try to shift all available symbols
 			for (int sym = 0; sym < characters; sym++) {
 				if (toshift.get(sym)) {
-					nnext = 0;
 					// create new state
-					for (int p = 0; cset[p] >= 0; p++) {
-						int lex = lsym[cset[p]];
-						RegexInstruction instruction = ldata[lex].pattern[cset[p] - lindex[lex]];
-						switch (instruction.getKind()) {
-							case Any:
-								if (sym != char2no['\n']) {
-									next[nnext++] = cset[p] + 1;
-								}
-								break;
-							case Symbol:
-								if (sym == instruction.getValue()) {
-									next[nnext++] = cset[p] + 1;
-								}
-								break;
-							case Set:
-								int[] used = set2symbols[instruction.getValue()];
-								if (Arrays.binarySearch(used, sym) >= 0) {
-									next[nnext++] = cset[p] + 1;
-								}
-								break;
-						}
-					}
+					int start = sym > 0 ? bucket[sym - 1] : 0;
+					nnext = bucket[sym] - start;
+					System.arraycopy(targets, start, next, 0, nnext);
 
 					// closure
 					next[nnext] = -1;
@@ -483,6 +555,10 @@ public class LexerGenerator {
 		// First group (only) succeeds on EOI, unless there is an explicit EOI rule.
 		if (first.action[0] == -1) first.action[0] = -2;
 
+		if (minimize) {
+			minimize();
+		}
+
 		// Adding backtracking states.
 		State[] statesArr = new State[states];
 		for (State s = first; s != null; s = s.next) {
@@ -548,6 +624,96 @@ public class LexerGenerator {
 		return errors == 0;
 	}
 
+	/**
+	 * Merges equivalent states: the ones accepting the same rule, which go to equivalent states
+	 * (or take the same action) on each symbol. Backtracking checkpoints depend only on the accepted
+	 * rules of the source and target states, so they are computed afterwards.
+	 */
+	private void minimize() {
+		// refine the partition until it is stable, starting with a single class
+		int[] cls = new int[states];
+		int classes = 1;
+		Map<Signature, Integer> index = new HashMap<>();
+		for (; ; ) {
+			int[] newCls = new int[states];
+			index.clear();
+			for (State s = first; s != null; s = s.next) {
+				int[] key = new int[characters + 2];
+				key[0] = cls[s.number];
+				key[1] = s.defaultRule != null ? s.defaultRule.getIndex() : -1;
+				for (int sym = 0; sym < characters; sym++) {
+					int target = s.action[sym];
+					key[sym + 2] = target >= 0 ? cls[target] : target;
+				}
+				Signature signature = new Signature(key);
+				Integer c = index.get(signature);
+				if (c == null) {
+					index.put(signature, c = index.size());
+				}
+				newCls[s.number] = c;
+			}
+			cls = newCls;
+			if (index.size() == classes) {
+				break;
+			}
+			classes = index.size();
+		}
+		if (classes == states) {
+			return;
+		}
+
+		// keep the first state of each class (classes are numbered in the list order)
+		State prev = null;
+		for (State s = first; s != null; s = s.next) {
+			if (cls[s.number] == (prev == null ? 0 : cls[prev.number] + 1)) {
+				if (prev != null) {
+					prev.next = s;
+				}
+				prev = s;
+			}
+		}
+		prev.next = null;
+		last = prev;
+
+		for (State s = first; s != null; s = s.next) {
+			s.number = cls[s.number];
+			for (int sym = 0; sym < characters; sym++) {
+				if (s.action[sym] >= 0) {
+					s.action[sym] = cls[s.action[sym]];
+				}
+			}
+		}
+		for (int i = 0; i < groupset.length; i++) {
+			if (groupset[i] != -1) {
+				groupset[i] = cls[groupset[i]];
+			}
+		}
+		if (status.isDebugMode()) {
+			status.debug("Minimized lexer: " + states + " -> " + classes + " states\n");
+		}
+		states = classes;
+	}
+
+	private static class Signature {
+		private final int[] key;
+		private final int hashCode;
+
+		private Signature(int[] key) {
+			this.key = key;
+			this.hashCode = Arrays.hashCode(key);
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			return o instanceof Signature && Arrays.equals(key, ((Signature) o).key);
+		}
+
+		@Override
+		public int hashCode() {
+			return hashCode;
+		}
+	}
+
 	/**
 	 * Fills initial arrays from lexemes definitions
 	 */
@@ -723,7 +889,12 @@ public class LexerGenerator {
 	 */
 	public static LexerData generate(LexerState[] states, LexerRule[] lexerRules,
 									 NamedPattern[] patterns, ProcessingStatus status) {
-		LexerGenerator lb = new LexerGenerator(status);
+		return generate(states, lexerRules, patterns, status, true);
+	}
+
+	public static LexerData generate(LexerState[] states, LexerRule[] lexerRules,
+									 NamedPattern[] patterns, ProcessingStatus status, boolean minimize) {
+		LexerGenerator lb = new LexerGenerator(status, minimize);
 		return lb.generate(states, lexerRules, patterns);
 	}
 }
@@ -33,16 +33,28 @@ public class LexerInputSymbols {
 	private final List<CharacterSet> setpool;
 	private int[][] set2symbols;
 
+	/**
+	 * Partition of [0..MAX_UCHAR] into sorted disjoint ranges: rangeStart[i] is the first
+	 * character of the i-th range (which ends right before the next one), rangeSymbol[i]
+	 * is its symbol. Adjacent ranges always have different symbols.
+	 */
+	private int[] rangeStart;
+	private int[] rangeSymbol;
+	private int rangeCount;
+
 	private CharacterSetImpl.Builder builder;
 	private boolean sealed;
 
 	public LexerInputSymbols() {
 		this.builder = new CharacterSetImpl.Builder();
-		this.character2symbol = new int[128];
+		this.rangeStart = new int[64];
+		this.rangeSymbol = new int[64];
 		this.setpool = new ArrayList<>();
 
 		// 0 - eoi (reserved), 1 - any
-		Arrays.fill(character2symbol, 1);
+		rangeStart[0] = 0;
+		rangeSymbol[0] = 1;
+		rangeCount = 1;
 		symbolCount = 2;
 		sealed = false;
 	}
@@ -63,28 +75,83 @@ public class LexerInputSymbols {
 		if (ch < 0 || ch > MAX_UCHAR) {
 			return ch == -1 ? 0 : -1;
 		}
-		ensureCharacter(ch);
-		if (character2symbol[ch] == 1) {
-			character2symbol[ch] = symbolCount++;
+		int value = rangeSymbol[rangeIndex(ch)];
+		if (value == 1) {
+			value = symbolCount++;
+			assign(ch, ch, value);
 		}
-		return character2symbol[ch];
+		return value;
 	}
 
-	private void ensureCharacter(int ch) {
-		assert ch >= 0 && ch <= MAX_UCHAR;
-		if (ch >= character2symbol.length) {
-			int newsize = character2symbol.length * 2;
-			while (newsize <= ch) {
-				newsize *= 2;
-			}
-			if (newsize > MAX_UCHAR + 1) {
-				newsize = MAX_UCHAR + 1;
+	/**
+	 * Index of the range containing the character.
+	 */
+	private int rangeIndex(int ch) {
+		int i = Arrays.binarySearch(rangeStart, 0, rangeCount, ch);
+		return i >= 0 ? i : -i - 2;
+	}
+
+	/**
+	 * Maps all characters in [start..end] to the given symbol.
+	 */
+	private void assign(int start, int end, int symbol) {
+		int first = rangeIndex(start);
+		int last = rangeIndex(end);
+		int[] newStart = new int[3];
+		int[] newSymbol = new int[3];
+		int count = 0;
+
+		if (rangeStart[first] < start) {
+			newStart[count] = rangeStart[first];
+			newSymbol[count++] = rangeSymbol[first];
+		}
+		int before = count > 0 ? newSymbol[0] : first > 0 ? rangeSymbol[first - 1] : -1;
+		if (before != symbol) {
+			newStart[count] = start;
+			newSymbol[count++] = symbol;
+		}
+		int replaceEnd = last + 1;
+		if (end < MAX_UCHAR) {
+			if (replaceEnd < rangeCount && rangeStart[replaceEnd] == end + 1) {
+				if (rangeSymbol[replaceEnd] == symbol) {
+					replaceEnd++;
+				}
+			} else if (rangeSymbol[last] != symbol) {
+				newStart[count] = end + 1;
+				newSymbol[count++] = rangeSymbol[last];
 			}
-			int[] newc2sym = new int[newsize];
-			Arrays.fill(newc2sym, character2symbol.length, newc2sym.length, 1);
-			System.arraycopy(character2symbol, 0, newc2sym, 0, character2symbol.length);
-			character2symbol = newc2sym;
 		}
+
+		int newCount = rangeCount - (replaceEnd - first) + count;
+		if (newCount > rangeStart.length) {
+			rangeStart = Arrays.copyOf(rangeStart, newCount * 2);
+			rangeSymbol = Arrays.copyOf(rangeSymbol, newCount * 2);
+		}
+		System.arraycopy(rangeStart, replaceEnd, rangeStart, first + count, rangeCount - replaceEnd);
+		System.arraycopy(rangeSymbol, replaceEnd, rangeSymbol, first + count, rangeCount - replaceEnd);
+		System.arraycopy(newStart, 0, rangeStart, first, count);
+		System.arraycopy(newSymbol, 0, rangeSymbol, first, count);
+		rangeCount = newCount;
+	}
+
+	/**
+	 * Returns the ranges of the partition overlapping [start..end], clipped to it,
+	 * as triples of (start, end, symbol).
+	 */
+	private int[] pieces(int start, int end) {
+		end = Math.min(end, MAX_UCHAR);
+		if (start > end) {
+			return new int[0];
+		}
+		int first = rangeIndex(start);
+		int last = rangeIndex(end);
+		int[] result = new int[(last - first + 1) * 3];
+		for (int i = first, index = 0; i <= last; i++, index += 3) {
+			result[index] = Math.max(rangeStart[i], start);
+			result[index + 1] = i < last ? rangeStart[i + 1] - 1 : end;
+			result[index + 2] = rangeSymbol[i];
+		}
+		return result;
 	}
 
 	private void buildSets() {
@@ -100,16 +167,15 @@ public class LexerInputSymbols {
 			values.clear();
 			builder.clear();
 			for (int[] range : set) {
-				int max = Math.min(range[1], MAX_UCHAR);
-				ensureCharacter(max);
-				for (int ch = range[0]; ch <= max; ch++) {
-					int value = character2symbol[ch];
+				int[] pieces = pieces(range[0], range[1]);
+				for (int i = 0; i < pieces.length; i += 3) {
+					int value = pieces[i + 2];
 					if (value == 1) {
 						if (ownSymbol == -1) {
 							ownSymbol = symbolCount++;
 						}
-						character2symbol[ch] = ownSymbol;
-						builder.addSymbol(ch);
+						assign(pieces[i], pieces[i + 1], ownSymbol);
+						builder.addRange(pieces[i], pieces[i + 1]);
 					} else if (value >= base) {
 						values.add(value);
 					}
@@ -130,44 +196,47 @@ public class LexerInputSymbols {
 					symbol2chars.add(intersection);
 
 					for (int[] range : intersection) {
-						for (int ch = range[0]; ch <= range[1]; ch++) {
-							character2symbol[ch] = ownSymbol;
-						}
+						assign(range[0], range[1], ownSymbol);
 					}
 				}
 			}
 		}
 
 		set2symbols = new int[setpool.size()][];
+		boolean[] used = new boolean[symbolCount];
 		for (int setind = 0; setind < setpool.size(); setind++) {
 			CharacterSet set = setpool.get(setind);
-			values.clear();
-			if (set.isInverted()) {
-				for (int i = 1; i < symbolCount; i++) {
-					values.add(i);
+			Arrays.fill(used, false);
+			for (int[] range : set) {
+				int[] pieces = pieces(range[0], range[1]);
+				for (int i = 0; i < pieces.length; i += 3) {
+					used[pieces[i + 2]] = true;
 				}
-				for (int[] range : set) {
-					for (int ch = range[0]; ch <= range[1]; ch++) {
-						values.remove(character2symbol[ch]);
-					}
+			}
+			boolean inverted = set.isInverted();
+			int count = 0;
+			for (int i = 1; i < symbolCount; i++) {
+				if (used[i] != inverted) {
+					count++;
 				}
-			} else {
-				for (int[] range : set) {
-					for (int ch = range[0]; ch <= range[1]; ch++) {
-						values.add(character2symbol[ch]);
-					}
+			}
+			int[] symbols = new int[count];
+			count = 0;
+			for (int i = 1; i < symbolCount; i++) {
+				if (used[i] != inverted) {
+					symbols[count++] = i;
 				}
 			}
-			set2symbols[setind] = toSortedArray(values);
+			set2symbols[setind] = symbols;
 		}
 		builder = null;
 
-		int newLength = character2symbol.length;
-		while (newLength > 0 && character2symbol[newLength - 1] == 1) {
-			newLength--;
-		}
-		if (newLength < character2symbol.length) {
-			character2symbol = Arrays.copyOf(character2symbol, newLength);
+		// trailing characters mapped to 1 (any) are not stored
+		int last = rangeCount - 1;
+		int length = rangeSymbol[last] != 1 ? MAX_UCHAR + 1 : last > 0 ? rangeStart[last] : 0;
+		character2symbol = new int[length];
+		for (int i = 0; i < rangeCount && rangeStart[i] < length; i++) {
+			Arrays.fill(character2symbol, rangeStart[i], i + 1 < rangeCount ? rangeStart[i + 1] : length, rangeSymbol[i]);
 		}
 	}
 
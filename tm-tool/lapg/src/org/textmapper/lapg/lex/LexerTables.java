@@ -24,6 +24,8 @@ class LexerTables implements LexerData {
 
 	private final int nchars;
 	private final int[] char2no, groupset, change, backtracking;
+	private TablesArchiver packed;
+	private CharClassArchiver packedClasses;
 
 	LexerTables(int nchars, int[] char2no, int[] groupset, int[] change, int[] backtracking) {
 		this.nchars = nchars;
@@ -43,6 +45,24 @@ class LexerTables implements LexerData {
 		return char2no;
 	}
 
+	@Override
+	public int[] getCharClassIndex() {
+		return packedClasses().index;
+	}
+
+	@Override
+	public int[] getCharClassPages() {
+		return packedClasses().pages;
+	}
+
+	private CharClassArchiver packedClasses() {
+		if (packedClasses == null) {
+			packedClasses = new CharClassArchiver(char2no);
+			packedClasses.buildPacked();
+		}
+		return packedClasses;
+	}
+
 	@Override
 	public int[] getGroupset() {
 		return groupset;
@@ -53,6 +73,29 @@ class LexerTables implements LexerData {
 		return change;
 	}
 
+	@Override
+	public int[] getPackedDefault() {
+		return packed().pDefault;
+	}
+
+	@Override
+	public int[] getPackedBase() {
+		return packed().pBase;
+	}
+
+	@Override
+	public int[] getPackedChange() {
+		return packed().pChange;
+	}
+
+	private TablesArchiver packed() {
+		if (packed == null) {
+			packed = new TablesArchiver(change.length / nchars, nchars, change);
+			packed.buildPacked();
+		}
+		return packed;
+	}
+
 	@Override
 	public int[] getBacktracking() {
 		return backtracking;
@@ -0,0 +1,54 @@
+/**
+ * Copyright 2002-2017 Evgeny Gryaznov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.textmapper.lapg.lex;
+
+import org.textmapper.lapg.api.LexerData;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+import static org.textmapper.lapg.common.BinaryUtil.*;
+
+/**
+ * Stores lexer tables in a binary form. Packed representations are not stored, they are
+ * recomputed on demand.
+ */
+public final class LexerTablesIO {
+
+	private LexerTablesIO() {
+	}
+
+	public static void write(LexerData data, DataOutput out) throws IOException {
+		writeInt(out, data.getNchars());
+		writeArray(out, data.getChar2no());
+		writeArray(out, data.getGroupset());
+		writeArray(out, data.getChange());
+		writeArray(out, data.getBacktracking());
+	}
+
+	public static LexerData read(DataInput in) throws IOException {
+		int nchars = readInt(in);
+		int[] char2no = readArray(in);
+		int[] groupset = readArray(in);
+		int[] change = readArray(in);
+		int[] backtracking = readArray(in);
+		if (nchars <= 0 || change.length % nchars != 0) {
+			throw new IOException("malformed lexer tables");
+		}
+		return new LexerTables(nchars, char2no, groupset, change, backtracking);
+	}
+}
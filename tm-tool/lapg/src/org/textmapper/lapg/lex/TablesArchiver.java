@@ -15,36 +15,83 @@
  */
 package org.textmapper.lapg.lex;
 
+import org.textmapper.lapg.common.RowDisplacement;
+
 import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
 
-// TODO
-public class TablesArchiver {
+/**
+ * Compresses the lexer transition table. A state either refers to a similar (default) state and stores
+ * only the transitions which differ, or stores the transitions which differ from its most frequent one,
+ * kept in an extra column (nchars). Rows are packed by row displacement:
+ *
+ *   for (;;) {
+ *     if (check[base[s] + c] == base[s]) return next[base[s] + c];
+ *     if (default[s] == -1) return next[base[s] + nchars];
+ *     s = default[s];
+ *   }
+ *
+ * (check and next are interleaved in pChange).
+ */
+class TablesArchiver {
+
+	/* number of recent states with the same most frequent transition, considered as defaults */
+	private static final int CANDIDATES = 8;
+
+	/* the maximum length of a default chain */
+	private static final int MAX_DEPTH = 4;
 
 	private final int nstates, nchars;
-	private final int[][] change;
+	private final int[] change;
 
-	public TablesArchiver(int nstates, int nchars, int[][] change) {
+	int[] pDefault, pBase, pChange;
+
+	TablesArchiver(int nstates, int nchars, int[] change) {
 		this.nstates = nstates;
 		this.nchars = nchars;
 		this.change = change;
 	}
 
-	public int[] pDefault, pBase, pNext, pCheck;
-
-	public void buildPacked() {
+	void buildPacked() {
 		pDefault = new int[nstates];
-		pBase = new int[nstates];
+		int[] depth = new int[nstates];
+		int[][] rows = new int[nstates][];
 
-		int[][] next = new int[nstates][];
-		int[][] check = new int[nstates][];
-		int pstates = 0;
+		// recently seen states, grouped by their most frequent transition
+		Map<Integer, int[]> recent = new HashMap<>();
+		int[] sorted = new int[nchars];
 
 		for (int i = 0; i < nstates; i++) {
-			int bestDefault = -1, minOverrides = Integer.MAX_VALUE;
-			for (int e = 0; e < i; e++) {
+			int row = i * nchars;
+
+			System.arraycopy(change, row, sorted, 0, nchars);
+			Arrays.sort(sorted);
+			int value = sorted[0], occurrences = 1;
+			for (int c = 1, len = 1; c < nchars; c++) {
+				len = sorted[c] == sorted[c - 1] ? len + 1 : 1;
+				if (len > occurrences) {
+					occurrences = len;
+					value = sorted[c];
+				}
+			}
+			int[] candidates = recent.get(value);
+			if (candidates == null) {
+				candidates = new int[CANDIDATES + 1];
+				Arrays.fill(candidates, -1);
+				recent.put(value, candidates);
+			}
+
+			// i - 1 is usually similar as well (states are ordered by construction)
+			candidates[CANDIDATES] = i - 1;
+
+			// -1 stands for the row itself (the most frequent transition goes into the extra column)
+			int bestDefault = -1, minOverrides = nchars - occurrences + 1;
+			for (int e : candidates) {
+				if (e == -1 || e == bestDefault || depth[e] == MAX_DEPTH) continue;
 				int toOverride = 0;
-				for (int c = 0; c < nchars && toOverride < minOverrides; c++) {
-					if (change[e][c] != change[i][c]) {
+				for (int c = 0, erow = e * nchars; c < nchars && toOverride < minOverrides; c++) {
+					if (change[erow + c] != change[row + c]) {
 						toOverride++;
 					}
 				}
@@ -53,91 +100,35 @@ public class TablesArchiver {
 					minOverrides = toOverride;
 				}
 			}
+			System.arraycopy(candidates, 1, candidates, 0, CANDIDATES - 1);
+			candidates[CANDIDATES - 1] = i;
 
 			pDefault[i] = bestDefault;
-
-			int bestBase = -1;
 			if (bestDefault >= 0) {
-				int[] target = new int[minOverrides];
-				int targetIndex = 0;
-				for (int c = 0; c < nchars; c++) {
-					if (change[bestDefault][c] != change[i][c]) {
-						target[targetIndex++] = c;
-					}
-				}
-
-				int y;
-				targetIndex = pstates;
-				for (int e = 0; e < pstates; e++) {
-					for (y = 0; y < minOverrides; y++) {
-						if (check[e][target[y]] != -1) {
-							break;
-						}
-					}
-					if (y == minOverrides) {
-						targetIndex = e;
-						break;
-					}
-				}
-
-				if (targetIndex == pstates) {
-					next[pstates] = new int[nchars];
-					check[pstates] = new int[nchars];
-					Arrays.fill(check[pstates], -1);
-					pstates++;
-				}
+				depth[i] = depth[bestDefault] + 1;
+			}
 
-				bestBase = targetIndex * nchars;
-				for (y = 0; y < minOverrides; y++) {
-					check[targetIndex][target[y]] = i;
-					next[targetIndex][target[y]] = change[i][target[y]];
-				}
-			} else {
-				bestBase = pstates * nchars;
-				next[pstates] = new int[nchars];
-				check[pstates] = new int[nchars];
-				Arrays.fill(check[pstates], -1);
-
-				for (int c = 0; c < nchars; c++) {
-					check[pstates][c] = i;
-					next[pstates][c] = change[i][c];
+			int[] entries = new int[(nchars + 1) * 2];
+			int e = 0;
+			for (int c = 0, drow = bestDefault * nchars; c < nchars; c++) {
+				if ((bestDefault >= 0 ? change[drow + c] : value) != change[row + c]) {
+					entries[e++] = c;
+					entries[e++] = change[row + c];
 				}
-				pstates++;
 			}
-			pBase[i] = bestBase;
-		}
-
-		pNext = new int[pstates * nchars];
-		pCheck = new int[pstates * nchars];
-
-		for (int i = 0; i < pstates; i++) {
-			System.arraycopy(next[i], 0, pNext, i * nchars, nchars);
-			System.arraycopy(check[i], 0, pCheck, i * nchars, nchars);
-		}
-
-		System.out.println("compressed - was: " + (nchars * nstates) + ", now: " + (pstates * nchars * 2 + 2 * nstates));
-		checkIntegrity();
-	}
-
-	private int nextState(int s2, int ch) {
-		int curr = s2;
-		while (curr != -1) {
-			if (pCheck[pBase[curr] + ch] == curr) {
-				return pNext[pBase[curr] + ch];
+			if (bestDefault == -1) {
+				entries[e++] = nchars;
+				entries[e++] = value;
 			}
-			curr = pDefault[curr];
+			rows[i] = Arrays.copyOf(entries, e);
 		}
-		return -1;
-	}
 
-	private void checkIntegrity() {
-		for (int i = 0; i < nstates; i++) {
-			for (int e = 0; e < nchars; e++) {
-				if (nextState(i, e) != change[i][e]) {
-					System.out.println("integrity problem at " + i + ", " + e);
-					return;
-				}
-			}
+		RowDisplacement table = RowDisplacement.pack(rows, nchars + 1);
+		pBase = table.base;
+		pChange = new int[table.check.length * 2];
+		for (int i = 0; i < table.check.length; i++) {
+			pChange[2 * i] = table.check[i];
+			pChange[2 * i + 1] = table.next[i];
 		}
 	}
 }
@@ -18,6 +18,7 @@ package org.textmapper.lapg.regex;
 import java.io.IOException;
 import java.text.MessageFormat;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import org.textmapper.lapg.common.CharacterSetImpl;
 import org.textmapper.lapg.regex.RegexDefLexer.ErrorReporter;
@@ -210,7 +211,10 @@ public class RegexDefParser {
 	}
 
 	protected void shift() throws IOException {
-		tmStack[++tmHead] = tmNext;
+		if (++tmHead == tmStack.length) {
+			growStack();
+		}
+		tmStack[tmHead] = tmNext;
 		tmStack[tmHead].state = gotoState(tmStack[tmHead - 1].state, tmNext.symbol);
 		if (DEBUG_SYNTAX) {
 			System.out.println(MessageFormat.format("shift: {0} ({1})", tmSymbolNames[tmNext.symbol], tmLexer.tokenText()));
@@ -235,10 +239,17 @@ public class RegexDefParser {
 		for (int e = tmRuleLen[rule]; e > 0; e--) {
 			tmStack[tmHead--] = null;
 		}
-		tmStack[++tmHead] = left;
+		if (++tmHead == tmStack.length) {
+			growStack();
+		}
+		tmStack[tmHead] = left;
 		tmStack[tmHead].state = gotoState(tmStack[tmHead - 1].state, left.symbol);
 	}
 
+	protected void growStack() {
+		tmStack = Arrays.copyOf(tmStack, tmStack.length * 2);
+	}
+
 	@SuppressWarnings("unchecked")
 	protected void applyRule(Span tmLeft, int ruleIndex, int ruleLength) {
 		switch (ruleIndex) {
@@ -26,12 +26,13 @@ import java.util.*;
  */
 public class UnicodeData {
 
-	private static UnicodeData INSTANCE = new UnicodeData();
+	private static final UnicodeData INSTANCE = new UnicodeData();
 
 	public static UnicodeData getInstance() {
 		return INSTANCE;
 	}
 
+	// lazily initialized, guarded by this (the instance is shared by concurrent builds)
 	private Map<String, String> rawData;
 	private Map<String, String> aliases;
 	private Map<String, Collection<String>> composites;
@@ -44,7 +45,7 @@ public class UnicodeData {
 		return UnicodeDataTables.VERSION;
 	}
 
-	public Collection<String> getAvailableProperties() {
+	public synchronized Collection<String> getAvailableProperties() {
 		initRawData();
 		initAliases();
 		initComposites();
@@ -55,7 +56,7 @@ public class UnicodeData {
 		return list;
 	}
 
-	public CharacterSet getCharacterSet(String propertyName) {
+	public synchronized CharacterSet getCharacterSet(String propertyName) {
 		initRawData();
 		String canonicalName = resolveAlias(toCanonicalName(propertyName));
 		CharacterSet result = set.get(canonicalName);
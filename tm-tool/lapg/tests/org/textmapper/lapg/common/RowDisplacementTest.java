@@ -0,0 +1,87 @@
+/**
+ * Copyright 2002-2017 Evgeny Gryaznov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.textmapper.lapg.common;
+
+import org.junit.Test;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+public class RowDisplacementTest {
+
+	@Test
+	public void testSkippedRows() throws Exception {
+		RowDisplacement table = RowDisplacement.pack(new int[][]{null, {0, 7, 2, 8}, null}, 3);
+		assertArrayEquals(new int[]{-1, 1, -1}, table.base);
+		assertArrayEquals(new int[]{-1, 1, -1, 1}, table.check);
+		assertEquals(7, table.next[1]);
+		assertEquals(8, table.next[3]);
+	}
+
+	@Test
+	public void testInterleaved() throws Exception {
+		RowDisplacement table = RowDisplacement.pack(new int[][]{{0, 1, 2, 1}, {1, 2}, {3, 3}}, 4);
+		assertEquals(1, table.base[0]);
+		assertEquals(3, table.base[1]);
+		assertEquals(4, table.base[2]);
+		assertEquals(8, table.check.length);
+	}
+
+	@Test
+	public void testIdenticalRows() throws Exception {
+		RowDisplacement table = RowDisplacement.pack(new int[][]{{2, 5, 0, 4}, {1, 1}, {0, 4, 2, 5}}, 3);
+		assertEquals(table.base[0], table.base[2]);
+		assertTrue(table.base[0] != table.base[1]);
+	}
+
+	@Test
+	public void testRandom() throws Exception {
+		Random random = new Random(42);
+		int nrows = 300, width = 90;
+		int[][] dense = new int[nrows][width];
+		int[][] rows = new int[nrows][];
+		for (int r = 0; r < nrows; r++) {
+			int size = random.nextInt(10) == 0 ? width / 2 : random.nextInt(6);
+			Set<Integer> columns = new HashSet<>();
+			while (columns.size() < size) {
+				columns.add(random.nextInt(width));
+			}
+			rows[r] = new int[2 * size];
+			int e = 0;
+			for (int c : columns) {
+				dense[r][c] = 1 + random.nextInt(100);
+				rows[r][e++] = c;
+				rows[r][e++] = dense[r][c];
+			}
+		}
+
+		RowDisplacement table = RowDisplacement.pack(rows, width);
+		Set<Integer> bases = new HashSet<>();
+		for (int r = 0; r < nrows; r++) {
+			int base = table.base[r];
+			assertTrue(rows[r].length == 0 || bases.add(base));
+			assertTrue(table.check[base - 1] != base);
+			for (int c = 0; c < width; c++) {
+				int value = table.check[base + c] == base ? table.next[base + c] : 0;
+				assertEquals(dense[r][c], value);
+			}
+		}
+		assertTrue(table.check.length < nrows * width / 4);
+	}
+}
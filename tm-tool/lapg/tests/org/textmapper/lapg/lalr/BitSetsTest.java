@@ -0,0 +1,91 @@
+/**
+ * Copyright 2002-2017 Evgeny Gryaznov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.textmapper.lapg.lalr;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class BitSetsTest {
+
+	@Test
+	public void testWords() throws Exception {
+		assertEquals(0, BitSets.words(0));
+		assertEquals(1, BitSets.words(1));
+		assertEquals(1, BitSets.words(64));
+		assertEquals(2, BitSets.words(65));
+	}
+
+	@Test
+	public void testChain() throws Exception {
+		int n = 130, rowlen = BitSets.words(n);
+		long[] rel = new long[n * rowlen];
+		for (int i = 0; i + 1 < n; i++) {
+			BitSets.set(rel, i * rowlen, i + 1);
+		}
+		BitSets.closure(rel, n, rowlen);
+		for (int i = 0; i < n; i++) {
+			for (int j = 0; j < n; j++) {
+				assertEquals(i + "->" + j, j > i, BitSets.get(rel, i * rowlen, j));
+			}
+		}
+	}
+
+	@Test
+	public void testRandomClosure() throws Exception {
+		Random random = new Random(42);
+		int n = 150, rowlen = BitSets.words(n);
+		boolean[][] expected = new boolean[n][n];
+		long[] rel = new long[n * rowlen];
+		for (int e = 0; e < 200; e++) {
+			int i = random.nextInt(n), j = random.nextInt(n);
+			expected[i][j] = true;
+			BitSets.set(rel, i * rowlen, j);
+		}
+
+		// bit-by-bit Warshall
+		for (int k = 0; k < n; k++) {
+			for (int i = 0; i < n; i++) {
+				if (expected[i][k]) {
+					for (int j = 0; j < n; j++) {
+						expected[i][j] |= expected[k][j];
+					}
+				}
+			}
+		}
+
+		BitSets.closure(rel, n, rowlen);
+		for (int i = 0; i < n; i++) {
+			for (int j = 0; j < n; j++) {
+				assertEquals(i + "->" + j, expected[i][j], BitSets.get(rel, i * rowlen, j));
+			}
+		}
+	}
+
+	@Test
+	public void testCompose() throws Exception {
+		long[] rel = new long[3];
+		BitSets.set(rel, 0, 1);
+		BitSets.set(rel, 0, 2);
+		BitSets.set(rel, 2, 2);
+		long[][] targets = new long[][]{{0x1L, 0}, {0x2L, 0}, {0, 0x8000000000000000L}};
+
+		long[] result = BitSets.compose(rel, 3, 1, targets, 2);
+		assertArrayEquals(new long[]{0x2L, 0x8000000000000000L, 0, 0, 0, 0x8000000000000000L}, result);
+	}
+}
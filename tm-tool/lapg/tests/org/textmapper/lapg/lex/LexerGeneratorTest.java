@@ -27,6 +27,7 @@ import java.util.Collection;
 import java.util.Collections;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
 public class LexerGeneratorTest {
@@ -176,6 +177,47 @@ public class LexerGeneratorTest {
 		}
 	}
 
+	@Test
+	public void testManyKeywords() {
+		TestRule[] input = new TestRule[501];
+		input[0] = new TestRule(0, -1, "identifier", LEXER_STATES[0], "[a-z]+", "abc", "zzzzzz");
+		for (int i = 1; i < input.length; i++) {
+			StringBuilder sb = new StringBuilder();
+			for (int n = i * 7919; sb.length() < 6; n /= 26) {
+				sb.append((char) ('a' + n % 26));
+			}
+			input[i] = new TestRule(i, 0, "kw" + i, LEXER_STATES[0], sb.toString(), sb.toString());
+		}
+		LexerData lt = LexerGenerator.generate(LEXER_STATES, input, NO_PATTERNS, new TestStatus());
+		assertTrue(lt.getChange().length / lt.getNchars() > 1024);
+		for (TestRule tl : input) {
+			for (String s : tl.getSamples()) {
+				assertEquals("For " + s, tl.index, nextToken(lt, s, input));
+			}
+		}
+	}
+
+	@Test
+	public void testMinimization() {
+		TestRule[] input = {
+				new TestRule(0, 0, "xy", LEXER_STATES[0], "(xa|ya)(b|c)+", "xab", "yacb", "xabbc"),
+				new TestRule(1, 0, "z", LEXER_STATES[0], "z(xa|ya)", "zxa", "zya"),
+				new TestRule(2, 0, "zz", LEXER_STATES[0], "zz(xa|ya)?", "zz", "zzxa"),
+		};
+		LexerData full = LexerGenerator.generate(LEXER_STATES, input, NO_PATTERNS, new TestStatus(), false);
+		LexerData minimized = LexerGenerator.generate(LEXER_STATES, input, NO_PATTERNS, new TestStatus());
+		assertTrue(minimized.getChange().length < full.getChange().length);
+		for (TestRule tl : input) {
+			for (String s : tl.getSamples()) {
+				assertEquals("For " + s, tl.index, nextToken(full, s, input));
+				assertEquals("For " + s, tl.index, nextToken(minimized, s, input));
+			}
+		}
+		for (String s : new String[]{"xa", "zx", "zzx", "yaba"}) {
+			assertEquals("For " + s, -1, nextToken(minimized, s, input));
+		}
+	}
+
 	@Test
 	public void testLexGeneratorReporting() {
 		TestStatus notifier = new TestStatus(
@@ -77,4 +77,28 @@ public class LexerInputSymbolsTest {
 		assertEquals(2, new LexerInputSymbols().addCharacter(0));
 		assertEquals(2, new LexerInputSymbols().addCharacter(1));
 	}
+
+	@Test
+	public void testOverlappingRanges() throws Exception {
+		LexerInputSymbols is = new LexerInputSymbols();
+		assertEquals(2, is.addCharacter('b'));
+		is.addSet(new CharacterSetImpl('a', 'z'));
+		is.addSet(new CharacterSetImpl('x', 0x10000));
+		is.addSet(new CharacterSetImpl(new int[]{'c', 'w'}, 2, true));
+
+		assertArrayEquals(new int[][]{{2, 3, 5, 6}, {4, 5}, {1, 2, 3, 4, 5}}, is.getSetToSymbolsMap());
+		assertEquals(7, is.getSymbolCount());
+
+		int[] map = is.getCharacterMap();
+		assertEquals(0x10001, map.length);
+		assertEquals(1, map['a' - 1]);
+		assertEquals(3, map['a']);
+		assertEquals(2, map['b']);
+		assertEquals(6, map['c']);
+		assertEquals(6, map['w']);
+		assertEquals(5, map['x']);
+		assertEquals(5, map['z']);
+		assertEquals(4, map['z' + 1]);
+		assertEquals(4, map[0x10000]);
+	}
 }
@@ -416,11 +416,11 @@ public class JsLexer {
 	}
 
 	private static final short tmStateMap[] = {
-		0, 111
+		0, 99
 	};
 
 	private static final short tmBacktracking[] = {
-		89, 3, 89, 28, 90, 69, 94, 92, 2, 106, 95, 83
+		89, 3, 89, 24, 90, 65, 94, 86, 2, 93, 95, 79
 	};
 
 	private static final int tmFirstRule = -7;
@@ -436,57 +436,51 @@ public class JsLexer {
 
 	private static final int tmClassesCount = 56;
 
-	private static final short[] tmGoto = unpack_vc_short(6384,
-		"\1\ufff8\1\ufff9\2\151\1\144\1\151\2\ufff9\1\143\1\142\1\120\1\116\1\115\1\114\1" +
-		"\113\1\112\1\111\1\110\1\103\1\102\1\101\1\75\1\67\1\64\1\61\1\56\1\53\1\51\1\46" +
-		"\1\43\1\41\1\40\1\37\1\36\1\33\1\21\1\151\1\7\6\151\1\2\2\151\4\ufff9\1\1\1\142\3" +
-		"\151\70\ufff6\22\uffa0\1\6\17\uffa0\1\2\11\uffa0\1\2\10\uffa0\2\uffff\1\uffa0\31" +
-		"\ufff9\2\5\7\ufff9\1\4\11\ufff9\1\4\13\ufff9\42\uffa0\1\4\11\uffa0\1\4\13\uffa0\42" +
-		"\ufff9\1\4\11\ufff9\1\4\13\ufff9\42\uffa0\1\6\11\uffa0\1\6\10\uffa0\2\uffff\1\uffa0" +
-		"\1\ufff9\3\7\1\11\3\7\2\ufff9\33\7\1\10\16\7\1\ufff9\3\7\70\uff9c\1\ufff9\4\7\1\15" +
-		"\2\7\1\14\33\7\1\12\7\7\1\ufff9\13\7\42\ufff9\1\13\11\ufff9\3\13\6\ufff9\2\13\43" +
-		"\ufff9\1\7\11\ufff9\3\7\6\ufff9\2\7\2\ufff9\3\7\1\11\3\7\1\ufff9\34\7\1\10\16\7\1" +
-		"\ufff9\3\7\42\ufff9\1\16\11\ufff9\3\16\6\ufff9\2\16\43\ufff9\1\17\11\ufff9\3\17\6" +
-		"\ufff9\2\17\43\ufff9\1\20\11\ufff9\3\20\6\ufff9\2\20\43\ufff9\1\7\11\ufff9\3\7\6" +
-		"\ufff9\2\7\2\ufff9\3\21\1\23\3\21\2\ufff9\31\21\1\22\20\21\1\ufff9\3\21\70\uff9d" +
-		"\1\ufff9\4\21\1\27\2\21\1\26\33\21\1\24\7\21\1\ufff9\13\21\42\ufff9\1\25\11\ufff9" +
-		"\3\25\6\ufff9\2\25\43\ufff9\1\21\11\ufff9\3\21\6\ufff9\2\21\2\ufff9\3\21\1\23\3\21" +
-		"\1\ufff9\32\21\1\22\20\21\1\ufff9\3\21\42\ufff9\1\30\11\ufff9\3\30\6\ufff9\2\30\43" +
-		"\ufff9\1\31\11\ufff9\3\31\6\ufff9\2\31\43\ufff9\1\32\11\ufff9\3\32\6\ufff9\2\32\43" +
-		"\ufff9\1\21\11\ufff9\3\21\6\ufff9\2\21\1\ufff9\22\uffa0\1\6\21\uffa0\1\ufffe\20\uffa0" +
-		"\2\uffff\1\ufffe\42\ufff9\1\35\11\ufff9\3\35\6\ufff9\2\35\1\ufff9\42\uff9e\1\35\11" +
-		"\uff9e\3\35\6\uff9e\2\35\1\uff9e\70\uffaf\70\uffb0\70\uffb3\27\uffb5\1\42\40\uffb5" +
-		"\70\uffa4\27\uffb6\1\45\5\uffb6\1\44\32\uffb6\70\uffb1\70\uffa5\27\uffb7\1\50\4\uffb7" +
-		"\1\47\33\uffb7\70\uffb2\70\uffa6\27\uffbd\1\52\40\uffbd\70\uffaa\27\uffbf\1\55\2" +
-		"\uffbf\1\54\35\uffbf\70\uffbb\70\uffac\27\uffc0\1\60\1\uffc0\1\57\36\uffc0\70\uffbc" +
-		"\70\uffad\27\uffb4\1\62\40\uffb4\27\uffc3\1\63\40\uffc3\70\uffc1\27\uffae\1\65\40" +
-		"\uffae\27\uffc4\1\66\40\uffc4\70\uffc2\26\uffc7\1\71\1\70\40\uffc7\70\uffc5\26\uffb9" +
-		"\1\73\1\72\40\uffb9\70\uffa8\27\uffb8\1\74\40\uffb8\70\uffa7\25\uffc8\1\77\1\uffc8" +
-		"\1\76\40\uffc8\70\uffc6\27\uffba\1\100\40\uffba\70\uffa9\70\uffc9\70\uffca\42\uffcb" +
-		"\1\104\11\uffcb\1\104\13\uffcb\42\uff9f\1\104\11\uff9f\1\104\10\uff9f\2\ufffd\1\uff9f" +
-		"\31\ufff9\2\107\7\ufff9\1\106\11\ufff9\1\106\13\ufff9\42\uff9f\1\106\11\uff9f\1\106" +
-		"\13\uff9f\42\ufff9\1\106\11\ufff9\1\106\13\ufff9\70\uffcc\70\uffcd\70\uffce\70\uffcf" +
-		"\70\uffd0\70\uffd1\27\uffbe\1\117\40\uffbe\70\uffab\1\ufff9\3\130\1\127\3\130\2\ufff9" +
-		"\1\126\1\123\4\130\1\121\43\130\1\ufff9\3\130\1\ufff9\3\121\1\122\3\121\2\ufff9\7" +
-		"\121\1\130\42\121\1\ufff9\3\121\1\ufff9\7\121\2\ufff9\52\121\1\ufff9\3\121\1\ufff9" +
-		"\12\123\1\124\54\123\1\ufff9\11\123\1\125\1\124\54\123\70\ufff4\1\ufff3\7\126\2\ufff3" +
-		"\52\126\1\ufff3\3\126\1\ufff9\7\130\2\ufff9\52\130\1\ufff9\3\130\1\ufff9\3\130\1" +
-		"\141\3\130\2\ufff9\1\133\5\130\1\131\43\130\1\ufff9\3\130\1\ufff9\3\131\1\132\3\131" +
-		"\2\ufff9\7\131\1\130\42\131\1\ufff9\3\131\1\ufff9\7\131\2\ufff9\52\131\1\ufff9\3" +
-		"\131\2\uff9b\2\133\1\ufffc\3\133\32\uff9b\1\133\1\uff9b\1\133\1\uff9b\15\133\2\uff9b" +
-		"\3\133\5\ufff9\1\135\124\ufff9\1\136\11\ufff9\3\136\6\ufff9\2\136\43\ufff9\1\137" +
-		"\11\ufff9\3\137\6\ufff9\2\137\43\ufff9\1\140\11\ufff9\3\140\6\ufff9\2\140\43\ufff9" +
-		"\1\133\11\ufff9\3\133\6\ufff9\2\133\2\ufff9\7\130\2\ufff9\52\130\1\ufff9\3\130\101" +
-		"\ufff5\1\142\56\ufff5\5\ufff9\1\145\124\ufff9\1\146\11\ufff9\3\146\6\ufff9\2\146" +
-		"\43\ufff9\1\147\11\ufff9\3\147\6\ufff9\2\147\43\ufff9\1\150\11\ufff9\3\150\6\ufff9" +
-		"\2\150\43\ufff9\1\151\11\ufff9\3\151\6\ufff9\2\151\1\ufff9\2\ufff7\2\151\1\ufffb" +
-		"\3\151\32\ufff7\1\151\1\ufff7\1\151\1\ufff7\15\151\2\ufff7\3\151\5\ufff9\1\153\124" +
-		"\ufff9\1\154\11\ufff9\3\154\6\ufff9\2\154\43\ufff9\1\155\11\ufff9\3\155\6\ufff9\2" +
-		"\155\43\ufff9\1\156\11\ufff9\3\156\6\ufff9\2\156\43\ufff9\1\151\11\ufff9\3\151\6" +
-		"\ufff9\2\151\3\ufff9\2\151\1\144\1\151\2\ufff9\1\143\1\142\1\160\1\116\1\115\1\114" +
-		"\1\113\1\112\1\111\1\110\1\103\1\102\1\101\1\75\1\67\1\64\1\61\1\56\1\53\1\51\1\46" +
-		"\1\43\1\41\1\40\1\37\1\36\1\33\1\21\1\151\1\7\6\151\1\2\2\151\4\ufff9\1\1\1\142\3" +
-		"\151\12\uff9a\1\126\1\ufffa\13\uff9a\1\161\40\uff9a\70\uff99");
+	private static final short[] tmGoto = unpack_vc_short(5712,
+		"\1\ufff8\1\ufff9\2\142\1\135\1\142\2\ufff9\1\134\1\133\1\114\1\112\1\111\1\110\1" +
+		"\107\1\106\1\105\1\104\1\77\1\76\1\75\1\71\1\63\1\60\1\55\1\52\1\47\1\45\1\42\1\37" +
+		"\1\35\1\34\1\33\1\32\1\27\1\17\1\142\1\7\6\142\1\2\2\142\4\ufff9\1\1\1\133\3\142" +
+		"\70\ufff6\22\uffa0\1\6\17\uffa0\1\2\11\uffa0\1\2\10\uffa0\2\uffff\1\uffa0\31\ufff9" +
+		"\2\5\7\ufff9\1\4\11\ufff9\1\4\13\ufff9\42\uffa0\1\4\11\uffa0\1\4\13\uffa0\42\ufff9" +
+		"\1\4\11\ufff9\1\4\13\ufff9\42\uffa0\1\6\11\uffa0\1\6\10\uffa0\2\uffff\1\uffa0\1\ufff9" +
+		"\3\7\1\11\3\7\2\ufff9\33\7\1\10\16\7\1\ufff9\3\7\70\uff9c\1\ufff9\4\7\1\15\2\7\1" +
+		"\14\33\7\1\12\7\7\1\ufff9\13\7\42\ufff9\1\13\11\ufff9\3\13\6\ufff9\2\13\43\ufff9" +
+		"\1\7\11\ufff9\3\7\6\ufff9\2\7\2\ufff9\3\7\1\11\3\7\1\ufff9\34\7\1\10\16\7\1\ufff9" +
+		"\3\7\42\ufff9\1\16\11\ufff9\3\16\6\ufff9\2\16\43\ufff9\1\12\11\ufff9\3\12\6\ufff9" +
+		"\2\12\2\ufff9\3\17\1\21\3\17\2\ufff9\31\17\1\20\20\17\1\ufff9\3\17\70\uff9d\1\ufff9" +
+		"\4\17\1\25\2\17\1\24\33\17\1\22\7\17\1\ufff9\13\17\42\ufff9\1\23\11\ufff9\3\23\6" +
+		"\ufff9\2\23\43\ufff9\1\17\11\ufff9\3\17\6\ufff9\2\17\2\ufff9\3\17\1\21\3\17\1\ufff9" +
+		"\32\17\1\20\20\17\1\ufff9\3\17\42\ufff9\1\26\11\ufff9\3\26\6\ufff9\2\26\43\ufff9" +
+		"\1\22\11\ufff9\3\22\6\ufff9\2\22\1\ufff9\22\uffa0\1\6\21\uffa0\1\ufffe\20\uffa0\2" +
+		"\uffff\1\ufffe\42\ufff9\1\31\11\ufff9\3\31\6\ufff9\2\31\1\ufff9\42\uff9e\1\31\11" +
+		"\uff9e\3\31\6\uff9e\2\31\1\uff9e\70\uffaf\70\uffb0\70\uffb3\27\uffb5\1\36\40\uffb5" +
+		"\70\uffa4\27\uffb6\1\41\5\uffb6\1\40\32\uffb6\70\uffb1\70\uffa5\27\uffb7\1\44\4\uffb7" +
+		"\1\43\33\uffb7\70\uffb2\70\uffa6\27\uffbd\1\46\40\uffbd\70\uffaa\27\uffbf\1\51\2" +
+		"\uffbf\1\50\35\uffbf\70\uffbb\70\uffac\27\uffc0\1\54\1\uffc0\1\53\36\uffc0\70\uffbc" +
+		"\70\uffad\27\uffb4\1\56\40\uffb4\27\uffc3\1\57\40\uffc3\70\uffc1\27\uffae\1\61\40" +
+		"\uffae\27\uffc4\1\62\40\uffc4\70\uffc2\26\uffc7\1\65\1\64\40\uffc7\70\uffc5\26\uffb9" +
+		"\1\67\1\66\40\uffb9\70\uffa8\27\uffb8\1\70\40\uffb8\70\uffa7\25\uffc8\1\73\1\uffc8" +
+		"\1\72\40\uffc8\70\uffc6\27\uffba\1\74\40\uffba\70\uffa9\70\uffc9\70\uffca\42\uffcb" +
+		"\1\100\11\uffcb\1\100\13\uffcb\42\uff9f\1\100\11\uff9f\1\100\10\uff9f\2\ufffd\1\uff9f" +
+		"\31\ufff9\2\103\7\ufff9\1\102\11\ufff9\1\102\13\ufff9\42\uff9f\1\102\11\uff9f\1\102" +
+		"\13\uff9f\42\ufff9\1\102\11\ufff9\1\102\13\ufff9\70\uffcc\70\uffcd\70\uffce\70\uffcf" +
+		"\70\uffd0\70\uffd1\27\uffbe\1\113\40\uffbe\70\uffab\1\ufff9\3\124\1\123\3\124\2\ufff9" +
+		"\1\122\1\117\4\124\1\115\43\124\1\ufff9\3\124\1\ufff9\3\115\1\116\3\115\2\ufff9\7" +
+		"\115\1\124\42\115\1\ufff9\3\115\1\ufff9\7\115\2\ufff9\52\115\1\ufff9\3\115\1\ufff9" +
+		"\12\117\1\120\54\117\1\ufff9\11\117\1\121\1\120\54\117\70\ufff4\1\ufff3\7\122\2\ufff3" +
+		"\52\122\1\ufff3\3\122\1\ufff9\7\124\2\ufff9\52\124\1\ufff9\3\124\1\ufff9\3\124\1" +
+		"\123\3\124\2\ufff9\1\125\5\124\1\115\43\124\1\ufff9\3\124\2\uff9b\2\125\1\ufffc\3" +
+		"\125\32\uff9b\1\125\1\uff9b\1\125\1\uff9b\15\125\2\uff9b\3\125\5\ufff9\1\127\124" +
+		"\ufff9\1\130\11\ufff9\3\130\6\ufff9\2\130\43\ufff9\1\131\11\ufff9\3\131\6\ufff9\2" +
+		"\131\43\ufff9\1\132\11\ufff9\3\132\6\ufff9\2\132\43\ufff9\1\125\11\ufff9\3\125\6" +
+		"\ufff9\2\125\1\ufff9\101\ufff5\1\133\56\ufff5\5\ufff9\1\136\124\ufff9\1\137\11\ufff9" +
+		"\3\137\6\ufff9\2\137\43\ufff9\1\140\11\ufff9\3\140\6\ufff9\2\140\43\ufff9\1\141\11" +
+		"\ufff9\3\141\6\ufff9\2\141\43\ufff9\1\142\11\ufff9\3\142\6\ufff9\2\142\1\ufff9\2" +
+		"\ufff7\2\142\1\ufffb\3\142\32\ufff7\1\142\1\ufff7\1\142\1\ufff7\15\142\2\ufff7\3" +
+		"\142\2\ufff9\2\142\1\135\1\142\2\ufff9\1\134\1\133\1\144\1\112\1\111\1\110\1\107" +
+		"\1\106\1\105\1\104\1\77\1\76\1\75\1\71\1\63\1\60\1\55\1\52\1\47\1\45\1\42\1\37\1" +
+		"\35\1\34\1\33\1\32\1\27\1\17\1\142\1\7\6\142\1\2\2\142\4\ufff9\1\1\1\133\3\142\12" +
+		"\uff9a\1\122\1\ufffa\13\uff9a\1\145\40\uff9a\70\uff99");
 
 	private static short[] unpack_vc_short(int size, String... st) {
 		short[] res = new short[size];
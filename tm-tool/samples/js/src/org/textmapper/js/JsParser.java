@@ -2,6 +2,7 @@ package org.textmapper.js;
 
 import java.io.IOException;
 import java.text.MessageFormat;
+import java.util.Arrays;
 import org.textmapper.js.JsLexer.ErrorReporter;
 import org.textmapper.js.JsLexer.Span;
 import org.textmapper.js.JsLexer.Tokens;
@@ -2092,7 +2093,10 @@ public class JsParser {
 	}
 
 	protected void shift() throws IOException {
-		tmStack[++tmHead] = tmNext;
+		if (++tmHead == tmStack.length) {
+			growStack();
+		}
+		tmStack[tmHead] = tmNext;
 		tmStack[tmHead].state = gotoState(tmStack[tmHead - 1].state, tmNext.symbol);
 		if (DEBUG_SYNTAX) {
 			System.out.println(MessageFormat.format("shift: {0} ({1})", tmSymbolNames[tmNext.symbol], tmLexer.tokenText()));
@@ -2118,10 +2122,17 @@ public class JsParser {
 		for (int e = tmRuleLen[rule]; e > 0; e--) {
 			tmStack[tmHead--] = null;
 		}
-		tmStack[++tmHead] = left;
+		if (++tmHead == tmStack.length) {
+			growStack();
+		}
+		tmStack[tmHead] = left;
 		tmStack[tmHead].state = gotoState(tmStack[tmHead - 1].state, left.symbol);
 	}
 
+	protected void growStack() {
+		tmStack = Arrays.copyOf(tmStack, tmStack.length * 2);
+	}
+
 	@SuppressWarnings("unchecked")
 	protected void applyRule(Span tmLeft, int ruleIndex, int ruleLength) {
 	}
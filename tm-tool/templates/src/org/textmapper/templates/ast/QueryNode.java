@@ -29,7 +29,7 @@ public class QueryNode extends Node implements IQuery {
 	private final String templatePackage;
 	private final ExpressionNode expr;
 	private final boolean isCached;
-	private IQuery base;
+	private volatile IQuery base;
 
 	public QueryNode(String name, List<ParameterNode> parameters,
 					 String templatePackage, ExpressionNode expr, boolean cache,
@@ -28,7 +28,7 @@ public class TemplateNode extends CompoundNode implements ITemplate {
 	private final String name;
 	private final ParameterNode[] parameters;
 	private final String templatePackage;
-	private ITemplate base;
+	private volatile ITemplate base;
 
 	public TemplateNode(String name, List<ParameterNode> parameters,
 						String templatePackage, TextSource source, int offset, int endoffset) {
@@ -257,23 +257,22 @@ public class TemplatesLexer {
 
 	private static final int tmClassesCount = 37;
 
-	private static final short[] tmGoto = unpack_vc_short(1887,
+	private static final short[] tmGoto = unpack_vc_short(1776,
 		"\1\ufffd\1\11\1\1\42\11\2\ufffe\1\10\1\ufffe\1\7\1\6\2\ufffe\1\3\23\ufffe\1\3\1\2" +
 		"\2\ufffe\3\3\1\2\1\ufffe\35\ufff8\1\2\5\ufff8\1\2\1\ufff8\3\ufff9\1\uffff\4\ufff9" +
 		"\1\3\23\ufff9\2\3\2\ufff9\4\3\1\ufff9\35\ufffe\1\5\5\ufffe\1\5\1\ufffe\35\ufff9\1" +
 		"\5\5\ufff9\1\5\1\ufff9\45\ufff6\45\ufff7\45\ufffa\1\ufffb\1\11\1\ufffb\42\11\2\ufffe" +
-		"\1\62\1\ufffe\1\61\1\60\1\51\1\ufffe\1\62\1\50\1\45\1\44\1\43\1\42\1\40\1\36\1\35" +
-		"\1\34\1\33\1\32\1\31\1\30\1\26\1\23\1\21\1\17\1\16\1\15\1\62\1\14\1\13\1\ufffe\3" +
-		"\62\1\14\1\13\36\uffbd\1\13\5\uffbd\1\13\35\ufff5\1\14\5\ufff5\1\14\1\ufff5\45\uffbe" +
+		"\1\57\1\ufffe\1\56\1\55\1\51\1\ufffe\1\57\1\50\1\45\1\44\1\43\1\42\1\40\1\36\1\35" +
+		"\1\34\1\33\1\32\1\31\1\30\1\26\1\23\1\21\1\17\1\16\1\15\1\57\1\14\1\13\1\ufffe\3" +
+		"\57\1\14\1\13\36\uffbd\1\13\5\uffbd\1\13\35\ufff5\1\14\5\ufff5\1\14\1\ufff5\45\uffbe" +
 		"\45\uffbf\27\uffc1\1\20\15\uffc1\45\uffc3\27\uffc0\1\22\15\uffc0\45\uffc2\27\uffc7" +
 		"\1\25\1\24\14\uffc7\45\uffc4\45\uffc8\26\ufffe\1\27\16\ufffe\45\uffca\45\uffcb\45" +
 		"\uffcc\45\uffcd\45\uffce\45\uffcf\45\uffd0\17\uffd1\1\37\25\uffd1\45\uffc9\27\uffd2" +
 		"\1\41\15\uffd2\45\uffc6\45\uffd3\45\uffd5\45\uffd7\11\uffd6\1\47\16\uffd6\1\46\14" +
-		"\uffd6\45\uffc5\45\uffd8\45\uffd9\1\ufffe\5\51\1\57\1\52\26\51\1\ufffe\6\51\6\ufffe" +
-		"\2\51\1\55\22\ufffe\1\51\3\ufffe\2\51\1\ufffe\1\51\1\53\2\ufffe\5\51\1\57\1\52\26" +
-		"\51\1\ufffe\4\51\1\54\1\51\1\ufffe\5\51\1\57\1\52\26\51\1\ufffe\6\51\35\ufffe\1\56" +
-		"\3\ufffe\3\56\2\ufffe\5\51\1\57\1\52\25\51\1\56\1\ufffe\2\51\3\56\1\51\45\ufff4\45" +
-		"\uffd4\45\uffda\2\ufffc\1\62\5\ufffc\1\62\23\ufffc\2\62\2\ufffc\4\62\1\ufffc");
+		"\uffd6\45\uffc5\45\uffd8\45\uffd9\1\ufffe\5\51\1\54\1\52\26\51\1\ufffe\6\51\6\ufffe" +
+		"\2\51\1\53\22\ufffe\1\51\3\ufffe\2\51\1\ufffe\2\51\36\ufffe\1\51\3\ufffe\3\51\1\ufffe" +
+		"\45\ufff4\45\uffd4\45\uffda\2\ufffc\1\57\5\ufffc\1\57\23\ufffc\2\57\2\ufffc\4\57" +
+		"\1\ufffc");
 
 	private static short[] unpack_vc_short(int size, String... st) {
 		short[] res = new short[size];
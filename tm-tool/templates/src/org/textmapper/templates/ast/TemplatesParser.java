@@ -19,6 +19,7 @@ package org.textmapper.templates.ast;
 import java.io.IOException;
 import java.text.MessageFormat;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -863,7 +864,10 @@ public class TemplatesParser {
 			tmHead--;
 		}
 		if (tmHead >= 0) {
-			tmStack[++tmHead] = new Span();
+			if (++tmHead == tmStack.length) {
+				growStack();
+			}
+			tmStack[tmHead] = new Span();
 			tmStack[tmHead].symbol = 65;
 			tmStack[tmHead].value = null;
 			tmStack[tmHead].state = gotoState(tmStack[tmHead - 1].state, 65);
@@ -876,7 +880,10 @@ public class TemplatesParser {
 	}
 
 	protected void shift() throws IOException {
-		tmStack[++tmHead] = tmNext;
+		if (++tmHead == tmStack.length) {
+			growStack();
+		}
+		tmStack[tmHead] = tmNext;
 		tmStack[tmHead].state = gotoState(tmStack[tmHead - 1].state, tmNext.symbol);
 		if (DEBUG_SYNTAX) {
 			System.out.println(MessageFormat.format("shift: {0} ({1})", tmSymbolNames[tmNext.symbol], tmLexer.tokenText()));
@@ -903,10 +910,17 @@ public class TemplatesParser {
 			cleanup(tmStack[tmHead]);
 			tmStack[tmHead--] = null;
 		}
-		tmStack[++tmHead] = left;
+		if (++tmHead == tmStack.length) {
+			growStack();
+		}
+		tmStack[tmHead] = left;
 		tmStack[tmHead].state = gotoState(tmStack[tmHead - 1].state, left.symbol);
 	}
 
+	protected void growStack() {
+		tmStack = Arrays.copyOf(tmStack, tmStack.length * 2);
+	}
+
 	@SuppressWarnings("unchecked")
 	protected void applyRule(Span tmLeft, int ruleIndex, int ruleLength) {
 		switch (ruleIndex) {
@@ -0,0 +1,91 @@
+/**
+ * Copyright 2002-2017 Evgeny Gryaznov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.textmapper.templates.bundle;
+
+import org.textmapper.templates.api.TemplatesStatus;
+import org.textmapper.templates.storage.IResourceLoader;
+import org.textmapper.templates.storage.Resource;
+import org.textmapper.templates.storage.ResourceRegistry;
+
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Loads templates as {@link DefaultTemplateLoader} does, but parses each bundle only once. Can be
+ * shared between registries (and threads) that load templates from the same resources.
+ * Resources are re-read on every load, and the bundle is parsed again if their contents changed.
+ * Bundles with syntax errors are not cached, so that every registry gets them reported.
+ */
+public class CachingTemplateLoader implements IBundleLoader {
+	private final ResourceRegistry resources;
+	private final ConcurrentMap<String, CachedBundle> bundles = new ConcurrentHashMap<>();
+
+	public CachingTemplateLoader(ResourceRegistry resources) {
+		this.resources = resources;
+	}
+
+	@Override
+	public TemplatesBundle[] load(String bundleName, TemplatesStatus status) {
+		Resource[] loaded = resources.loadResources(bundleName, IResourceLoader.KIND_TEMPLATE);
+		if (loaded == null) {
+			return null;
+		}
+		CachedBundle cached = bundles.get(bundleName);
+		if (cached != null && cached.isLoadedFrom(loaded)) {
+			return cached.bundles;
+		}
+		boolean[] hasErrors = new boolean[1];
+		TemplatesStatus checkingStatus = (kind, message, anchors) -> {
+			if (kind <= TemplatesStatus.KIND_ERROR) {
+				hasErrors[0] = true;
+			}
+			status.report(kind, message, anchors);
+		};
+		TemplatesBundle[] result = new TemplatesBundle[loaded.length];
+		for (int i = 0; i < loaded.length; i++) {
+			result[i] = TemplatesBundle.parse(loaded[i], bundleName, checkingStatus);
+		}
+		if (hasErrors[0]) {
+			return result;
+		}
+		bundles.put(bundleName, new CachedBundle(loaded, result));
+		return result;
+	}
+
+	private static class CachedBundle {
+		private final Resource[] resources;
+		private final TemplatesBundle[] bundles;
+
+		CachedBundle(Resource[] resources, TemplatesBundle[] bundles) {
+			this.resources = resources;
+			this.bundles = bundles;
+		}
+
+		boolean isLoadedFrom(Resource[] loaded) {
+			if (loaded.length != resources.length) {
+				return false;
+			}
+			for (int i = 0; i < loaded.length; i++) {
+				if (!Objects.equals(loaded[i].getUri(), resources[i].getUri())
+						|| !loaded[i].getContents().equals(resources[i].getContents())) {
+					return false;
+				}
+			}
+			return true;
+		}
+	}
+}
@@ -100,7 +100,7 @@ public class TemplatesRegistry {
 		}
 	}
 
-	public IBundleEntity loadEntity(String qualifiedName, int kind, SourceElement referer) {
+	public synchronized IBundleEntity loadEntity(String qualifiedName, int kind, SourceElement referer) {
 		int lastDot = qualifiedName.lastIndexOf('.');
 		if (lastDot == -1) {
 			status.report(TemplatesStatus.KIND_ERROR, "Fully qualified name should contain dot.", referer);
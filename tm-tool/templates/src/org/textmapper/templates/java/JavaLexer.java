@@ -321,12 +321,12 @@ public class JavaLexer {
 	}
 
 	private static final short tmBacktracking[] = {
-		57, 17, 57, 3, 62, 7, 61, 11, 61, 14, 61, 16, 57, 19, 78, 82,
-		61, 85, 57, 106, 57, 104, 57, 91, 57, 87, 60, 90, 64, 98, 58, 103,
-		58, 102, 58, 94, 59, 109, 59, 104, 59, 3, 98, 114, 2, 122
+		57, 17, 57, 3, 62, 7, 61, 11, 61, 14, 61, 16, 78, 78, 57, 100,
+		57, 98, 57, 85, 57, 81, 60, 84, 64, 92, 58, 97, 58, 96, 58, 88,
+		59, 100, 59, 98, 59, 3, 98, 107, 2, 115
 	};
 
-	private static final int tmFirstRule = -24;
+	private static final int tmFirstRule = -22;
 
 	private static final int[] tmRuleSymbol = unpack_int(118,
 		"\uffff\uffff\0\0\4\0\0\0\1\0\2\0\3\0\5\0\6\0\7\0\10\0\11\0\12\0\13\0\14\0\15\0\16" +
@@ -340,80 +340,69 @@ public class JavaLexer {
 
 	private static final int tmClassesCount = 53;
 
-	private static final short[] tmGoto = unpack_vc_short(6996,
-		"\1\uffe7\1\uffe8\1\177\1\171\1\170\1\167\1\166\1\160\1\156\1\126\1\171\1\121\1\107" +
-		"\1\76\1\75\1\74\1\73\1\72\1\71\1\70\1\67\1\66\1\64\1\56\1\52\1\50\1\47\1\46\1\45" +
-		"\1\42\1\37\1\34\1\31\1\27\1\25\1\24\1\171\1\1\1\171\1\uffe8\1\166\2\171\1\1\1\171" +
-		"\1\1\6\171\1\1\11\uffaf\1\22\1\uffff\1\11\31\uffaf\1\22\3\uffaf\1\10\1\uffaf\1\22" +
-		"\1\uffaf\1\22\1\ufffe\1\2\3\uffaf\1\2\1\22\65\uffa9\11\uffe8\1\5\25\uffe8\2\4\4\uffe8" +
-		"\1\5\5\uffe8\1\5\1\uffe8\1\5\6\uffe8\1\5\11\uffe8\1\5\33\uffe8\1\5\5\uffe8\1\5\1" +
-		"\uffe8\1\5\6\uffe8\1\5\11\uffaa\1\5\1\ufffd\32\uffaa\1\5\5\uffaa\1\5\1\uffaa\1\5" +
-		"\1\uffaa\1\6\3\uffaa\1\6\1\5\65\uffaa\11\uffe8\1\5\1\7\32\uffe8\1\5\5\uffe8\1\5\1" +
-		"\uffe8\1\5\6\uffe8\1\5\65\uffaf\11\uffab\1\17\33\uffab\1\17\5\uffab\1\17\1\uffab" +
-		"\1\17\1\ufffc\1\12\3\uffab\1\12\1\17\65\uffab\11\uffe8\1\15\25\uffe8\2\14\4\uffe8" +
-		"\1\15\5\uffe8\1\15\1\uffe8\1\15\6\uffe8\1\15\11\uffe8\1\15\33\uffe8\1\15\5\uffe8" +
-		"\1\15\1\uffe8\1\15\6\uffe8\1\15\11\uffab\1\15\1\ufffb\32\uffab\1\15\5\uffab\1\15" +
-		"\1\uffab\1\15\1\uffab\1\12\3\uffab\1\12\1\15\11\uffe8\1\15\1\16\32\uffe8\1\15\5\uffe8" +
-		"\1\15\1\uffe8\1\15\6\uffe8\1\15\11\uffab\1\17\1\ufffa\32\uffab\1\17\5\uffab\1\17" +
-		"\1\uffab\1\17\1\ufffc\1\12\3\uffab\1\12\1\17\11\uffe8\1\17\1\20\32\uffe8\1\17\5\uffe8" +
-		"\1\17\1\uffe8\1\17\6\uffe8\1\17\11\uffe8\1\22\1\21\32\uffe8\1\22\5\uffe8\1\22\1\uffe8" +
-		"\1\22\6\uffe8\1\22\11\uffaf\1\22\1\ufff9\1\11\31\uffaf\1\22\3\uffaf\1\10\1\uffaf" +
-		"\1\22\1\uffaf\1\22\1\ufffe\1\2\3\uffaf\1\2\1\22\11\uffe8\1\22\1\23\32\uffe8\1\22" +
-		"\5\uffe8\1\22\1\uffe8\1\22\6\uffe8\1\22\65\uff73\26\uff82\1\26\36\uff82\65\uff77" +
-		"\26\uff83\1\30\36\uff83\65\uff78\26\uff88\1\33\11\uff88\1\32\24\uff88\65\uff8a\65" +
-		"\uff7d\26\uff89\1\36\10\uff89\1\35\25\uff89\65\uff8b\65\uff7e\26\uff84\1\41\7\uff84" +
-		"\1\40\26\uff84\65\uff8c\65\uff79\26\uff85\1\44\6\uff85\1\43\27\uff85\65\uff8d\65" +
-		"\uff7a\65\uff92\65\uff93\65\uff94\26\uff95\1\51\36\uff95\65\uff8e\26\uff96\1\55\1" +
-		"\uff96\1\53\34\uff96\26\uff81\1\54\36\uff81\65\uff76\65\uff90\26\uff97\1\63\1\57" +
-		"\35\uff97\26\uff80\1\62\1\60\35\uff80\26\uff7f\1\61\36\uff7f\65\uff74\65\uff75\65" +
-		"\uff8f\26\uff98\1\65\36\uff98\65\uff91\65\uff9b\65\uff9c\65\uff9d\65\uff9e\65\uff9f" +
-		"\65\uffa0\65\uffa1\65\uffa2\1\uffe8\1\76\1\100\2\76\2\uffe8\6\76\1\77\47\76\65\uffa4" +
-		"\2\uffe8\1\76\1\103\5\uffe8\1\102\2\uffe8\2\76\35\uffe8\1\101\1\uffe8\1\102\3\uffe8" +
-		"\3\76\1\102\1\uffe8\1\76\1\100\2\76\2\uffe8\6\76\1\77\47\76\1\uffe8\1\76\1\100\2" +
-		"\76\2\uffe8\2\76\1\101\3\76\1\77\35\76\1\101\1\76\1\101\6\76\1\101\3\uffe8\1\103" +
-		"\5\uffe8\1\104\33\uffe8\2\104\4\uffe8\5\104\2\uffe8\3\104\11\uffe8\1\105\33\uffe8" +
-		"\2\105\4\uffe8\5\105\2\uffe8\3\105\11\uffe8\1\106\33\uffe8\2\106\4\uffe8\5\106\2" +
-		"\uffe8\3\106\11\uffe8\1\76\33\uffe8\2\76\4\uffe8\5\76\2\uffe8\3\76\1\uffe8\1\120" +
-		"\1\110\2\120\2\uffe8\5\120\1\uffe8\50\120\2\uffe8\1\120\1\114\5\uffe8\1\113\2\uffe8" +
-		"\2\120\35\uffe8\1\111\1\uffe8\1\113\3\uffe8\3\120\1\113\11\uffe8\1\120\2\uffe8\1" +
-		"\112\36\uffe8\1\120\1\uffe8\1\120\6\uffe8\1\120\65\uffa5\11\uffe8\1\111\2\uffe8\1" +
-		"\112\36\uffe8\1\111\1\uffe8\1\111\6\uffe8\1\111\3\uffe8\1\114\5\uffe8\1\115\33\uffe8" +
-		"\2\115\4\uffe8\5\115\2\uffe8\3\115\11\uffe8\1\116\33\uffe8\2\116\4\uffe8\5\116\2" +
-		"\uffe8\3\116\11\uffe8\1\117\33\uffe8\2\117\4\uffe8\5\117\2\uffe8\3\117\11\uffe8\1" +
-		"\120\33\uffe8\2\120\4\uffe8\5\120\2\uffe8\3\120\14\uffe8\1\112\50\uffe8\11\uff9a" +
-		"\1\124\1\uff9a\1\ufff8\31\uff9a\1\124\5\uff9a\1\124\1\uff9a\1\124\6\uff9a\1\124\13" +
-		"\uffe8\1\123\51\uffe8\65\uff99\11\uffab\1\124\1\ufff7\32\uffab\1\124\5\uffab\1\124" +
-		"\1\uffab\1\124\1\ufffc\1\12\3\uffab\1\12\1\124\11\uffe8\1\124\1\125\32\uffe8\1\124" +
-		"\5\uffe8\1\124\1\uffe8\1\124\6\uffe8\1\124\11\uffaf\1\153\1\ufff6\1\11\31\uffaf\1" +
-		"\ufff5\3\uffaf\1\10\1\ufff4\1\153\1\ufff3\1\153\1\ufffe\1\2\2\uffaf\1\ufff3\1\2\1" +
-		"\153\11\uffe8\1\130\43\uffe8\1\130\7\uffe8\11\uffac\1\130\1\ufff2\36\uffac\1\131" +
-		"\3\uffac\1\130\74\uffac\11\uffe8\1\130\1\132\42\uffe8\1\130\20\uffe8\1\144\1\uffe8" +
-		"\1\134\31\uffe8\2\144\4\uffe8\5\144\2\uffe8\3\144\11\uffe8\1\135\33\uffe8\2\135\4" +
-		"\uffe8\5\135\2\uffe8\3\135\11\uffe8\1\135\1\143\32\uffe8\2\135\4\uffe8\5\135\1\136" +
-		"\1\uffe8\3\135\11\uffe8\1\140\25\uffe8\2\137\4\uffe8\1\140\5\uffe8\1\140\1\uffe8" +
-		"\1\140\6\uffe8\1\140\11\uffe8\1\140\33\uffe8\1\140\5\uffe8\1\140\1\uffe8\1\140\6" +
-		"\uffe8\1\140\11\uffa8\1\140\1\ufff1\32\uffa8\1\140\5\uffa8\1\140\1\uffa8\1\140\1" +
-		"\uffa8\1\141\3\uffa8\1\141\1\140\65\uffa8\11\uffe8\1\140\1\142\32\uffe8\1\140\5\uffe8" +
-		"\1\140\1\uffe8\1\140\6\uffe8\1\140\11\uffe8\1\135\1\143\32\uffe8\2\135\4\uffe8\5" +
-		"\135\2\uffe8\3\135\11\uffae\1\144\1\ufff0\1\uffef\31\uffae\2\144\2\uffae\1\145\1" +
-		"\uffae\5\144\1\uffee\1\uffae\3\144\65\uffae\11\uffe8\1\135\33\uffe8\2\135\4\uffe8" +
-		"\5\135\1\136\1\uffe8\3\135\11\uffe8\1\144\1\147\32\uffe8\2\144\4\uffe8\5\144\2\uffe8" +
-		"\3\144\11\uffe8\1\150\1\151\1\11\31\uffe8\1\150\5\uffe8\1\150\1\uffe8\1\150\1\3\1" +
-		"\2\3\uffe8\1\2\1\150\11\uffe8\1\150\1\151\32\uffe8\1\150\5\uffe8\1\150\1\uffe8\1" +
-		"\150\6\uffe8\1\150\11\uffe8\1\153\1\152\32\uffe8\1\150\5\uffe8\1\153\1\uffe8\1\153" +
-		"\6\uffe8\1\153\11\uffad\1\153\1\uffed\1\11\31\uffad\1\uffec\3\uffad\1\154\1\uffad" +
-		"\1\153\1\uffad\1\153\1\uffeb\1\2\3\uffad\1\2\1\153\65\uffad\11\uffe8\1\153\1\155" +
-		"\32\uffe8\1\150\5\uffe8\1\153\1\uffe8\1\153\6\uffe8\1\153\26\uff87\1\157\36\uff87" +
-		"\65\uff7c\7\uff86\1\165\1\uffea\15\uff86\1\161\36\uff86\65\uff7b\1\uffe8\7\162\1" +
-		"\163\54\162\1\uffe8\6\162\1\164\1\163\54\162\65\uffe2\1\uffe3\4\165\2\uffe3\56\165" +
-		"\73\uffe4\1\166\56\uffe4\65\uffe5\2\uffe6\1\uffe9\1\171\5\uffe6\2\171\31\uffe6\4" +
-		"\171\1\uffe6\14\171\3\uffe8\1\173\64\uffe8\1\173\5\uffe8\1\174\33\uffe8\2\174\4\uffe8" +
-		"\5\174\2\uffe8\3\174\11\uffe8\1\175\33\uffe8\2\175\4\uffe8\5\175\2\uffe8\3\175\11" +
-		"\uffe8\1\176\33\uffe8\2\176\4\uffe8\5\176\2\uffe8\3\176\11\uffe8\1\171\33\uffe8\2" +
-		"\171\4\uffe8\5\171\2\uffe8\3\171\3\uffe8\1\200\64\uffe8\1\200\5\uffe8\1\201\33\uffe8" +
-		"\2\201\4\uffe8\5\201\2\uffe8\3\201\11\uffe8\1\202\33\uffe8\2\202\4\uffe8\5\202\2" +
-		"\uffe8\3\202\11\uffe8\1\203\33\uffe8\2\203\4\uffe8\5\203\2\uffe8\3\203\11\uffe8\1" +
-		"\171\33\uffe8\2\171\4\uffe8\5\171\2\uffe8\3\171");
+	private static final short[] tmGoto = unpack_vc_short(6360,
+		"\1\uffe9\1\uffea\1\163\1\162\1\161\1\160\1\157\1\151\1\147\1\120\1\162\1\115\1\103" +
+		"\1\74\1\73\1\72\1\71\1\70\1\67\1\66\1\65\1\64\1\62\1\54\1\50\1\46\1\45\1\44\1\43" +
+		"\1\40\1\35\1\32\1\27\1\25\1\23\1\22\1\162\1\1\1\162\1\uffea\1\157\2\162\1\1\1\162" +
+		"\1\1\6\162\1\1\11\uffb1\1\1\1\uffff\1\11\31\uffb1\1\1\3\uffb1\1\10\1\uffb1\1\1\1" +
+		"\uffb1\1\1\1\ufffe\1\2\3\uffb1\1\2\1\1\65\uffab\11\uffea\1\5\25\uffea\2\4\4\uffea" +
+		"\1\5\5\uffea\1\5\1\uffea\1\5\6\uffea\1\5\11\uffea\1\5\33\uffea\1\5\5\uffea\1\5\1" +
+		"\uffea\1\5\6\uffea\1\5\11\uffac\1\5\1\ufffd\32\uffac\1\5\5\uffac\1\5\1\uffac\1\5" +
+		"\1\uffac\1\6\3\uffac\1\6\1\5\65\uffac\11\uffea\1\5\1\7\32\uffea\1\5\5\uffea\1\5\1" +
+		"\uffea\1\5\6\uffea\1\5\65\uffb1\11\uffad\1\17\33\uffad\1\17\5\uffad\1\17\1\uffad" +
+		"\1\17\1\ufffc\1\12\3\uffad\1\12\1\17\65\uffad\11\uffea\1\15\25\uffea\2\14\4\uffea" +
+		"\1\15\5\uffea\1\15\1\uffea\1\15\6\uffea\1\15\11\uffea\1\15\33\uffea\1\15\5\uffea" +
+		"\1\15\1\uffea\1\15\6\uffea\1\15\11\uffad\1\15\1\ufffb\32\uffad\1\15\5\uffad\1\15" +
+		"\1\uffad\1\15\1\uffad\1\12\3\uffad\1\12\1\15\11\uffea\1\15\1\16\32\uffea\1\15\5\uffea" +
+		"\1\15\1\uffea\1\15\6\uffea\1\15\11\uffad\1\17\1\ufffa\32\uffad\1\17\5\uffad\1\17" +
+		"\1\uffad\1\17\1\ufffc\1\12\3\uffad\1\12\1\17\11\uffea\1\17\1\20\32\uffea\1\17\5\uffea" +
+		"\1\17\1\uffea\1\17\6\uffea\1\17\11\uffea\1\1\1\21\32\uffea\1\1\5\uffea\1\1\1\uffea" +
+		"\1\1\6\uffea\1\1\65\uff75\26\uff84\1\24\36\uff84\65\uff79\26\uff85\1\26\36\uff85" +
+		"\65\uff7a\26\uff8a\1\31\11\uff8a\1\30\24\uff8a\65\uff8c\65\uff7f\26\uff8b\1\34\10" +
+		"\uff8b\1\33\25\uff8b\65\uff8d\65\uff80\26\uff86\1\37\7\uff86\1\36\26\uff86\65\uff8e" +
+		"\65\uff7b\26\uff87\1\42\6\uff87\1\41\27\uff87\65\uff8f\65\uff7c\65\uff94\65\uff95" +
+		"\65\uff96\26\uff97\1\47\36\uff97\65\uff90\26\uff98\1\53\1\uff98\1\51\34\uff98\26" +
+		"\uff83\1\52\36\uff83\65\uff78\65\uff92\26\uff99\1\61\1\55\35\uff99\26\uff82\1\60" +
+		"\1\56\35\uff82\26\uff81\1\57\36\uff81\65\uff76\65\uff77\65\uff91\26\uff9a\1\63\36" +
+		"\uff9a\65\uff93\65\uff9d\65\uff9e\65\uff9f\65\uffa0\65\uffa1\65\uffa2\65\uffa3\65" +
+		"\uffa4\1\uffea\1\74\1\76\2\74\2\uffea\6\74\1\75\47\74\65\uffa6\2\uffea\1\74\1\77" +
+		"\5\uffea\1\74\2\uffea\2\74\35\uffea\1\74\1\uffea\1\74\3\uffea\4\74\3\uffea\1\77\5" +
+		"\uffea\1\100\33\uffea\2\100\4\uffea\5\100\2\uffea\3\100\11\uffea\1\101\33\uffea\2" +
+		"\101\4\uffea\5\101\2\uffea\3\101\11\uffea\1\102\33\uffea\2\102\4\uffea\5\102\2\uffea" +
+		"\3\102\11\uffea\1\74\33\uffea\2\74\4\uffea\5\74\2\uffea\3\74\1\uffea\1\114\1\104" +
+		"\2\114\2\uffea\5\114\1\uffea\50\114\2\uffea\1\114\1\110\5\uffea\1\107\2\uffea\2\114" +
+		"\35\uffea\1\105\1\uffea\1\107\3\uffea\3\114\1\107\11\uffea\1\114\2\uffea\1\106\36" +
+		"\uffea\1\114\1\uffea\1\114\6\uffea\1\114\65\uffa7\11\uffea\1\105\2\uffea\1\106\36" +
+		"\uffea\1\105\1\uffea\1\105\6\uffea\1\105\3\uffea\1\110\5\uffea\1\111\33\uffea\2\111" +
+		"\4\uffea\5\111\2\uffea\3\111\11\uffea\1\112\33\uffea\2\112\4\uffea\5\112\2\uffea" +
+		"\3\112\11\uffea\1\113\33\uffea\2\113\4\uffea\5\113\2\uffea\3\113\11\uffea\1\114\33" +
+		"\uffea\2\114\4\uffea\5\114\2\uffea\3\114\14\uffea\1\106\50\uffea\11\uff9c\1\17\1" +
+		"\uff9c\1\ufff9\31\uff9c\1\17\5\uff9c\1\17\1\uff9c\1\17\6\uff9c\1\17\13\uffea\1\117" +
+		"\51\uffea\65\uff9b\11\uffb1\1\145\1\ufff8\1\11\31\uffb1\1\ufff7\3\uffb1\1\10\1\ufff6" +
+		"\1\145\1\ufff5\1\145\1\ufffe\1\2\2\uffb1\1\ufff5\1\2\1\145\11\uffea\1\122\43\uffea" +
+		"\1\122\7\uffea\11\uffae\1\122\1\ufff4\36\uffae\1\123\3\uffae\1\122\74\uffae\11\uffea" +
+		"\1\122\1\124\42\uffea\1\122\20\uffea\1\136\1\uffea\1\126\31\uffea\2\136\4\uffea\5" +
+		"\136\2\uffea\3\136\11\uffea\1\127\33\uffea\2\127\4\uffea\5\127\2\uffea\3\127\11\uffea" +
+		"\1\127\1\135\32\uffea\2\127\4\uffea\5\127\1\130\1\uffea\3\127\11\uffea\1\132\25\uffea" +
+		"\2\131\4\uffea\1\132\5\uffea\1\132\1\uffea\1\132\6\uffea\1\132\11\uffea\1\132\33" +
+		"\uffea\1\132\5\uffea\1\132\1\uffea\1\132\6\uffea\1\132\11\uffaa\1\132\1\ufff3\32" +
+		"\uffaa\1\132\5\uffaa\1\132\1\uffaa\1\132\1\uffaa\1\133\3\uffaa\1\133\1\132\65\uffaa" +
+		"\11\uffea\1\132\1\134\32\uffea\1\132\5\uffea\1\132\1\uffea\1\132\6\uffea\1\132\11" +
+		"\uffea\1\127\1\135\32\uffea\2\127\4\uffea\5\127\2\uffea\3\127\11\uffb0\1\136\1\ufff2" +
+		"\1\ufff1\31\uffb0\2\136\2\uffb0\1\137\1\uffb0\5\136\1\ufff0\1\uffb0\3\136\65\uffb0" +
+		"\11\uffea\1\127\33\uffea\2\127\4\uffea\5\127\1\130\1\uffea\3\127\11\uffea\1\136\1" +
+		"\141\32\uffea\2\136\4\uffea\5\136\2\uffea\3\136\11\uffea\1\142\1\143\1\11\31\uffea" +
+		"\1\142\5\uffea\1\142\1\uffea\1\142\1\3\1\2\3\uffea\1\2\1\142\11\uffea\1\142\1\143" +
+		"\32\uffea\1\142\5\uffea\1\142\1\uffea\1\142\6\uffea\1\142\11\uffea\1\145\1\144\32" +
+		"\uffea\1\142\5\uffea\1\145\1\uffea\1\145\6\uffea\1\145\11\uffaf\1\145\1\uffef\1\11" +
+		"\31\uffaf\1\uffee\3\uffaf\1\146\1\uffaf\1\145\1\uffaf\1\145\1\uffed\1\2\3\uffaf\1" +
+		"\2\1\145\65\uffaf\26\uff89\1\150\36\uff89\65\uff7e\7\uff88\1\156\1\uffec\15\uff88" +
+		"\1\152\36\uff88\65\uff7d\1\uffea\7\153\1\154\54\153\1\uffea\6\153\1\155\1\154\54" +
+		"\153\65\uffe4\1\uffe5\4\156\2\uffe5\56\156\73\uffe6\1\157\56\uffe6\65\uffe7\2\uffe8" +
+		"\1\uffeb\1\162\5\uffe8\2\162\31\uffe8\4\162\1\uffe8\14\162\3\uffea\1\164\64\uffea" +
+		"\1\164\5\uffea\1\165\33\uffea\2\165\4\uffea\5\165\2\uffea\3\165\11\uffea\1\166\33" +
+		"\uffea\2\166\4\uffea\5\166\2\uffea\3\166\11\uffea\1\167\33\uffea\2\167\4\uffea\5" +
+		"\167\2\uffea\3\167\11\uffea\1\162\33\uffea\2\162\4\uffea\5\162\2\uffea\3\162");
 
 	private static short[] unpack_vc_short(int size, String... st) {
 		short[] res = new short[size];
@@ -2,6 +2,7 @@ package org.textmapper.templates.java;
 
 import java.io.IOException;
 import java.text.MessageFormat;
+import java.util.Arrays;
 import org.textmapper.templates.java.JavaLexer.ErrorReporter;
 import org.textmapper.templates.java.JavaLexer.Span;
 import org.textmapper.templates.java.JavaLexer.Tokens;
@@ -2962,7 +2963,10 @@ public class JavaParser {
 	}
 
 	protected void shift() throws IOException {
-		tmStack[++tmHead] = tmNext;
+		if (++tmHead == tmStack.length) {
+			growStack();
+		}
+		tmStack[tmHead] = tmNext;
 		tmStack[tmHead].state = gotoState(tmStack[tmHead - 1].state, tmNext.symbol);
 		if (DEBUG_SYNTAX) {
 			System.out.println(MessageFormat.format("shift: {0} ({1})", tmSymbolNames[tmNext.symbol], tmLexer.tokenText()));
@@ -2988,10 +2992,17 @@ public class JavaParser {
 		for (int e = tmRuleLen[rule]; e > 0; e--) {
 			tmStack[tmHead--] = null;
 		}
-		tmStack[++tmHead] = left;
+		if (++tmHead == tmStack.length) {
+			growStack();
+		}
+		tmStack[tmHead] = left;
 		tmStack[tmHead].state = gotoState(tmStack[tmHead - 1].state, left.symbol);
 	}
 
+	protected void growStack() {
+		tmStack = Arrays.copyOf(tmStack, tmStack.length * 2);
+	}
+
 	@SuppressWarnings("unchecked")
 	protected void applyRule(Span tmLeft, int ruleIndex, int ruleLength) {
 	}
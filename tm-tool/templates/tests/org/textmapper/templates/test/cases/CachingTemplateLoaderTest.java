@@ -0,0 +1,54 @@
+/**
+ * Copyright 2002-2017 Evgeny Gryaznov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.textmapper.templates.test.cases;
+
+import org.junit.Test;
+import org.textmapper.templates.bundle.CachingTemplateLoader;
+import org.textmapper.templates.bundle.TemplatesBundle;
+import org.textmapper.templates.storage.IResourceLoader;
+import org.textmapper.templates.storage.Resource;
+import org.textmapper.templates.storage.ResourceRegistry;
+
+import java.net.URI;
+
+import static org.junit.Assert.*;
+
+public class CachingTemplateLoaderTest {
+
+	private String contents = "${template a}A${end}";
+
+	@Test
+	public void testCaching() {
+		IResourceLoader resourceLoader = (qualifiedName, kind) ->
+				qualifiedName.equals("test") && kind.equals(IResourceLoader.KIND_TEMPLATE)
+						? new Resource(URI.create("mem:test.ltp"), contents)
+						: null;
+		CachingTemplateLoader loader = new CachingTemplateLoader(new ResourceRegistry(resourceLoader));
+		TestProblemCollector collector = new TestProblemCollector();
+
+		TemplatesBundle[] first = loader.load("test", collector);
+		assertNotNull(first);
+		assertEquals(1, first.length);
+		assertSame(first, loader.load("test", collector));
+		assertNull(loader.load("unknown", collector));
+
+		contents = "${template a}B${end}";
+		TemplatesBundle[] changed = loader.load("test", collector);
+		assertNotSame(first, changed);
+		assertSame(changed, loader.load("test", collector));
+		collector.assertEmptyErrors();
+	}
+}
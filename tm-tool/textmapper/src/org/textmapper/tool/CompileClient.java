@@ -0,0 +1,128 @@
+/**
+ * Copyright 2002-2017 Evgeny Gryaznov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.textmapper.tool;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Thin client for {@link CompileServer}: starts the server in a separate process once and sends
+ * it compile requests, so that integrations don't pay the JVM startup and template loading on
+ * every run. Not thread-safe.
+ */
+public class CompileClient implements Closeable {
+
+	private final Process process;
+	private final Writer requests;
+	private final BufferedReader responses;
+
+	public CompileClient(List<String> command) throws IOException {
+		process = new ProcessBuilder(command).redirectError(ProcessBuilder.Redirect.INHERIT).start();
+		requests = new BufferedWriter(new OutputStreamWriter(process.getOutputStream(), StandardCharsets.UTF_8));
+		responses = new BufferedReader(new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * Starts the server with the Java executable and the class path of the current JVM.
+	 */
+	public static CompileClient start() throws IOException {
+		String java = new File(System.getProperty("java.home"), "bin" + File.separator + "java").getPath();
+		return new CompileClient(Arrays.asList(java, "-cp", System.getProperty("java.class.path"),
+				Tool.class.getName(), "--server"));
+	}
+
+	/**
+	 * Compiles with the given command line arguments, as if the tool was started in workingDir.
+	 */
+	public Result compile(File workingDir, String... args) throws IOException {
+		for (String arg : args) {
+			if (arg.indexOf('\n') >= 0 || arg.indexOf('\r') >= 0) {
+				throw new IllegalArgumentException("line break in argument: " + arg);
+			}
+		}
+		StringBuilder request = new StringBuilder();
+		request.append("compile ").append(args.length).append('\n');
+		request.append(workingDir.getAbsolutePath()).append('\n');
+		for (String arg : args) {
+			request.append(arg).append('\n');
+		}
+		requests.write(request.toString());
+		requests.flush();
+
+		List<String> out = new ArrayList<>();
+		List<String> err = new ArrayList<>();
+		String line;
+		while ((line = responses.readLine()) != null) {
+			if (line.startsWith("exit ")) {
+				return new Result(Integer.parseInt(line.substring(5)), out, err);
+			} else if (line.startsWith("out ")) {
+				out.add(line.substring(4));
+			} else if (line.startsWith("err ")) {
+				err.add(line.substring(4));
+			} else {
+				throw new IOException("unexpected response: " + line);
+			}
+		}
+		throw new EOFException("server has terminated");
+	}
+
+	@Override
+	public void close() throws IOException {
+		try {
+			requests.write("quit\n");
+			requests.close();
+			process.waitFor();
+		} catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+		} finally {
+			responses.close();
+			process.destroy();
+		}
+	}
+
+	public static class Result {
+		private final int exitCode;
+		private final List<String> out;
+		private final List<String> err;
+
+		Result(int exitCode, List<String> out, List<String> err) {
+			this.exitCode = exitCode;
+			this.out = out;
+			this.err = err;
+		}
+
+		public int getExitCode() {
+			return exitCode;
+		}
+
+		/**
+		 * Lines printed to the standard output.
+		 */
+		public List<String> getOut() {
+			return out;
+		}
+
+		/**
+		 * Lines printed to the standard error.
+		 */
+		public List<String> getErr() {
+			return err;
+		}
+	}
+}
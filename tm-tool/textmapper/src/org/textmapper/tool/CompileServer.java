@@ -0,0 +1,162 @@
+/**
+ * Copyright 2002-2017 Evgeny Gryaznov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.textmapper.tool;
+
+import org.textmapper.tool.common.FileBasedStrategy;
+import org.textmapper.tool.gen.SharedTemplates;
+import org.textmapper.tool.gen.TMOptions;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Long-running compilation mode of the tool. Keeps the JVM, parsed templates and Unicode tables
+ * warm between requests; templates loaded from include folders are re-parsed when their contents
+ * change. Requests are processed one at a time, using a line-based UTF-8 protocol:
+ * <pre>
+ * request:   compile &lt;argc&gt;
+ *            &lt;working directory&gt;
+ *            &lt;argument&gt;          (argc lines)
+ *        or  quit
+ * response:  out &lt;line&gt; | err &lt;line&gt; (in the order they were printed)
+ *            exit &lt;code&gt;
+ * </pre>
+ *
+ * @see CompileClient
+ */
+public class CompileServer {
+
+	private final Map<String, SharedTemplates> templates = new HashMap<>();
+
+	public void serve(InputStream input, OutputStream output) throws IOException {
+		BufferedReader in = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+		Writer out = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+		String line;
+		while ((line = in.readLine()) != null && !line.equals("quit")) {
+			Transcript transcript = new Transcript();
+			int exitCode;
+			String[] args = line.startsWith("compile ") ? readArguments(line.substring(8), in) : null;
+			if (args != null) {
+				File workingDir = new File(args[0]);
+				String[] toolArgs = new String[args.length - 1];
+				System.arraycopy(args, 1, toolArgs, 0, toolArgs.length);
+				exitCode = compile(workingDir, toolArgs, transcript);
+			} else {
+				transcript.err.println("textmapper: malformed request: " + line);
+				exitCode = 2;
+			}
+			transcript.close();
+			out.write(transcript.lines.toString());
+			out.write("exit " + exitCode + "\n");
+			out.flush();
+		}
+	}
+
+	private static String[] readArguments(String count, BufferedReader in) throws IOException {
+		int argc;
+		try {
+			argc = Integer.parseInt(count.trim());
+		} catch (NumberFormatException ex) {
+			return null;
+		}
+		if (argc < 0) {
+			return null;
+		}
+		String[] result = new String[argc + 1];
+		for (int i = 0; i < result.length; i++) {
+			result[i] = in.readLine();
+			if (result[i] == null) {
+				throw new EOFException("unexpected end of request");
+			}
+		}
+		return result;
+	}
+
+	private int compile(File workingDir, String[] args, Transcript transcript) {
+		if (!workingDir.isAbsolute() || !workingDir.isDirectory()) {
+			transcript.err.println("textmapper: not a directory: " + workingDir);
+			return 1;
+		}
+		try {
+			return Tool.run(args, workingDir, null, transcript.out, transcript.err, this::sharedTemplates);
+		} catch (RuntimeException | Error ex) {
+			transcript.err.println("textmapper: internal error: " + ex);
+			return 1;
+		}
+	}
+
+	private SharedTemplates sharedTemplates(TMOptions options) {
+		String key = options.isUseDefaultTemplates() + ";" + String.join(";", options.getIncludeFolders());
+		return templates.computeIfAbsent(key, k -> new SharedTemplates(options, new FileBasedStrategy(null)));
+	}
+
+	/**
+	 * Collects the output of a request as tagged lines.
+	 */
+	private static class Transcript {
+		private final StringBuilder lines = new StringBuilder();
+		private final PrintStream out = utf8Stream(new LineStream("out"));
+		private final PrintStream err = utf8Stream(new LineStream("err"));
+
+		private static PrintStream utf8Stream(OutputStream os) {
+			try {
+				return new PrintStream(os, true, "UTF-8");
+			} catch (UnsupportedEncodingException ex) {
+				throw new IllegalStateException(ex);
+			}
+		}
+
+		void close() {
+			out.close();
+			err.close();
+		}
+
+		private class LineStream extends OutputStream {
+			private final String tag;
+			private final ByteArrayOutputStream line = new ByteArrayOutputStream();
+
+			LineStream(String tag) {
+				this.tag = tag;
+			}
+
+			@Override
+			public void write(int b) {
+				if (b == '\n') {
+					flushLine();
+				} else if (b != '\r') {
+					line.write(b);
+				}
+			}
+
+			@Override
+			public void close() {
+				if (line.size() > 0) {
+					flushLine();
+				}
+			}
+
+			private void flushLine() {
+				synchronized (lines) {
+					lines.append(tag).append(' ')
+							.append(new String(line.toByteArray(), StandardCharsets.UTF_8)).append('\n');
+				}
+				line.reset();
+			}
+		}
+	}
+}
@@ -15,15 +15,22 @@
  */
 package org.textmapper.tool;
 
+import org.textmapper.lapg.api.ProcessingStatus;
 import org.textmapper.lapg.common.AbstractProcessingStatus;
 import org.textmapper.lapg.common.FileUtil;
 import org.textmapper.tool.common.FileBasedStrategy;
 import org.textmapper.tool.common.GeneratedFile;
+import org.textmapper.tool.gen.SharedTemplates;
 import org.textmapper.tool.gen.TMGenerator;
 import org.textmapper.tool.gen.TMOptions;
 import org.textmapper.tool.parser.TMTree.TextSource;
 
 import java.io.*;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.function.Function;
 
 /**
  * Main console entry point for the Textmapper engine.
@@ -36,7 +43,8 @@ public class Tool {
 	public static final String HELP_MESSAGE =
 			"textmapper - Lexer and Parser generator\n" +
 					"usage: textmapper [OPTIONS]... [inputfile]\n" +
-					"       textmapper [-h|-v]\n" +
+					"       textmapper -b [OPTIONS]... (file|directory)...\n" +
+					"       textmapper [-h|-v|--server]\n" +
 					"\n" +
 					"Options:\n" +
 					TMOptions.HELP_OPTIONS +
@@ -44,6 +52,7 @@ public class Tool {
 					"Operations:\n" +
 					"  -h,  --help                    display this help\n" +
 					"  -v,  --version                 version information\n" +
+					"       --server                  run as a compile server on stdin/stdout\n" +
 					"\n" +
 					"Defaults:\n" +
 					"  inputfile = .tm file in the current directory (if single)\n";
@@ -63,35 +72,69 @@ public class Tool {
 				System.out.println(VERSION_MESSAGE);
 				return;
 			}
+			if (args[0].equals("--server") && args.length == 1) {
+				try {
+					new CompileServer().serve(System.in, System.out);
+				} catch (IOException ex) {
+					System.err.println("textmapper: IO error: " + ex.getMessage());
+					System.exit(1);
+				}
+				return;
+			}
 		}
 
-		TMOptions options = TMOptions.parseArguments(args, System.err);
+		int exitCode = run(args, null, System.in, System.out, System.err, null);
+		if (exitCode != 0) {
+			System.exit(exitCode);
+		}
+	}
+
+	/**
+	 * Runs the tool as if it was started from the command line.
+	 *
+	 * @param workingDir directory to resolve relative paths against, or null for the current one
+	 * @param stdin      source of the grammar for the "-" input, or null if not available
+	 * @param templates  provides templates shared between runs, or null
+	 * @return exit code
+	 */
+	static int run(String[] args, File workingDir, InputStream stdin, PrintStream out, PrintStream err,
+				   Function<TMOptions, SharedTemplates> templates) {
+		TMOptions options = TMOptions.parseArguments(args, err);
 		if (options == null) {
-			System.err.println("Try 'textmapper --help' for more information.");
-			System.exit(1);
-			return;
+			err.println("Try 'textmapper --help' for more information.");
+			return 1;
+		}
+		if (workingDir != null) {
+			resolvePaths(options, workingDir);
 		}
 
-		File outputDir = options.getOutputDirectory() == null ? null : new File(options.getOutputDirectory());
+		File outputDir = options.getOutputDirectory() == null ? workingDir : new File(options.getOutputDirectory());
 		if (outputDir != null && !outputDir.isDirectory()) {
-			System.err.println("textmapper: not a directory: " + options.getOutputDirectory());
-			System.exit(1);
-			return;
+			err.println("textmapper: not a directory: " + options.getOutputDirectory());
+			return 1;
+		}
+
+		if (options.isBatch()) {
+			SharedTemplates shared = templates != null
+					? templates.apply(options)
+					: new SharedTemplates(options, new FileBasedStrategy(outputDir));
+			return compileBatch(options, options.getOutputDirectory() == null ? null : outputDir,
+					out, err, shared) ? 0 : 1;
 		}
 
 		if (options.getInput() == null) {
-			File[] grammars = new File(".").listFiles(pathname -> pathname.isFile() && pathname.getName().endsWith(".tm"));
+			File[] grammars = (workingDir != null ? workingDir : new File("."))
+					.listFiles(pathname -> pathname.isFile() && pathname.getName().endsWith(".tm"));
 			if (grammars == null || grammars.length != 1) {
 				if (grammars == null || grammars.length == 0) {
-					System.err.println("textmapper: no syntax files found, please specify");
+					err.println("textmapper: no syntax files found, please specify");
 				} else {
-					System.err.println("textmapper: " + grammars.length + " syntax files found, please specify");
+					err.println("textmapper: " + grammars.length + " syntax files found, please specify");
 				}
-				System.err.println("Try 'textmapper --help' for more information.");
-				System.exit(1);
-				return;
+				err.println("Try 'textmapper --help' for more information.");
+				return 1;
 			} else {
-				options.setInput(grammars[0].getName());
+				options.setInput(workingDir != null ? grammars[0].getPath() : grammars[0].getName());
 			}
 		}
 
@@ -101,42 +144,183 @@ public class Tool {
 			try {
 				stream = new FileInputStream(options.getInput());
 			} catch (FileNotFoundException ex) {
-				System.err.println("textmapper: file not found: " + options.getInput());
-				System.exit(1);
-				return;
+				err.println("textmapper: file not found: " + options.getInput());
+				return 1;
 			}
+		} else if (stdin != null) {
+			stream = stdin;
 		} else {
-			stream = System.in;
+			err.println("textmapper: cannot read the standard input");
+			return 1;
 		}
 		String contents = FileUtil.getFileContents(stream, FileUtil.DEFAULT_ENCODING);
 		if (contents == null) {
-			System.err.println("textmapper: cannot read file: " + options.getInput());
-			System.exit(1);
-			return;
+			err.println("textmapper: cannot read file: " + options.getInput());
+			return 1;
 		}
 
-		ConsoleStatus status = createStatus(options.getDebug());
+		String debugPrefix = workingDir != null ? workingDir.getPath() + File.separator : "";
+		ConsoleStatus status = createStatus(options.getDebug(), out, err, debugPrefix);
 		boolean success;
 		try {
 			TextSource input = new TextSource(options.getInput(), contents, 1);
 			FileBasedStrategy strategy = new FileBasedStrategy(outputDir);
 
-			success = new TMGenerator(options, status, strategy).compileGrammar(input, false);
+			success = new TMGenerator(options, status, strategy, templates != null ? templates.apply(options) : null)
+					.compileGrammar(input, false);
 			if (status.hasErrors) {
 				success = false;
 			}
+			if (success) {
+				status.report(ProcessingStatus.KIND_INFO, "files: " + strategy.getWritten() + " written, "
+						+ strategy.getUnchanged() + " unchanged");
+			}
+		} finally {
+			status.dispose();
+		}
+		return success ? 0 : 1;
+	}
+
+	private static void resolvePaths(TMOptions options, File workingDir) {
+		if (options.getInput() != null && !options.getInput().equals("-")) {
+			options.setInput(resolve(workingDir, options.getInput()));
+		}
+		if (options.getOutputDirectory() != null) {
+			options.setOutputDirectory(resolve(workingDir, options.getOutputDirectory()));
+		}
+		if (options.getCacheDirectory() != null) {
+			options.setCacheDirectory(resolve(workingDir, options.getCacheDirectory()));
+		}
+		options.getIncludeFolders().replaceAll(path -> resolve(workingDir, path));
+		options.getInputs().replaceAll(path -> resolve(workingDir, path));
+	}
+
+	private static String resolve(File workingDir, String path) {
+		return new File(path).isAbsolute() ? path : new File(workingDir, path).getPath();
+	}
+
+	/**
+	 * Compiles all grammars found in the given files and directories, using a fixed thread pool.
+	 * Reports are buffered per grammar and printed in the order of inputs.
+	 */
+	private static boolean compileBatch(TMOptions options, File outputDir, PrintStream out, PrintStream err,
+										SharedTemplates shared) {
+		List<File> grammars = new ArrayList<>();
+		for (String input : options.getInputs()) {
+			File f = new File(input);
+			if (f.isDirectory()) {
+				collectGrammars(f, grammars);
+			} else if (f.isFile()) {
+				grammars.add(f);
+			} else {
+				err.println("textmapper: file not found: " + input);
+				return false;
+			}
+		}
+		if (grammars.isEmpty()) {
+			err.println("textmapper: no syntax files found");
+			return false;
+		}
+
+		int jobs = options.getJobs() > 0 ? options.getJobs() : Runtime.getRuntime().availableProcessors();
+		ExecutorService executor = Executors.newFixedThreadPool(Math.min(jobs, grammars.size()));
+		List<Future<BatchResult>> results = new ArrayList<>();
+		for (File grammar : grammars) {
+			results.add(executor.submit(() -> compileOne(grammar, options, outputDir, shared)));
+		}
+		executor.shutdown();
+
+		int failed = 0;
+		for (int i = 0; i < grammars.size(); i++) {
+			BatchResult r;
+			try {
+				r = results.get(i).get();
+			} catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+				executor.shutdownNow();
+				return false;
+			} catch (ExecutionException ex) {
+				r = new BatchResult(false, 0, "", "textmapper: internal error: " + ex.getCause() + "\n");
+			}
+			out.print(r.out);
+			err.print(r.err);
+			out.println(grammars.get(i).getPath() + ": " + (r.success ? "ok" : "failed")
+					+ " (" + r.millis + " ms)");
+			if (!r.success) {
+				failed++;
+			}
+		}
+		out.println("textmapper: " + grammars.size() + " grammar(s), " + failed + " failed");
+		return failed == 0;
+	}
+
+	private static void collectGrammars(File dir, List<File> result) {
+		File[] files = dir.listFiles();
+		if (files == null) {
+			return;
+		}
+		Arrays.sort(files);
+		for (File f : files) {
+			if (f.isDirectory()) {
+				collectGrammars(f, result);
+			} else if (f.isFile() && f.getName().endsWith(".tm")) {
+				result.add(f);
+			}
+		}
+	}
+
+	private static BatchResult compileOne(File grammar, TMOptions options, File outputDir,
+										  SharedTemplates shared) {
+		long start = System.currentTimeMillis();
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		ByteArrayOutputStream err = new ByteArrayOutputStream();
+		String debugPrefix = grammar.getPath() + ".";
+		ConsoleStatus status = createStatus(options.getDebug(), new PrintStream(out), new PrintStream(err),
+				debugPrefix);
+		boolean success = false;
+		try {
+			String contents = FileUtil.getFileContents(new FileInputStream(grammar), FileUtil.DEFAULT_ENCODING);
+			if (contents == null) {
+				status.report(ProcessingStatus.KIND_ERROR, "textmapper: cannot read file: " + grammar.getPath());
+			} else {
+				TextSource input = new TextSource(grammar.getPath(), contents, 1);
+				FileBasedStrategy strategy = new FileBasedStrategy(
+						outputDir != null ? outputDir : grammar.getAbsoluteFile().getParentFile());
+				success = new TMGenerator(options, status, strategy, shared).compileGrammar(input, false);
+				if (status.hasErrors) {
+					success = false;
+				}
+				if (success) {
+					status.report(ProcessingStatus.KIND_INFO, "files: " + strategy.getWritten() + " written, "
+							+ strategy.getUnchanged() + " unchanged");
+				}
+			}
+		} catch (FileNotFoundException ex) {
+			status.report(ProcessingStatus.KIND_ERROR, "textmapper: file not found: " + grammar.getPath());
 		} finally {
 			status.dispose();
 		}
-		if (!success) {
-			System.exit(1);
+		return new BatchResult(success, System.currentTimeMillis() - start, out.toString(), err.toString());
+	}
+
+	private static class BatchResult {
+		private final boolean success;
+		private final long millis;
+		private final String out, err;
+
+		BatchResult(boolean success, long millis, String out, String err) {
+			this.success = success;
+			this.millis = millis;
+			this.out = out;
+			this.err = err;
 		}
 	}
 
-	private static ConsoleStatus createStatus(int debuglev) {
-		new File(ConsoleStatus.OUT_ERRORS).delete();
-		new File(ConsoleStatus.OUT_TABLES).delete();
-		return new ConsoleStatus(debuglev);
+	private static ConsoleStatus createStatus(int debuglev, PrintStream out, PrintStream err,
+											  String debugPrefix) {
+		new File(debugPrefix + ConsoleStatus.OUT_ERRORS).delete();
+		new File(debugPrefix + ConsoleStatus.OUT_TABLES).delete();
+		return new ConsoleStatus(debuglev, out, err, debugPrefix);
 	}
 
 	private static class ConsoleStatus extends AbstractProcessingStatus {
@@ -144,11 +328,16 @@ public class Tool {
 		static final String OUT_ERRORS = "errors";
 		static final String OUT_TABLES = "tables";
 
+		private final PrintStream out, err;
+		private final String debugPrefix;
 		private PrintStream debug, warn;
 		private boolean hasErrors = false;
 
-		public ConsoleStatus(int debuglev) {
+		public ConsoleStatus(int debuglev, PrintStream out, PrintStream err, String debugPrefix) {
 			super(debuglev >= TMOptions.DEBUG_TABLES, debuglev >= TMOptions.DEBUG_AMBIG);
+			this.out = out;
+			this.err = err;
+			this.debugPrefix = debugPrefix;
 			debug = null;
 			warn = null;
 		}
@@ -159,20 +348,20 @@ public class Tool {
 
 		private PrintStream openFile(String name) {
 			try {
-				return new PrintStream(new FileOutputStream(name));
+				return new PrintStream(new FileOutputStream(debugPrefix + name));
 			} catch (FileNotFoundException ex) {
 				handle(KIND_ERROR, "textmapper: IO error: " + ex.getMessage());
-				return System.err;
+				return err;
 			}
 		}
 
 		@Override
 		public void handle(int kind, String text) {
 			if (kind == KIND_ERROR || kind == KIND_FATAL) {
-				System.err.print(text);
+				err.print(text);
 				hasErrors = true;
 			} else if (kind == KIND_INFO) {
-				System.out.print(text);
+				out.print(text);
 			} else if (kind == KIND_DEBUG) {
 				if (!isDebugMode()) {
 					return;
@@ -194,9 +383,9 @@ public class Tool {
 
 		@Override
 		public void report(String message, Throwable th) {
-			System.err.print(message + "\n");
+			err.print(message + "\n");
 			if (th != null && isDebugMode()) {
-				th.printStackTrace(System.err);
+				th.printStackTrace(err);
 			}
 		}
 
@@ -27,15 +27,35 @@ import java.util.Map;
 public class FileBasedStrategy implements ProcessingStrategy {
 
 	private final File rootFolder;
+	private int written;
+	private int unchanged;
 
 	public FileBasedStrategy(File rootFolder) {
 		this.rootFolder = rootFolder;
 	}
 
+	/**
+	 * Number of files written to disk.
+	 */
+	public int getWritten() {
+		return written;
+	}
+
+	/**
+	 * Number of files which were generated with the same contents, and left untouched.
+	 */
+	public int getUnchanged() {
+		return unchanged;
+	}
+
 	@Override
 	public void createFile(String name, String contents, Map<String, Object> options, ProcessingStatus status) {
 		try {
-			new GeneratedFile(rootFolder, name, contents, options).create();
+			if (new GeneratedFile(rootFolder, name, contents, options).update()) {
+				written++;
+			} else {
+				unchanged++;
+			}
 		} catch (IOException e) {
 			status.report(ProcessingStatus.KIND_ERROR, "cannot create file `" + name + "': " + e.getMessage());
 		}
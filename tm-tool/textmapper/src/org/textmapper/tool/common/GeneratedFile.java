@@ -17,10 +17,10 @@ package org.textmapper.tool.common;
 
 import org.textmapper.lapg.common.FileUtil;
 
-import java.io.File;
-import java.io.FileOutputStream;
-import java.io.IOException;
-import java.io.OutputStream;
+import java.io.*;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
 import java.util.Map;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -67,11 +67,61 @@ public class GeneratedFile {
 	}
 
 	public void create() throws IOException {
+		update();
+	}
+
+	/**
+	 * Writes the file unless it already has the same contents, so that unchanged files keep
+	 * their timestamps. The new contents replace the old ones atomically.
+	 *
+	 * @return true if the file was written
+	 */
+	public boolean update() throws IOException {
 		checkName(name);
-		OutputStream os = new FileOutputStream(new File(baseFolder, name));
-		String data = getData();
-		os.write(data.getBytes(charset));
-		os.close();
+		File file = new File(baseFolder, name);
+		if (file.isDirectory()) {
+			throw new FileNotFoundException(file.getPath() + " (Is a directory)");
+		}
+		byte[] data = getData().getBytes(charset);
+		if (file.isFile() && file.length() == data.length && hasContents(file, data)) {
+			return false;
+		}
+
+		File temp = new File(file.getParentFile(), "." + file.getName() + "." + System.nanoTime() + ".tmp");
+		try {
+			try (OutputStream os = new FileOutputStream(temp)) {
+				os.write(data);
+			}
+			try {
+				Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING,
+						StandardCopyOption.ATOMIC_MOVE);
+			} catch (AtomicMoveNotSupportedException ex) {
+				Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+			}
+		} finally {
+			temp.delete();
+		}
+		return true;
+	}
+
+	private static boolean hasContents(File file, byte[] data) {
+		try (InputStream is = new FileInputStream(file)) {
+			byte[] buffer = new byte[8192];
+			int offset = 0;
+			for (int len; (len = is.read(buffer)) > 0; offset += len) {
+				if (offset + len > data.length) {
+					return false;
+				}
+				for (int i = 0; i < len; i++) {
+					if (buffer[i] != data[offset + i]) {
+						return false;
+					}
+				}
+			}
+			return offset == data.length;
+		} catch (IOException ex) {
+			return false;
+		}
 	}
 
 	protected void checkName(String name) throws IOException {
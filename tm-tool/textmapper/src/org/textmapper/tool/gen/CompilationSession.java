@@ -0,0 +1,145 @@
+/**
+ * Copyright 2002-2017 Evgeny Gryaznov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.textmapper.tool.gen;
+
+import org.textmapper.lapg.api.ParserConflict;
+import org.textmapper.lapg.api.ProcessingStatus;
+import org.textmapper.lapg.api.SourceElement;
+import org.textmapper.tool.common.FileBasedStrategy;
+import org.textmapper.tool.parser.TMTree.TextSource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+
+/**
+ * Validates successive versions of a grammar (e.g. on every edit in an editor), reusing the
+ * results of previous runs where their inputs did not change:
+ * <ul>
+ * <li>the same text and options: diagnostics of the previous run are reported again,
+ * without compiling;</li>
+ * <li>parser tables are rebuilt only when symbols, rules, priorities or inputs change, so
+ * edits in semantic actions and lexer rules reuse them;</li>
+ * <li>lexer tables are rebuilt only when lexer rules, states or patterns change;</li>
+ * <li>templates are parsed once, and again when their sources change.</li>
+ * </ul>
+ * Parsing, resolution (including sets) and action templates always rerun, as the resolved grammar
+ * refers to offsets in the text. Instances are safe for use from several threads.
+ */
+public class CompilationSession {
+
+	private static final int TABLES_CAPACITY = 8;
+
+	private final TablesCache tables = new TablesCache(TABLES_CAPACITY);
+	private String templatesKey;
+	private SharedTemplates templates;
+
+	private String lastKey;
+	private List<Consumer<ProcessingStatus>> lastReports;
+	private boolean lastResult;
+
+	/**
+	 * Runs {@link TMGenerator#compileGrammar(TextSource, boolean)} in the check-only mode.
+	 */
+	public synchronized boolean validate(TextSource input, TMOptions options, ProcessingStatus status) {
+		String key = options.getIncludeFolders().isEmpty() && !status.isDebugMode()
+				? input.getFile() + "," + input.getInitialLine() + "\n" + optionsKey(options) + "\n"
+						+ input.getContents()
+				: null;
+		if (key != null && key.equals(lastKey)) {
+			lastReports.forEach(r -> r.accept(status));
+			return lastResult;
+		}
+
+		RecordingStatus recording = new RecordingStatus(status);
+		FileBasedStrategy strategy = new FileBasedStrategy(null) {
+			@Override
+			public void createFile(String name, String contents, Map<String, Object> options, ProcessingStatus status) {
+				throw new UnsupportedOperationException();
+			}
+		};
+		String resourcesKey = options.isUseDefaultTemplates() + ";" + String.join(";", options.getIncludeFolders());
+		if (!resourcesKey.equals(templatesKey)) {
+			templates = new SharedTemplates(options, strategy);
+			templatesKey = resourcesKey;
+		}
+		boolean result = new TMGenerator(options, recording, strategy, templates, tables)
+				.compileGrammar(input, true);
+
+		lastKey = key;
+		lastReports = recording.reports;
+		lastResult = result;
+		return result;
+	}
+
+	TablesCache getTables() {
+		return tables;
+	}
+
+	private static String optionsKey(TMOptions options) {
+		return options.getTemplateName() + ";" + options.isUseDefaultTemplates() + ";"
+				+ new TreeMap<>(options.getAdditionalOptions());
+	}
+
+	/**
+	 * Passes reports through, and keeps them to be reported again.
+	 */
+	private static class RecordingStatus implements ProcessingStatus {
+		private final ProcessingStatus delegate;
+		private final List<Consumer<ProcessingStatus>> reports = new ArrayList<>();
+
+		RecordingStatus(ProcessingStatus delegate) {
+			this.delegate = delegate;
+		}
+
+		private void record(Consumer<ProcessingStatus> report) {
+			reports.add(report);
+			report.accept(delegate);
+		}
+
+		@Override
+		public void report(int kind, String message, SourceElement... anchors) {
+			record(s -> s.report(kind, message, anchors));
+		}
+
+		@Override
+		public void report(String message, Throwable th) {
+			record(s -> s.report(message, th));
+		}
+
+		@Override
+		public void report(ParserConflict conflict) {
+			record(s -> s.report(conflict));
+		}
+
+		@Override
+		public void debug(String info) {
+			delegate.debug(info);
+		}
+
+		@Override
+		public boolean isDebugMode() {
+			return delegate.isDebugMode();
+		}
+
+		@Override
+		public boolean isAnalysisMode() {
+			return delegate.isAnalysisMode();
+		}
+	}
+}
@@ -491,9 +491,34 @@ public class GrammarIxFactory extends JavaIxFactory {
 			if ("rangeTypes".equals(propertyName)) {
 				return TMDataUtil.getTypes(grammar);
 			}
+			if ("ruleRangeTypes".equals(propertyName)) {
+				return ruleRangeTypes();
+			}
 			return super.getProperty(caller, propertyName);
 		}
 
+		/**
+		 * For each rule, the 1-based index of its range type in rangeTypes, or 0.
+		 */
+		private int[] ruleRangeTypes() {
+			Map<String, Integer> index = new HashMap<>();
+			Collection<String> types = TMDataUtil.getTypes(grammar);
+			if (types != null) {
+				for (String type : types) {
+					index.put(type, index.size() + 1);
+				}
+			}
+			Rule[] rules = grammar.getRules();
+			int[] result = new int[rules.length];
+			for (int i = 0; i < rules.length; i++) {
+				RangeType rangeType = TMDataUtil.getRangeType(rules[i]);
+				if (rangeType != null && rangeType.getName() != null) {
+					result[i] = index.getOrDefault(rangeType.getName(), 0);
+				}
+			}
+			return result;
+		}
+
 		private boolean canInlineLexerRules() {
 			Map<Terminal, Boolean> seenSpaceRules = new HashMap<>();
 			Map<Terminal, Boolean> seenClassRules = new HashMap<>();
@@ -0,0 +1,290 @@
+/**
+ * Copyright 2002-2017 Evgeny Gryaznov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.textmapper.tool.gen;
+
+import java.util.*;
+
+/**
+ * Turns the action and goto tables into switch statements for code-generated parsers
+ * (tableStyle = "codegen"): a switch on the state, with a nested switch on the symbol where
+ * needed. States are split into chunks of 2^bits, one method per chunk, so that no generated
+ * method gets over the JIT's huge method limit. Nested switches that do not fit even into
+ * the smallest chunk get a method of their own.
+ */
+public class ParserSwitches {
+
+	/**
+	 * Estimated bytecode size of a single method, HotSpot does not compile methods over 8000 bytes.
+	 */
+	static final int METHOD_BUDGET = 6000;
+
+	public static class Case {
+		private final List<Integer> labels = new ArrayList<>();
+		private final int value;
+		private final List<Case> nested;
+		private boolean outlined;
+
+		Case(int value, List<Case> nested) {
+			this.value = value;
+			this.nested = nested;
+		}
+
+		public List<Integer> getLabels() {
+			return labels;
+		}
+
+		/**
+		 * The returned value, or the default of the nested switch.
+		 */
+		public int getValue() {
+			return value;
+		}
+
+		public List<Case> getNested() {
+			return nested;
+		}
+
+		/**
+		 * The nested switch goes into a separate method, named after the (only) label.
+		 */
+		public boolean getOutlined() {
+			return outlined;
+		}
+
+		int size() {
+			return nested == null || outlined ? 8 : switchSize(nested) + 4;
+		}
+	}
+
+	public static class Chunk {
+		private final int index;
+		private final List<Case> cases;
+		private final int defaultValue;
+
+		Chunk(int index, List<Case> cases, int defaultValue) {
+			this.index = index;
+			this.cases = cases;
+			this.defaultValue = defaultValue;
+		}
+
+		public int getIndex() {
+			return index;
+		}
+
+		public List<Case> getCases() {
+			return cases;
+		}
+
+		public int getDefaultValue() {
+			return defaultValue;
+		}
+
+		int size() {
+			return switchSize(cases) + 4;
+		}
+	}
+
+	public static class Table {
+		private final int bits;
+		private final List<Chunk> chunks;
+
+		Table(int bits, List<Chunk> chunks) {
+			this.bits = bits;
+			this.chunks = chunks;
+		}
+
+		public int getBits() {
+			return bits;
+		}
+
+		public List<Chunk> getChunks() {
+			return chunks;
+		}
+
+		public boolean isSplit() {
+			return chunks.size() > 1;
+		}
+	}
+
+	private interface CaseBuilder {
+		/**
+		 * Returns the case for the given state, or null if it has nothing to add to the chunk
+		 * default. Simple cases are merged by value.
+		 */
+		Case build(int i);
+	}
+
+	/**
+	 * Action switch over states, see tmAction() in java_parser.ltp for the table encoding.
+	 * With lazy, lookahead states return -3 - state for Unavailable_ (-1).
+	 */
+	public static Table actionSwitch(int[] action, int[] lalr, boolean lazy) {
+		return actionSwitch(action, lalr, lazy, METHOD_BUDGET);
+	}
+
+	static Table actionSwitch(int[] action, int[] lalr, boolean lazy, int budget) {
+		return split(action.length, i -> {
+			int a = action[i];
+			if (a >= -2) {
+				return new Case(a, null);
+			}
+			int p = -a - 3;
+			Map<Integer, Integer> entries = new LinkedHashMap<>();
+			if (lazy) {
+				entries.put(-1, -3 - i);
+			}
+			for (; lalr[p] >= 0; p += 2) {
+				entries.put(lalr[p], lalr[p + 1]);
+			}
+			List<Case> nested = group(entries, lalr[p + 1]);
+			return new Case(lalr[p + 1], nested.isEmpty() ? null : nested);
+		}, true, budget);
+	}
+
+	/**
+	 * Goto switch over states. Missing transitions return -1, which is how errors are detected.
+	 */
+	public static Table gotoSwitch(int[] symGoto, int[] symFromTo, int nstates) {
+		return gotoSwitch(symGoto, symFromTo, nstates, METHOD_BUDGET);
+	}
+
+	static Table gotoSwitch(int[] symGoto, int[] symFromTo, int nstates, int budget) {
+		List<Map<Integer, Integer>> transitions = new ArrayList<>(nstates);
+		for (int i = 0; i < nstates; i++) {
+			transitions.add(new LinkedHashMap<>());
+		}
+		for (int symbol = 0; symbol + 1 < symGoto.length; symbol++) {
+			for (int e = symGoto[symbol]; e < symGoto[symbol + 1]; e += 2) {
+				transitions.get(symFromTo[e]).put(symbol, symFromTo[e + 1]);
+			}
+		}
+		return split(nstates, state -> {
+			Map<Integer, Integer> entries = transitions.get(state);
+			return entries.isEmpty() ? null : new Case(-1, group(entries, -1));
+		}, false, budget);
+	}
+
+	private static Table split(int size, CaseBuilder builder, boolean simpleDefault, int budget) {
+		int bits = 4;
+		while ((1 << bits) < size) {
+			bits++;
+		}
+		while (true) {
+			List<Chunk> chunks = new ArrayList<>();
+			boolean fits = true;
+			for (int start = 0; start < size; start += 1 << bits) {
+				Chunk chunk = chunk(start >> bits, start, Math.min(size, start + (1 << bits)),
+						builder, simpleDefault);
+				fits &= chunk.size() <= budget;
+				chunks.add(chunk);
+			}
+			if (fits) {
+				return new Table(bits, chunks);
+			}
+			if (bits == 4) {
+				for (Chunk chunk : chunks) {
+					outline(chunk, budget);
+				}
+				return new Table(bits, chunks);
+			}
+			bits--;
+		}
+	}
+
+	private static Chunk chunk(int index, int start, int end, CaseBuilder builder, boolean simpleDefault) {
+		List<Case> cases = new ArrayList<>();
+		Map<Integer, Integer> simple = new LinkedHashMap<>();
+		for (int i = start; i < end; i++) {
+			Case c = builder.build(i);
+			if (c == null) {
+				continue;
+			}
+			if (c.nested == null) {
+				simple.put(i, c.value);
+			} else {
+				c.labels.add(i);
+				cases.add(c);
+			}
+		}
+		int defaultValue = simpleDefault && !simple.isEmpty() ? mostFrequent(simple.values()) : -1;
+		cases.addAll(group(simple, defaultValue));
+		cases.sort(Comparator.comparing(c -> c.labels.get(0)));
+		return new Chunk(index, cases, defaultValue);
+	}
+
+	private static void outline(Chunk chunk, int budget) {
+		List<Case> nested = new ArrayList<>();
+		for (Case c : chunk.cases) {
+			if (c.nested != null) {
+				nested.add(c);
+			}
+		}
+		nested.sort(Comparator.comparing(Case::size).reversed());
+		for (Case c : nested) {
+			if (chunk.size() <= budget) {
+				break;
+			}
+			c.outlined = true;
+		}
+	}
+
+	/**
+	 * Merges labels with the same value into one case, skipping the default.
+	 */
+	private static List<Case> group(Map<Integer, Integer> entries, int defaultValue) {
+		Map<Integer, Case> byValue = new LinkedHashMap<>();
+		for (Map.Entry<Integer, Integer> e : entries.entrySet()) {
+			if (e.getValue() == defaultValue) {
+				continue;
+			}
+			byValue.computeIfAbsent(e.getValue(), v -> new Case(v, null)).labels.add(e.getKey());
+		}
+		return new ArrayList<>(byValue.values());
+	}
+
+	/**
+	 * Estimated bytecode size of a switch, javac picks tableswitch when the labels are dense.
+	 */
+	private static int switchSize(List<Case> cases) {
+		int n = 0, min = Integer.MAX_VALUE, max = Integer.MIN_VALUE, size = 16;
+		for (Case c : cases) {
+			for (int label : c.labels) {
+				min = Math.min(min, label);
+				max = Math.max(max, label);
+				n++;
+			}
+			size += c.size();
+		}
+		if (n > 0) {
+			long range = (long) max - min + 1;
+			size += range <= 5L * n - 10 ? 4 * (int) range : 8 * n;
+		}
+		return size;
+	}
+
+	private static int mostFrequent(Collection<Integer> values) {
+		Map<Integer, Integer> count = new HashMap<>();
+		int result = -1, max = 0;
+		for (int v : values) {
+			int c = count.merge(v, 1, Integer::sum);
+			if (c > max) {
+				max = c;
+				result = v;
+			}
+		}
+		return result;
+	}
+}
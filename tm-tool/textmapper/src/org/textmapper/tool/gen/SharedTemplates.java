@@ -0,0 +1,43 @@
+/**
+ * Copyright 2002-2017 Evgeny Gryaznov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.textmapper.tool.gen;
+
+import org.textmapper.templates.bundle.CachingTemplateLoader;
+import org.textmapper.templates.bundle.IBundleLoader;
+import org.textmapper.templates.storage.ResourceRegistry;
+
+/**
+ * Templates shared by generators in the batch mode, so that they are loaded and parsed once for
+ * all grammars. Safe for concurrent use.
+ */
+public final class SharedTemplates {
+
+	private final ResourceRegistry resources;
+	private final IBundleLoader loader;
+
+	public SharedTemplates(TMOptions options, ProcessingStrategy strategy) {
+		this.resources = TMGenerator.createResourceRegistry(options, strategy);
+		this.loader = new CachingTemplateLoader(resources);
+	}
+
+	ResourceRegistry getResources() {
+		return resources;
+	}
+
+	IBundleLoader getLoader() {
+		return loader;
+	}
+}
@@ -56,16 +56,36 @@ public final class TMGenerator {
 	private final ProcessingStatus status;
 	private final ProcessingStrategy strategy;
 
+	private final SharedTemplates shared;
+	private final TablesCache tables;
+
 	public TMGenerator(TMOptions options, ProcessingStatus status, ProcessingStrategy strategy) {
+		this(options, status, strategy, null);
+	}
+
+	/**
+	 * @param shared templates loaded once for several generators, or null
+	 */
+	public TMGenerator(TMOptions options, ProcessingStatus status, ProcessingStrategy strategy,
+					   SharedTemplates shared) {
+		this(options, status, strategy, shared, null);
+	}
+
+	TMGenerator(TMOptions options, ProcessingStatus status, ProcessingStrategy strategy,
+				SharedTemplates shared, TablesCache tables) {
 		this.options = options;
 		this.status = status;
 		this.strategy = strategy;
+		this.shared = shared;
+		this.tables = tables;
 	}
 
 	public boolean compileGrammar(TextSource input, boolean checkOnly) {
 		try {
 			TemplatesStatusAdapter templatesStatus = new TemplatesStatusAdapter(status);
-			ResourceRegistry resources = createResourceRegistry();
+			ResourceRegistry resources = shared != null
+					? shared.getResources()
+					: createResourceRegistry(options, strategy);
 			TypesRegistry types = new TypesRegistry(resources, templatesStatus);
 
 			TMGrammar s = SyntaxUtil.parseSyntax(input, status, types);
@@ -124,21 +144,36 @@ public final class TMGenerator {
 
 			// Generate tables
 			start = System.currentTimeMillis();
+			TablesCache cache = tables != null ? tables
+					: options.getCacheDirectory() != null
+					? new TablesCache(new File(options.getCacheDirectory()))
+					: null;
 			ParserData r = null;
 			if (s.getGrammar().getRules() != null) {
-				r = LapgCore.generateParser(s.getGrammar(), status);
+				boolean parallelLalr = Boolean.TRUE.equals(genOptions.get("parallelLalr"));
+				r = cache != null
+						? cache.parser(s.getGrammar(), status,
+								st -> LapgCore.generateParser(s.getGrammar(), st, parallelLalr))
+						: LapgCore.generateParser(s.getGrammar(), status, parallelLalr);
 				if (r == null) {
 					return false;
 				}
 			}
-			LexerData l = LapgCore.generateLexer(s.getGrammar(), status);
+			long generationTime = System.currentTimeMillis() - start;
+
+			start = System.currentTimeMillis();
+			boolean minimizeLexer = !Boolean.FALSE.equals(genOptions.get("minimizeLexer"));
+			LexerData l = cache != null
+					? cache.lexer(s.getGrammar(), minimizeLexer, status,
+							st -> LapgCore.generateLexer(s.getGrammar(), st, minimizeLexer))
+					: LapgCore.generateLexer(s.getGrammar(), status, minimizeLexer);
 			if (l == null) {
 				return false;
 			}
 
 			if (checkOnly) return true;
 
-			long generationTime = System.currentTimeMillis() - start;
+			long lexerTime = System.currentTimeMillis() - start;
 
 			// Generate text
 			start = System.currentTimeMillis();
@@ -150,11 +185,16 @@ public final class TMGenerator {
 			long textTime = userActionsTime + (System.currentTimeMillis() - start);
 			StringBuilder sb = new StringBuilder();
 			sb.append("lalr: ").append(generationTime / 1000.).append("s");
+			sb.append(", lexer: ").append(lexerTime / 1000.).append("s");
 			sb.append(", text: ").append(textTime / 1000.).append("s");
 			if (r != null) {
 				sb.append(", parser: ").append(r.getStatesCount()).append(" states, ")
 						.append(r.getByteSize() / 1024).append("KB");
 			}
+			if (cache != null) {
+				sb.append(", cache: ").append(cache.getHits()).append(" hit(s), ")
+						.append(cache.getMisses()).append(" miss(es)");
+			}
 			status.report(ProcessingStatus.KIND_INFO, sb.toString());
 			return true;
 		} catch (Exception t) {
@@ -187,7 +227,7 @@ public final class TMGenerator {
 		return true;
 	}
 
-	private ResourceRegistry createResourceRegistry() {
+	static ResourceRegistry createResourceRegistry(TMOptions options, ProcessingStrategy strategy) {
 		List<IResourceLoader> loaders = new ArrayList<>();
 		for (String path : options.getIncludeFolders()) {
 			IResourceLoader resourceLoader = strategy.createResourceLoader(path);
@@ -196,7 +236,7 @@ public final class TMGenerator {
 			}
 		}
 		if (options.isUseDefaultTemplates()) {
-			loaders.add(new ClassResourceLoader(getClass().getClassLoader(),
+			loaders.add(new ClassResourceLoader(TMGenerator.class.getClassLoader(),
 					"org/textmapper/tool/templates", "utf8"));
 		}
 		return new ResourceRegistry(loaders.toArray(new IResourceLoader[loaders.size()]));
@@ -213,7 +253,7 @@ public final class TMGenerator {
 					grammarTemplates.getText(), grammarTemplates.getLine(),
 					grammarTemplates.getOffset())));
 		}
-		loaders.add(new DefaultTemplateLoader(resources));
+		loaders.add(shared != null ? shared.getLoader() : new DefaultTemplateLoader(resources));
 		return new TemplatesRegistry(templatesStatus, types,
 				loaders.toArray(new IBundleLoader[loaders.size()]));
 	}
@@ -31,7 +31,11 @@ public class TMOptions {
 	private String input;
 	private String outputDir;
 	private String templateName;
+	private String cacheDir;
+	private boolean batch;
+	private int jobs;
 
+	private final List<String> inputs;
 	private final List<String> includeFolders;
 	private final Map<String, String> templateOptions;
 
@@ -42,6 +46,10 @@ public class TMOptions {
 		this.input = null;
 		this.outputDir = null;
 		this.templateName = null;
+		this.cacheDir = null;
+		this.batch = false;
+		this.jobs = 0;
+		this.inputs = new ArrayList<>();
 		this.includeFolders = new LinkedList<>();
 		this.useDefaultTemplates = true;
 		this.templateOptions = new HashMap<>();
@@ -71,6 +79,40 @@ public class TMOptions {
 		this.templateName = templateName;
 	}
 
+	/**
+	 * All grammar files and folders, in the batch mode.
+	 */
+	public List<String> getInputs() {
+		return inputs;
+	}
+
+	public boolean isBatch() {
+		return batch;
+	}
+
+	public void setBatch(boolean batch) {
+		this.batch = batch;
+	}
+
+	/**
+	 * Number of grammars compiled concurrently in the batch mode, 0 for the number of processors.
+	 */
+	public int getJobs() {
+		return jobs;
+	}
+
+	public void setJobs(int jobs) {
+		this.jobs = jobs;
+	}
+
+	public String getCacheDirectory() {
+		return cacheDir;
+	}
+
+	public void setCacheDirectory(String cacheDir) {
+		this.cacheDir = cacheDir;
+	}
+
 	public int getDebug() {
 		return debug;
 	}
@@ -105,6 +147,9 @@ public class TMOptions {
 	static final int OPT_INCLUDE = 5 | HAS_VALUE | MULTI_VALUE;
 	static final int OPT_TEMPLATE = 6 | HAS_VALUE;
 	static final int OPT_INPUT = 7 | HAS_VALUE;
+	static final int OPT_CACHE = 8 | HAS_VALUE;
+	static final int OPT_BATCH = 9;
+	static final int OPT_JOBS = 10 | HAS_VALUE;
 
 	public static final String HELP_OPTIONS =
 		"  -d,  --debug                   debug info\n" +
@@ -114,6 +159,10 @@ public class TMOptions {
 		"  -i dir, --include=dir          adds directory (or semicolon separated directory list) " +
 		"                                 to the textmapper.templates stack\n" +
 		"  -t templateId, --template=id   use template for generation\n" +
+		"  -c dir, --cache=dir            reuse parser and lexer tables stored in dir\n" +
+		"  -b,  --batch                   compile all given grammars (and .tm files in given\n" +
+		"                                 directories), output goes next to each grammar\n" +
+		"  -j N, --jobs=N                 compile up to N grammars in parallel (batch mode)\n" +
 		"  key=val                        any generation option\n";
 
 	private static Map<String, Integer> buildOptionsHash() {
@@ -130,6 +179,12 @@ public class TMOptions {
 		res.put("-include", OPT_INCLUDE);
 		res.put("t", OPT_TEMPLATE);
 		res.put("-template", OPT_TEMPLATE);
+		res.put("c", OPT_CACHE);
+		res.put("-cache", OPT_CACHE);
+		res.put("b", OPT_BATCH);
+		res.put("-batch", OPT_BATCH);
+		res.put("j", OPT_JOBS);
+		res.put("-jobs", OPT_JOBS);
 		return res;
 	}
 
@@ -159,8 +214,12 @@ public class TMOptions {
 				if ((optionId & MULTI_VALUE) == 0) {
 					usedOptions.add(optionId);
 				}
-				setOption(opts, optionId,
-						hasValue ? (equalIndex >= 0 ? args[i].substring(equalIndex + 1) : args[++i]) : null);
+				String value = hasValue ? (equalIndex >= 0 ? args[i].substring(equalIndex + 1) : args[++i]) : null;
+				if (optionId == OPT_JOBS && !isPositiveNumber(value)) {
+					errorStream.println("textmapper: invalid number of jobs " + value);
+					return null;
+				}
+				setOption(opts, optionId, value);
 
 			} else if (equalIndex >= 0) {
 				String key = args[i].substring(0, equalIndex);
@@ -172,17 +231,29 @@ public class TMOptions {
 				opts.getAdditionalOptions().put(key, value);
 
 			} else {
-				if (usedOptions.contains(OPT_INPUT)) {
-					errorStream.println("textmapper: should be only one input in arguments");
-					return null;
-				}
-				usedOptions.add(OPT_INPUT);
-				opts.setInput(args[i]);
+				opts.getInputs().add(args[i]);
+			}
+		}
+		if (!opts.isBatch()) {
+			if (opts.getInputs().size() > 1) {
+				errorStream.println("textmapper: should be only one input in arguments");
+				return null;
+			}
+			if (opts.getInputs().size() == 1) {
+				opts.setInput(opts.getInputs().get(0));
 			}
 		}
 		return opts;
 	}
 
+	private static boolean isPositiveNumber(String value) {
+		try {
+			return Integer.parseInt(value) > 0;
+		} catch (NumberFormatException ex) {
+			return false;
+		}
+	}
+
 	private static void setOption(TMOptions opts, int optionId, String value) {
 		switch (optionId) {
 			case OPT_DEBUG:
@@ -207,6 +278,15 @@ public class TMOptions {
 			case OPT_OUTPUT:
 				opts.setOutputDirectory(value);
 				break;
+			case OPT_CACHE:
+				opts.setCacheDirectory(value);
+				break;
+			case OPT_BATCH:
+				opts.setBatch(true);
+				break;
+			case OPT_JOBS:
+				opts.setJobs(Integer.parseInt(value));
+				break;
 		}
 	}
 }
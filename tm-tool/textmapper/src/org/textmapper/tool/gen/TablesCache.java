@@ -0,0 +1,425 @@
+/**
+ * Copyright 2002-2017 Evgeny Gryaznov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.textmapper.tool.gen;
+
+import org.textmapper.lapg.LapgCore;
+import org.textmapper.lapg.api.*;
+import org.textmapper.lapg.api.rule.LookaheadPredicate;
+import org.textmapper.lapg.api.rule.RhsCFPart;
+import org.textmapper.lapg.api.rule.RhsPart.Kind;
+import org.textmapper.lapg.api.rule.RhsStateMarker;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.function.Function;
+
+/**
+ * On-disk (or in-memory) cache of generated parser and lexer tables. Entries are keyed by a hash of everything
+ * the table builders look at (symbols, rules, priorities, inputs, lexer rules and patterns),
+ * so changes in semantic actions, templates or options reuse the tables.
+ * <p>
+ * Warnings on symbols are stored along with the tables and reported again on a hit. Tables
+ * with any other diagnostics are not stored, except for conflicts resolved by priorities, which
+ * are only shown in the analysis mode. The analysis and debug modes bypass the cache.
+ */
+public class TablesCache {
+
+	static final int MAGIC = 0x544d5442;
+
+	/**
+	 * Bump on any change in the table builders or in the binary format.
+	 */
+	static final int FORMAT_VERSION = 1;
+
+	private final File dir;
+	private final Map<String, byte[]> memory;
+	private int hits;
+	private int misses;
+
+	public TablesCache(File dir) {
+		this.dir = dir;
+		this.memory = null;
+	}
+
+	/**
+	 * Creates a cache which keeps up to {@code capacity} most recently used entries in memory.
+	 */
+	public TablesCache(int capacity) {
+		this.dir = null;
+		this.memory = new LinkedHashMap<String, byte[]>(16, 0.75f, true) {
+			@Override
+			protected boolean removeEldestEntry(Entry<String, byte[]> eldest) {
+				return size() > capacity;
+			}
+		};
+	}
+
+	public int getHits() {
+		return hits;
+	}
+
+	public int getMisses() {
+		return misses;
+	}
+
+	public ParserData parser(Grammar g, ProcessingStatus status,
+							 Function<ProcessingStatus, ParserData> generator) {
+		return cached(parserKey(g) + ".parser", g, status, generator,
+				in -> LapgCore.readParser(g, in), LapgCore::writeParser);
+	}
+
+	public LexerData lexer(Grammar g, boolean minimize, ProcessingStatus status,
+						   Function<ProcessingStatus, LexerData> generator) {
+		return cached(lexerKey(g, minimize) + ".lexer", g, status, generator,
+				LapgCore::readLexer, LapgCore::writeLexer);
+	}
+
+	private interface Reader<T> {
+		T read(DataInput in) throws IOException;
+	}
+
+	private interface Writer<T> {
+		void write(T data, DataOutput out) throws IOException;
+	}
+
+	private <T> T cached(String name, Grammar g, ProcessingStatus status,
+						 Function<ProcessingStatus, T> generator, Reader<T> reader, Writer<T> writer) {
+		if (status.isDebugMode() || status.isAnalysisMode()) {
+			return generator.apply(status);
+		}
+		InputStream entry = open(name);
+		if (entry != null) {
+			try (DataInputStream in = new DataInputStream(entry)) {
+				if (in.readInt() != MAGIC || in.readInt() != FORMAT_VERSION) {
+					throw new IOException("unknown format");
+				}
+				List<Warning> warnings = readWarnings(g, in);
+				T result = reader.read(in);
+				for (Warning w : warnings) {
+					status.report(w.kind, w.message, w.anchors);
+				}
+				hits++;
+				return result;
+			} catch (IOException ex) {
+				/* corrupted or stale entry, regenerate */
+			}
+		}
+		misses++;
+		WatchingStatus watching = new WatchingStatus(status, g.getSymbols());
+		T result = generator.apply(watching);
+		if (result != null && watching.cacheable) {
+			store(name, status, out -> {
+				writeWarnings(watching.warnings, out);
+				writer.write(result, out);
+			});
+		}
+		return result;
+	}
+
+	private static List<Warning> readWarnings(Grammar g, DataInput in) throws IOException {
+		Symbol[] symbols = g.getSymbols();
+		List<Warning> result = new ArrayList<>();
+		for (int count = in.readInt(); count > 0; count--) {
+			int kind = in.readInt();
+			String message = in.readUTF();
+			int anchorsCount = in.readInt();
+			if (anchorsCount < 0) {
+				throw new IOException("malformed entry");
+			}
+			Symbol[] anchors = new Symbol[anchorsCount];
+			for (int i = 0; i < anchors.length; i++) {
+				int index = in.readInt();
+				if (index < 0 || index >= symbols.length) {
+					throw new IOException("stale entry");
+				}
+				anchors[i] = symbols[index];
+			}
+			result.add(new Warning(kind, message, anchors));
+		}
+		return result;
+	}
+
+	private static void writeWarnings(List<Warning> warnings, DataOutput out) throws IOException {
+		out.writeInt(warnings.size());
+		for (Warning w : warnings) {
+			out.writeInt(w.kind);
+			out.writeUTF(w.message);
+			out.writeInt(w.anchors.length);
+			for (Symbol s : w.anchors) {
+				out.writeInt(s.getIndex());
+			}
+		}
+	}
+
+	private interface Content {
+		void write(DataOutput out) throws IOException;
+	}
+
+	private InputStream open(String name) {
+		if (memory != null) {
+			byte[] bytes = memory.get(name);
+			return bytes != null ? new ByteArrayInputStream(bytes) : null;
+		}
+		try {
+			return new BufferedInputStream(new FileInputStream(new File(dir, name)));
+		} catch (FileNotFoundException ex) {
+			return null;
+		}
+	}
+
+	private void store(String name, ProcessingStatus status, Content content) {
+		if (memory != null) {
+			ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+			try (DataOutputStream out = new DataOutputStream(bytes)) {
+				out.writeInt(MAGIC);
+				out.writeInt(FORMAT_VERSION);
+				content.write(out);
+			} catch (IOException ex) {
+				throw new IllegalStateException(ex);
+			}
+			memory.put(name, bytes.toByteArray());
+			return;
+		}
+		File file = new File(dir, name);
+		File temp = null;
+		try {
+			if (!dir.isDirectory() && !dir.mkdirs()) {
+				throw new IOException("cannot create " + dir);
+			}
+			temp = File.createTempFile(file.getName(), ".tmp", dir);
+			try (DataOutputStream out = new DataOutputStream(
+					new BufferedOutputStream(new FileOutputStream(temp)))) {
+				out.writeInt(MAGIC);
+				out.writeInt(FORMAT_VERSION);
+				content.write(out);
+			}
+			// Concurrent builds either see the complete file, or no file at all.
+			Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING,
+					StandardCopyOption.ATOMIC_MOVE);
+		} catch (IOException ex) {
+			status.report(ProcessingStatus.KIND_WARN, "cannot store tables in cache: " + ex.getMessage());
+			if (temp != null) {
+				temp.delete();
+			}
+		}
+	}
+
+	static String parserKey(Grammar g) {
+		return hash(out -> {
+			out.writeUTF("parser");
+			Symbol[] symbols = g.getSymbols();
+			out.writeInt(symbols.length);
+			out.writeInt(g.getGrammarSymbols());
+			out.writeInt(g.getTerminals());
+			for (Symbol s : symbols) {
+				out.writeUTF(s.getNameText());
+				out.writeBoolean(s.isTerm());
+				if (s instanceof Terminal && ((Terminal) s).isSoft()) {
+					out.writeInt(((Terminal) s).getSoftClass().getIndex());
+				} else {
+					out.writeInt(-1);
+				}
+				if (s instanceof Lookahead) {
+					LookaheadPredicate[] predicates = ((Lookahead) s).getLookaheadPredicates();
+					out.writeInt(predicates.length);
+					for (LookaheadPredicate p : predicates) {
+						out.writeInt(p.getInput().getIndex());
+						out.writeBoolean(p.isNegated());
+					}
+				} else {
+					out.writeInt(-1);
+				}
+			}
+			out.writeInt(g.getEoi().getIndex());
+			out.writeInt(g.getError() == null ? -1 : g.getError().getIndex());
+
+			Rule[] rules = g.getRules();
+			out.writeInt(rules.length);
+			for (Rule r : rules) {
+				out.writeInt(r.getLeft().getIndex());
+				out.writeInt(r.getPrecedence());
+				out.writeInt(r.getRight().length);
+				for (RhsCFPart p : r.getRight()) {
+					if (p.getKind() == Kind.Symbol) {
+						out.writeInt(p.getTarget().getIndex());
+					} else if (p.getKind() == Kind.StateMarker) {
+						out.writeInt(-1);
+						out.writeUTF(((RhsStateMarker) p).getName());
+					} else {
+						out.writeInt(-2 - p.getKind().ordinal());
+					}
+				}
+			}
+
+			Prio[] priorities = g.getPriorities();
+			out.writeInt(priorities.length);
+			for (Prio p : priorities) {
+				out.writeInt(p.getPrio());
+				out.writeInt(p.getSymbols().length);
+				for (Terminal t : p.getSymbols()) {
+					out.writeInt(t.getIndex());
+				}
+			}
+
+			InputRef[] inputs = g.getInput();
+			out.writeInt(inputs.length);
+			for (InputRef input : inputs) {
+				out.writeInt(input.getTarget().getIndex());
+				out.writeBoolean(input.hasEoi());
+			}
+		});
+	}
+
+	static String lexerKey(Grammar g, boolean minimize) {
+		return hash(out -> {
+			out.writeUTF("lexer");
+			out.writeBoolean(minimize);
+			LexerState[] states = g.getLexerStates();
+			out.writeInt(states.length);
+			for (LexerState s : states) {
+				out.writeUTF(s.getNameText());
+			}
+			LexerRule[] rules = g.getLexerRules();
+			out.writeInt(rules.length);
+			for (LexerRule r : rules) {
+				out.writeInt(r.getIndex());
+				out.writeUTF(r.getSymbol().getNameText());
+				out.writeInt(r.getSymbol().getIndex());
+				out.writeBoolean(r.isExcluded());
+				out.writeInt(r.getKind());
+				out.writeInt(r.getPriority());
+				out.writeUTF(r.getRegexp() == null ? "" : r.getRegexp().toString());
+				for (LexerState s : r.getStates()) {
+					out.writeInt(s.getIndex());
+				}
+				out.writeInt(-1);
+			}
+			NamedPattern[] patterns = g.getPatterns();
+			out.writeInt(patterns.length);
+			for (NamedPattern p : patterns) {
+				out.writeUTF(p.getNameText());
+				out.writeUTF(p.getRegexp().toString());
+			}
+		});
+	}
+
+	private static String hash(Content canonicalForm) {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (DataOutputStream out = new DataOutputStream(bytes)) {
+			out.writeInt(FORMAT_VERSION);
+			canonicalForm.write(out);
+		} catch (IOException ex) {
+			throw new IllegalStateException(ex);
+		}
+		try {
+			StringBuilder sb = new StringBuilder();
+			for (byte b : MessageDigest.getInstance("SHA-256").digest(bytes.toByteArray())) {
+				sb.append(String.format("%02x", b));
+			}
+			return sb.toString();
+		} catch (NoSuchAlgorithmException ex) {
+			throw new IllegalStateException(ex);
+		}
+	}
+
+	private static class Warning {
+		private final int kind;
+		private final String message;
+		private final Symbol[] anchors;
+
+		private Warning(int kind, String message, Symbol[] anchors) {
+			this.kind = kind;
+			this.message = message;
+			this.anchors = anchors;
+		}
+	}
+
+	/**
+	 * Collects warnings for the cache entry. Anything that cannot be reported again from
+	 * the entry (errors, or warnings on rules and other elements) makes the tables non-cacheable.
+	 */
+	private static class WatchingStatus implements ProcessingStatus {
+		private final ProcessingStatus delegate;
+		private final Symbol[] symbols;
+		private final List<Warning> warnings = new ArrayList<>();
+		private boolean cacheable = true;
+
+		private WatchingStatus(ProcessingStatus delegate, Symbol[] symbols) {
+			this.delegate = delegate;
+			this.symbols = symbols;
+		}
+
+		@Override
+		public void report(int kind, String message, SourceElement... anchors) {
+			if (kind == KIND_WARN || kind == KIND_INFO) {
+				Symbol[] symbolAnchors = new Symbol[anchors.length];
+				for (int i = 0; i < anchors.length; i++) {
+					if (!(anchors[i] instanceof Symbol)) {
+						cacheable = false;
+						break;
+					}
+					symbolAnchors[i] = (Symbol) anchors[i];
+					int index = symbolAnchors[i].getIndex();
+					if (index < 0 || index >= symbols.length || symbols[index] != anchors[i]) {
+						cacheable = false;
+						break;
+					}
+				}
+				warnings.add(new Warning(kind, message, symbolAnchors));
+			} else if (kind != KIND_DEBUG) {
+				cacheable = false;
+			}
+			delegate.report(kind, message, anchors);
+		}
+
+		@Override
+		public void report(String message, Throwable th) {
+			cacheable = false;
+			delegate.report(message, th);
+		}
+
+		@Override
+		public void report(ParserConflict conflict) {
+			if (conflict.getKind() != ParserConflict.FIXED) {
+				cacheable = false;
+			}
+			delegate.report(conflict);
+		}
+
+		@Override
+		public void debug(String info) {
+			delegate.debug(info);
+		}
+
+		@Override
+		public boolean isDebugMode() {
+			return delegate.isDebugMode();
+		}
+
+		@Override
+		public boolean isAnalysisMode() {
+			return delegate.isAnalysisMode();
+		}
+	}
+}
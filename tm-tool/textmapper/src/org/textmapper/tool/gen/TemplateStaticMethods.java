@@ -259,6 +259,14 @@ public class TemplateStaticMethods extends DefaultStaticMethods {
 		return result;
 	}
 
+	public static ParserSwitches.Table actionSwitch(int[] action, int[] lalr, Boolean lazy) {
+		return ParserSwitches.actionSwitch(action, lalr, lazy);
+	}
+
+	public static ParserSwitches.Table gotoSwitch(int[] symGoto, int[] symFromTo, Integer nstates) {
+		return ParserSwitches.gotoSwitch(symGoto, symFromTo, nstates);
+	}
+
 	public static List<List<String>> packInt(int[] arr) {
 		JavaArrayEncoder enc = new JavaArrayEncoder(80);
 		for (int i : arr) {
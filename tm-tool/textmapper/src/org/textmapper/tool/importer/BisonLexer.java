@@ -229,12 +229,12 @@ public class BisonLexer {
 	};
 
 	private static final short tmStateMap[] = {
-		0, 310, 365, 367, 370, 375
+		0, 306, 352, 354, 357, 362
 	};
 
 	private static final short tmBacktracking[] = {
-		27, 127, 36, 235, 18, 252, 59, 272, 4, 307, 70, 318, 70, 315, 70, 323,
-		70, 329, 70, 347, 70, 334, 70, 363, 70, 349
+		27, 127, 36, 235, 18, 252, 59, 272, 4, 303, 70, 314, 70, 311, 70, 319,
+		70, 324, 70, 338, 70, 329, 70, 349, 70, 340
 	};
 
 	private static final int tmFirstRule = -14;
@@ -248,10 +248,10 @@ public class BisonLexer {
 
 	private static final int tmClassesCount = 52;
 
-	private static final short[] tmGoto = unpack_vc_short(19552,
-		"\1\ufff1\1\ufff2\1\u0135\1\u0132\1\u0122\1\ufff2\3\u0121\1\u0112\1\u010e\2\ufff2" +
-		"\1\15\1\14\1\13\1\12\1\11\1\4\22\u0121\1\ufff2\3\u0121\1\3\2\ufff2\2\2\1\u0121\1" +
-		"\1\2\u0121\1\1\1\2\3\uffee\1\1\53\uffee\1\1\2\uffee\1\1\1\uffee\54\uffe3\2\2\5\uffe3" +
+	private static final short[] tmGoto = unpack_vc_short(18876,
+		"\1\ufff1\1\ufff2\1\u0131\1\u012e\1\u011e\1\ufff2\3\u011d\1\u0112\1\u010e\2\ufff2" +
+		"\1\15\1\14\1\13\1\12\1\11\1\4\22\u011d\1\ufff2\3\u011d\1\3\2\ufff2\2\2\1\u011d\1" +
+		"\1\2\u011d\1\1\1\2\3\uffee\1\1\53\uffee\1\1\2\uffee\1\1\1\uffee\54\uffe3\2\2\5\uffe3" +
 		"\1\2\64\uffba\13\ufff2\1\6\6\ufff2\1\5\41\ufff2\1\uffe2\53\5\2\uffe2\6\5\1\ufff2" +
 		"\12\6\1\7\50\6\1\ufff2\12\6\1\7\6\6\1\10\41\6\64\uffe1\64\uffe4\64\uffe5\64\uffe6" +
 		"\64\uffe7\7\ufff2\1\u0109\2\ufff2\1\u0103\2\ufff2\1\u0102\5\ufff2\1\364\1\356\1\ufff2" +
@@ -309,122 +309,103 @@ public class BisonLexer {
 		"\u0105\67\ufff2\1\u0106\61\ufff2\1\u0107\35\ufff2\1\u0108\47\ufff2\64\uffcc\27\ufff2" +
 		"\1\u010a\73\ufff2\1\u010b\50\ufff2\1\u010c\66\ufff2\1\u010d\34\ufff2\64\uffbd\13" +
 		"\uffb7\1\ufffc\1\u010f\47\uffb7\64\uffe9\14\ufff2\1\u0111\47\ufff2\64\uffea\1\ufff2" +
-		"\4\u0112\1\u0114\3\u0112\1\u0113\42\u0112\2\ufff2\6\u0112\64\uffeb\3\ufff2\1\u011f" +
-		"\2\u0112\1\u011d\1\u0119\1\u0115\1\u0112\11\ufff2\1\u0112\3\ufff2\2\u0112\10\ufff2" +
-		"\1\u0112\2\ufff2\1\u0112\1\ufff2\2\u0112\2\ufff2\1\u0112\7\ufff2\1\u011f\4\ufff2" +
-		"\1\u0116\22\ufff2\1\u0116\5\ufff2\1\u0116\1\ufff2\1\u0116\2\ufff2\1\u0116\2\ufff2" +
-		"\1\u0116\2\ufff2\1\u0116\7\ufff2\1\u0116\1\ufff2\2\u0116\4\ufff2\1\u0117\22\ufff2" +
-		"\1\u0117\5\ufff2\1\u0117\1\ufff2\1\u0117\2\ufff2\1\u0117\2\ufff2\1\u0117\2\ufff2" +
-		"\1\u0117\7\ufff2\1\u0117\1\ufff2\2\u0117\4\ufff2\1\u0118\22\ufff2\1\u0118\5\ufff2" +
-		"\1\u0118\1\ufff2\1\u0118\2\ufff2\1\u0118\2\ufff2\1\u0118\2\ufff2\1\u0118\7\ufff2" +
-		"\1\u0118\1\ufff2\2\u0118\4\ufff2\1\u0119\22\ufff2\1\u0119\5\ufff2\1\u0119\1\ufff2" +
-		"\1\u0119\2\ufff2\1\u0119\2\ufff2\1\u0119\2\ufff2\1\u0119\7\ufff2\1\u0119\1\ufff2" +
-		"\2\u0119\4\ufff2\1\u011a\22\ufff2\1\u011a\5\ufff2\1\u011a\1\ufff2\1\u011a\2\ufff2" +
-		"\1\u011a\2\ufff2\1\u011a\2\ufff2\1\u011a\7\ufff2\1\u011a\1\ufff2\2\u011a\4\ufff2" +
-		"\1\u011b\22\ufff2\1\u011b\5\ufff2\1\u011b\1\ufff2\1\u011b\2\ufff2\1\u011b\2\ufff2" +
-		"\1\u011b\2\ufff2\1\u011b\7\ufff2\1\u011b\1\ufff2\2\u011b\4\ufff2\1\u011c\22\ufff2" +
-		"\1\u011c\5\ufff2\1\u011c\1\ufff2\1\u011c\2\ufff2\1\u011c\2\ufff2\1\u011c\2\ufff2" +
-		"\1\u011c\7\ufff2\1\u011c\1\ufff2\2\u011c\4\ufff2\1\u0112\22\ufff2\1\u0112\5\ufff2" +
-		"\1\u0112\1\ufff2\1\u0112\2\ufff2\1\u0112\2\ufff2\1\u0112\2\ufff2\1\u0112\7\ufff2" +
-		"\1\u0112\1\ufff2\2\u0112\4\ufff2\1\u011e\22\ufff2\1\u011e\5\ufff2\1\u011e\1\ufff2" +
-		"\1\u011e\2\ufff2\1\u011e\2\ufff2\1\u011e\2\ufff2\1\u011e\7\ufff2\1\u011e\1\ufff2" +
-		"\2\u011e\2\ufff2\2\u0112\1\u011e\1\u0112\1\u0114\3\u0112\1\u0113\14\u0112\1\u011e" +
-		"\5\u0112\1\u011e\1\u0112\1\u011e\2\u0112\1\u011e\2\u0112\1\u011e\2\u0112\1\u011e" +
-		"\4\u0112\2\ufff2\1\u0112\1\u011e\1\u0112\2\u011e\1\u0112\1\ufff2\2\u0112\1\u0120" +
-		"\1\u0112\1\u0114\3\u0112\1\u0113\42\u0112\2\ufff2\4\u0112\1\u0120\1\u0112\1\ufff2" +
-		"\4\u0112\1\u0114\3\u0112\1\u0113\42\u0112\2\ufff2\6\u0112\3\ufff0\1\u0121\2\ufff0" +
-		"\3\u0121\12\ufff0\26\u0121\5\ufff0\5\u0121\1\ufff0\1\ufff2\3\u0131\1\ufff2\1\u0123" +
-		"\46\u0131\2\ufff2\6\u0131\3\ufff2\1\u012f\2\u0131\1\u012c\1\u0128\1\u0124\1\u0131" +
-		"\11\ufff2\1\u0131\3\ufff2\2\u0131\10\ufff2\1\u0131\2\ufff2\1\u0131\1\ufff2\2\u0131" +
-		"\2\ufff2\1\u0131\7\ufff2\1\u012f\4\ufff2\1\u0125\22\ufff2\1\u0125\5\ufff2\1\u0125" +
-		"\1\ufff2\1\u0125\2\ufff2\1\u0125\2\ufff2\1\u0125\2\ufff2\1\u0125\7\ufff2\1\u0125" +
-		"\1\ufff2\2\u0125\4\ufff2\1\u0126\22\ufff2\1\u0126\5\ufff2\1\u0126\1\ufff2\1\u0126" +
-		"\2\ufff2\1\u0126\2\ufff2\1\u0126\2\ufff2\1\u0126\7\ufff2\1\u0126\1\ufff2\2\u0126" +
-		"\4\ufff2\1\u0127\22\ufff2\1\u0127\5\ufff2\1\u0127\1\ufff2\1\u0127\2\ufff2\1\u0127" +
-		"\2\ufff2\1\u0127\2\ufff2\1\u0127\7\ufff2\1\u0127\1\ufff2\2\u0127\4\ufff2\1\u0128" +
-		"\22\ufff2\1\u0128\5\ufff2\1\u0128\1\ufff2\1\u0128\2\ufff2\1\u0128\2\ufff2\1\u0128" +
-		"\2\ufff2\1\u0128\7\ufff2\1\u0128\1\ufff2\2\u0128\4\ufff2\1\u0129\22\ufff2\1\u0129" +
-		"\5\ufff2\1\u0129\1\ufff2\1\u0129\2\ufff2\1\u0129\2\ufff2\1\u0129\2\ufff2\1\u0129" +
-		"\7\ufff2\1\u0129\1\ufff2\2\u0129\4\ufff2\1\u012a\22\ufff2\1\u012a\5\ufff2\1\u012a" +
-		"\1\ufff2\1\u012a\2\ufff2\1\u012a\2\ufff2\1\u012a\2\ufff2\1\u012a\7\ufff2\1\u012a" +
-		"\1\ufff2\2\u012a\4\ufff2\1\u012b\22\ufff2\1\u012b\5\ufff2\1\u012b\1\ufff2\1\u012b" +
-		"\2\ufff2\1\u012b\2\ufff2\1\u012b\2\ufff2\1\u012b\7\ufff2\1\u012b\1\ufff2\2\u012b" +
-		"\4\ufff2\1\u0131\22\ufff2\1\u0131\5\ufff2\1\u0131\1\ufff2\1\u0131\2\ufff2\1\u0131" +
-		"\2\ufff2\1\u0131\2\ufff2\1\u0131\7\ufff2\1\u0131\1\ufff2\2\u0131\4\ufff2\1\u012d" +
-		"\22\ufff2\1\u012d\5\ufff2\1\u012d\1\ufff2\1\u012d\2\ufff2\1\u012d\2\ufff2\1\u012d" +
-		"\2\ufff2\1\u012d\7\ufff2\1\u012d\1\ufff2\2\u012d\4\ufff2\1\u012d\1\u012e\21\ufff2" +
-		"\1\u012d\5\ufff2\1\u012d\1\ufff2\1\u012d\2\ufff2\1\u012d\2\ufff2\1\u012d\2\ufff2" +
-		"\1\u012d\7\ufff2\1\u012d\1\ufff2\2\u012d\1\ufff2\64\uffec\3\ufff2\1\u0130\1\u012e" +
-		"\55\ufff2\1\u0130\4\ufff2\1\u0131\1\u012e\55\ufff2\1\u0131\5\ufff2\1\u012e\57\ufff2" +
-		"\3\uffee\1\1\2\uffee\1\ufffb\50\uffee\1\1\1\ufffb\1\uffee\1\1\1\uffee\3\ufff2\1\u0134" +
-		"\22\ufff2\1\u0134\5\ufff2\1\u0134\1\ufff2\1\u0134\2\ufff2\1\u0134\2\ufff2\1\u0134" +
-		"\2\ufff2\1\u0134\7\ufff2\1\u0134\1\ufff2\2\u0134\1\ufff2\3\uffed\1\u0134\22\uffed" +
-		"\1\u0134\5\uffed\1\u0134\1\uffed\1\u0134\2\uffed\1\u0134\2\uffed\1\u0134\2\uffed" +
-		"\1\u0134\7\uffed\1\u0134\1\uffed\2\u0134\1\uffed\64\uffef\1\ufff2\3\u016c\1\u015c" +
-		"\4\u016c\1\u014c\1\u0146\2\u016c\1\u0141\4\u016c\1\u0139\26\u016c\1\u0138\1\u016c" +
-		"\1\u0137\10\u016c\64\uffb6\64\uffab\5\uffac\1\ufffa\5\uffac\1\ufff9\6\uffac\1\u013a" +
-		"\41\uffac\1\uffae\53\u013a\2\uffae\6\u013a\1\ufff2\12\u013b\1\u013c\50\u013b\1\ufff2" +
-		"\12\u013b\1\u013c\6\u013b\1\u013d\41\u013b\64\uffad\54\ufff2\1\u0140\1\u013f\5\ufff2" +
-		"\1\u013e\5\ufff2\1\u013e\5\ufff2\1\u013b\6\ufff2\1\u013a\116\ufff2\1\u013f\6\ufff2" +
-		"\5\uffac\1\ufff8\6\uffac\1\u0142\47\uffac\64\uffaa\54\ufff2\1\u0145\1\u0144\5\ufff2" +
-		"\1\u0143\5\ufff2\1\u0143\6\ufff2\1\u0142\124\ufff2\1\u0144\6\ufff2\5\uffac\1\ufff7" +
-		"\4\uffac\1\u0148\2\uffac\1\u0147\46\uffac\64\uffab\64\uffa9\54\ufff2\1\u014b\1\u014a" +
-		"\5\ufff2\1\u0149\5\ufff2\1\u0149\4\ufff2\1\u0148\2\ufff2\1\u0147\123\ufff2\1\u014a" +
-		"\6\ufff2\1\uffac\4\ufff6\1\ufff5\3\ufff6\1\u014d\43\ufff6\1\uffac\6\ufff6\64\uffaf" +
-		"\3\ufff2\1\u0159\2\u015b\1\u0157\1\u0153\1\u014f\1\u015b\11\ufff2\1\u015b\3\ufff2" +
-		"\2\u015b\10\ufff2\1\u015b\2\ufff2\1\u015b\1\ufff2\2\u015b\2\ufff2\1\u015b\7\ufff2" +
-		"\1\u0159\4\ufff2\1\u0150\22\ufff2\1\u0150\5\ufff2\1\u0150\1\ufff2\1\u0150\2\ufff2" +
-		"\1\u0150\2\ufff2\1\u0150\2\ufff2\1\u0150\7\ufff2\1\u0150\1\ufff2\2\u0150\4\ufff2" +
-		"\1\u0151\22\ufff2\1\u0151\5\ufff2\1\u0151\1\ufff2\1\u0151\2\ufff2\1\u0151\2\ufff2" +
-		"\1\u0151\2\ufff2\1\u0151\7\ufff2\1\u0151\1\ufff2\2\u0151\4\ufff2\1\u0152\22\ufff2" +
-		"\1\u0152\5\ufff2\1\u0152\1\ufff2\1\u0152\2\ufff2\1\u0152\2\ufff2\1\u0152\2\ufff2" +
-		"\1\u0152\7\ufff2\1\u0152\1\ufff2\2\u0152\4\ufff2\1\u0153\22\ufff2\1\u0153\5\ufff2" +
-		"\1\u0153\1\ufff2\1\u0153\2\ufff2\1\u0153\2\ufff2\1\u0153\2\ufff2\1\u0153\7\ufff2" +
-		"\1\u0153\1\ufff2\2\u0153\4\ufff2\1\u0154\22\ufff2\1\u0154\5\ufff2\1\u0154\1\ufff2" +
-		"\1\u0154\2\ufff2\1\u0154\2\ufff2\1\u0154\2\ufff2\1\u0154\7\ufff2\1\u0154\1\ufff2" +
-		"\2\u0154\4\ufff2\1\u0155\22\ufff2\1\u0155\5\ufff2\1\u0155\1\ufff2\1\u0155\2\ufff2" +
-		"\1\u0155\2\ufff2\1\u0155\2\ufff2\1\u0155\7\ufff2\1\u0155\1\ufff2\2\u0155\4\ufff2" +
-		"\1\u0156\22\ufff2\1\u0156\5\ufff2\1\u0156\1\ufff2\1\u0156\2\ufff2\1\u0156\2\ufff2" +
-		"\1\u0156\2\ufff2\1\u0156\7\ufff2\1\u0156\1\ufff2\2\u0156\4\ufff2\1\u015b\22\ufff2" +
-		"\1\u015b\5\ufff2\1\u015b\1\ufff2\1\u015b\2\ufff2\1\u015b\2\ufff2\1\u015b\2\ufff2" +
-		"\1\u015b\7\ufff2\1\u015b\1\ufff2\2\u015b\4\ufff2\1\u0158\22\ufff2\1\u0158\5\ufff2" +
-		"\1\u0158\1\ufff2\1\u0158\2\ufff2\1\u0158\2\ufff2\1\u0158\2\ufff2\1\u0158\7\ufff2" +
-		"\1\u0158\1\ufff2\2\u0158\2\ufff2\2\u015b\1\u0158\1\u015b\1\u014e\3\u015b\1\u014d" +
-		"\14\u015b\1\u0158\5\u015b\1\u0158\1\u015b\1\u0158\2\u015b\1\u0158\2\u015b\1\u0158" +
-		"\2\u015b\1\u0158\5\u015b\1\ufff2\1\u015b\1\u0158\1\u015b\2\u0158\1\u015b\1\ufff2" +
-		"\2\u015b\1\u015a\1\u015b\1\u014e\3\u015b\1\u014d\43\u015b\1\ufff2\4\u015b\1\u015a" +
-		"\1\u015b\1\ufff2\4\u015b\1\u014e\3\u015b\1\u014d\43\u015b\1\ufff2\6\u015b\1\ufff2" +
-		"\4\u015b\1\u014e\3\u015b\1\u014d\43\u015b\1\ufff2\6\u015b\1\uffac\3\ufff4\1\u016a" +
-		"\1\ufff3\47\ufff4\1\uffac\6\ufff4\3\ufff2\1\u0168\2\u016b\1\u0166\1\u0162\1\u015e" +
-		"\1\u016b\11\ufff2\1\u016b\3\ufff2\2\u016b\10\ufff2\1\u016b\2\ufff2\1\u016b\1\ufff2" +
-		"\2\u016b\2\ufff2\1\u016b\7\ufff2\1\u0168\4\ufff2\1\u015f\22\ufff2\1\u015f\5\ufff2" +
-		"\1\u015f\1\ufff2\1\u015f\2\ufff2\1\u015f\2\ufff2\1\u015f\2\ufff2\1\u015f\7\ufff2" +
-		"\1\u015f\1\ufff2\2\u015f\4\ufff2\1\u0160\22\ufff2\1\u0160\5\ufff2\1\u0160\1\ufff2" +
-		"\1\u0160\2\ufff2\1\u0160\2\ufff2\1\u0160\2\ufff2\1\u0160\7\ufff2\1\u0160\1\ufff2" +
-		"\2\u0160\4\ufff2\1\u0161\22\ufff2\1\u0161\5\ufff2\1\u0161\1\ufff2\1\u0161\2\ufff2" +
-		"\1\u0161\2\ufff2\1\u0161\2\ufff2\1\u0161\7\ufff2\1\u0161\1\ufff2\2\u0161\4\ufff2" +
-		"\1\u0162\22\ufff2\1\u0162\5\ufff2\1\u0162\1\ufff2\1\u0162\2\ufff2\1\u0162\2\ufff2" +
-		"\1\u0162\2\ufff2\1\u0162\7\ufff2\1\u0162\1\ufff2\2\u0162\4\ufff2\1\u0163\22\ufff2" +
-		"\1\u0163\5\ufff2\1\u0163\1\ufff2\1\u0163\2\ufff2\1\u0163\2\ufff2\1\u0163\2\ufff2" +
-		"\1\u0163\7\ufff2\1\u0163\1\ufff2\2\u0163\4\ufff2\1\u0164\22\ufff2\1\u0164\5\ufff2" +
-		"\1\u0164\1\ufff2\1\u0164\2\ufff2\1\u0164\2\ufff2\1\u0164\2\ufff2\1\u0164\7\ufff2" +
-		"\1\u0164\1\ufff2\2\u0164\4\ufff2\1\u0165\22\ufff2\1\u0165\5\ufff2\1\u0165\1\ufff2" +
-		"\1\u0165\2\ufff2\1\u0165\2\ufff2\1\u0165\2\ufff2\1\u0165\7\ufff2\1\u0165\1\ufff2" +
-		"\2\u0165\4\ufff2\1\u016b\22\ufff2\1\u016b\5\ufff2\1\u016b\1\ufff2\1\u016b\2\ufff2" +
-		"\1\u016b\2\ufff2\1\u016b\2\ufff2\1\u016b\7\ufff2\1\u016b\1\ufff2\2\u016b\4\ufff2" +
-		"\1\u0167\22\ufff2\1\u0167\5\ufff2\1\u0167\1\ufff2\1\u0167\2\ufff2\1\u0167\2\ufff2" +
-		"\1\u0167\2\ufff2\1\u0167\7\ufff2\1\u0167\1\ufff2\2\u0167\2\ufff2\2\u016b\1\u0167" +
-		"\1\u016a\1\u015d\20\u016b\1\u0167\5\u016b\1\u0167\1\u016b\1\u0167\2\u016b\1\u0167" +
-		"\2\u016b\1\u0167\2\u016b\1\u0167\5\u016b\1\ufff2\1\u016b\1\u0167\1\u016b\2\u0167" +
-		"\1\u016b\1\ufff2\2\u016b\1\u0169\1\u016a\1\u015d\47\u016b\1\ufff2\4\u016b\1\u0169" +
-		"\1\u016b\1\ufff2\3\u016b\1\u016a\1\u015d\47\u016b\1\ufff2\6\u016b\64\uffb0\1\ufff2" +
-		"\3\u016b\1\u016a\1\u015d\47\u016b\1\ufff2\6\u016b\64\uffac\1\ufff2\3\u016c\1\u015c" +
-		"\4\u016c\1\u014c\1\u0146\2\u016c\1\u0141\4\u016c\1\u0139\26\u016c\1\u0138\1\u016c" +
-		"\1\u016e\10\u016c\64\uffb5\1\ufff2\3\u016c\1\u015c\4\u016c\1\u014c\3\u016c\1\u0170" +
-		"\4\u016c\1\u0139\41\u016c\53\uffac\1\u0171\10\uffac\64\uffb4\1\ufff2\11\u0176\1\u0175" +
-		"\1\u0176\1\u0174\30\u0176\1\u0173\16\u0176\1\uffb3\11\u0176\1\uffb3\32\u0176\1\u0173" +
-		"\16\u0176\64\uffb1\64\uffb2\1\uffb3\11\u0176\1\uffb3\1\u0176\1\uffb3\30\u0176\1\u0173" +
-		"\16\u0176\1\ufff2\3\u016c\1\u015c\4\u016c\1\u014c\10\u016c\1\u0139\41\u016c");
+		"\4\u0112\1\u0114\3\u0112\1\u0113\42\u0112\2\ufff2\6\u0112\64\uffeb\3\ufff2\3\u0112" +
+		"\1\u011c\1\u0119\1\u0115\1\u0112\11\ufff2\1\u0112\3\ufff2\2\u0112\10\ufff2\1\u0112" +
+		"\2\ufff2\1\u0112\1\ufff2\2\u0112\2\ufff2\1\u0112\7\ufff2\1\u0112\4\ufff2\1\u0116" +
+		"\22\ufff2\1\u0116\5\ufff2\1\u0116\1\ufff2\1\u0116\2\ufff2\1\u0116\2\ufff2\1\u0116" +
+		"\2\ufff2\1\u0116\7\ufff2\1\u0116\1\ufff2\2\u0116\4\ufff2\1\u0117\22\ufff2\1\u0117" +
+		"\5\ufff2\1\u0117\1\ufff2\1\u0117\2\ufff2\1\u0117\2\ufff2\1\u0117\2\ufff2\1\u0117" +
+		"\7\ufff2\1\u0117\1\ufff2\2\u0117\4\ufff2\1\u0118\22\ufff2\1\u0118\5\ufff2\1\u0118" +
+		"\1\ufff2\1\u0118\2\ufff2\1\u0118\2\ufff2\1\u0118\2\ufff2\1\u0118\7\ufff2\1\u0118" +
+		"\1\ufff2\2\u0118\4\ufff2\1\u0119\22\ufff2\1\u0119\5\ufff2\1\u0119\1\ufff2\1\u0119" +
+		"\2\ufff2\1\u0119\2\ufff2\1\u0119\2\ufff2\1\u0119\7\ufff2\1\u0119\1\ufff2\2\u0119" +
+		"\4\ufff2\1\u011a\22\ufff2\1\u011a\5\ufff2\1\u011a\1\ufff2\1\u011a\2\ufff2\1\u011a" +
+		"\2\ufff2\1\u011a\2\ufff2\1\u011a\7\ufff2\1\u011a\1\ufff2\2\u011a\4\ufff2\1\u011b" +
+		"\22\ufff2\1\u011b\5\ufff2\1\u011b\1\ufff2\1\u011b\2\ufff2\1\u011b\2\ufff2\1\u011b" +
+		"\2\ufff2\1\u011b\7\ufff2\1\u011b\1\ufff2\2\u011b\4\ufff2\1\u011c\22\ufff2\1\u011c" +
+		"\5\ufff2\1\u011c\1\ufff2\1\u011c\2\ufff2\1\u011c\2\ufff2\1\u011c\2\ufff2\1\u011c" +
+		"\7\ufff2\1\u011c\1\ufff2\2\u011c\4\ufff2\1\u0112\22\ufff2\1\u0112\5\ufff2\1\u0112" +
+		"\1\ufff2\1\u0112\2\ufff2\1\u0112\2\ufff2\1\u0112\2\ufff2\1\u0112\7\ufff2\1\u0112" +
+		"\1\ufff2\2\u0112\1\ufff2\3\ufff0\1\u011d\2\ufff0\3\u011d\12\ufff0\26\u011d\5\ufff0" +
+		"\5\u011d\1\ufff0\1\ufff2\3\u012d\1\ufff2\1\u011f\46\u012d\2\ufff2\6\u012d\3\ufff2" +
+		"\1\u012b\2\u012d\1\u0128\1\u0124\1\u0120\1\u012d\11\ufff2\1\u012d\3\ufff2\2\u012d" +
+		"\10\ufff2\1\u012d\2\ufff2\1\u012d\1\ufff2\2\u012d\2\ufff2\1\u012d\7\ufff2\1\u012b" +
+		"\4\ufff2\1\u0121\22\ufff2\1\u0121\5\ufff2\1\u0121\1\ufff2\1\u0121\2\ufff2\1\u0121" +
+		"\2\ufff2\1\u0121\2\ufff2\1\u0121\7\ufff2\1\u0121\1\ufff2\2\u0121\4\ufff2\1\u0122" +
+		"\22\ufff2\1\u0122\5\ufff2\1\u0122\1\ufff2\1\u0122\2\ufff2\1\u0122\2\ufff2\1\u0122" +
+		"\2\ufff2\1\u0122\7\ufff2\1\u0122\1\ufff2\2\u0122\4\ufff2\1\u0123\22\ufff2\1\u0123" +
+		"\5\ufff2\1\u0123\1\ufff2\1\u0123\2\ufff2\1\u0123\2\ufff2\1\u0123\2\ufff2\1\u0123" +
+		"\7\ufff2\1\u0123\1\ufff2\2\u0123\4\ufff2\1\u0124\22\ufff2\1\u0124\5\ufff2\1\u0124" +
+		"\1\ufff2\1\u0124\2\ufff2\1\u0124\2\ufff2\1\u0124\2\ufff2\1\u0124\7\ufff2\1\u0124" +
+		"\1\ufff2\2\u0124\4\ufff2\1\u0125\22\ufff2\1\u0125\5\ufff2\1\u0125\1\ufff2\1\u0125" +
+		"\2\ufff2\1\u0125\2\ufff2\1\u0125\2\ufff2\1\u0125\7\ufff2\1\u0125\1\ufff2\2\u0125" +
+		"\4\ufff2\1\u0126\22\ufff2\1\u0126\5\ufff2\1\u0126\1\ufff2\1\u0126\2\ufff2\1\u0126" +
+		"\2\ufff2\1\u0126\2\ufff2\1\u0126\7\ufff2\1\u0126\1\ufff2\2\u0126\4\ufff2\1\u0127" +
+		"\22\ufff2\1\u0127\5\ufff2\1\u0127\1\ufff2\1\u0127\2\ufff2\1\u0127\2\ufff2\1\u0127" +
+		"\2\ufff2\1\u0127\7\ufff2\1\u0127\1\ufff2\2\u0127\4\ufff2\1\u012d\22\ufff2\1\u012d" +
+		"\5\ufff2\1\u012d\1\ufff2\1\u012d\2\ufff2\1\u012d\2\ufff2\1\u012d\2\ufff2\1\u012d" +
+		"\7\ufff2\1\u012d\1\ufff2\2\u012d\4\ufff2\1\u0129\22\ufff2\1\u0129\5\ufff2\1\u0129" +
+		"\1\ufff2\1\u0129\2\ufff2\1\u0129\2\ufff2\1\u0129\2\ufff2\1\u0129\7\ufff2\1\u0129" +
+		"\1\ufff2\2\u0129\4\ufff2\1\u0129\1\u012a\21\ufff2\1\u0129\5\ufff2\1\u0129\1\ufff2" +
+		"\1\u0129\2\ufff2\1\u0129\2\ufff2\1\u0129\2\ufff2\1\u0129\7\ufff2\1\u0129\1\ufff2" +
+		"\2\u0129\1\ufff2\64\uffec\3\ufff2\1\u012c\1\u012a\55\ufff2\1\u012c\4\ufff2\1\u012d" +
+		"\1\u012a\55\ufff2\1\u012d\5\ufff2\1\u012a\57\ufff2\3\uffee\1\1\2\uffee\1\ufffb\50" +
+		"\uffee\1\1\1\ufffb\1\uffee\1\1\1\uffee\3\ufff2\1\u0130\22\ufff2\1\u0130\5\ufff2\1" +
+		"\u0130\1\ufff2\1\u0130\2\ufff2\1\u0130\2\ufff2\1\u0130\2\ufff2\1\u0130\7\ufff2\1" +
+		"\u0130\1\ufff2\2\u0130\1\ufff2\3\uffed\1\u0130\22\uffed\1\u0130\5\uffed\1\u0130\1" +
+		"\uffed\1\u0130\2\uffed\1\u0130\2\uffed\1\u0130\2\uffed\1\u0130\7\uffed\1\u0130\1" +
+		"\uffed\2\u0130\1\uffed\64\uffef\1\ufff2\3\u015f\1\u0153\4\u015f\1\u0147\1\u0142\2" +
+		"\u015f\1\u013d\4\u015f\1\u0135\26\u015f\1\u0134\1\u015f\1\u0133\10\u015f\64\uffb6" +
+		"\64\uffab\5\uffac\1\ufffa\5\uffac\1\ufff9\6\uffac\1\u0136\41\uffac\1\uffae\53\u0136" +
+		"\2\uffae\6\u0136\1\ufff2\12\u0137\1\u0138\50\u0137\1\ufff2\12\u0137\1\u0138\6\u0137" +
+		"\1\u0139\41\u0137\64\uffad\54\ufff2\1\u013c\1\u013b\5\ufff2\1\u013a\5\ufff2\1\u013a" +
+		"\5\ufff2\1\u0137\6\ufff2\1\u0136\116\ufff2\1\u013b\6\ufff2\5\uffac\1\ufff8\6\uffac" +
+		"\1\u013e\47\uffac\64\uffaa\54\ufff2\1\u0141\1\u0140\5\ufff2\1\u013f\5\ufff2\1\u013f" +
+		"\6\ufff2\1\u013e\124\ufff2\1\u0140\6\ufff2\5\uffac\1\ufff7\4\uffac\1\u0143\2\uffac" +
+		"\1\u0134\46\uffac\64\uffa9\54\ufff2\1\u0146\1\u0145\5\ufff2\1\u0144\5\ufff2\1\u0144" +
+		"\4\ufff2\1\u0143\2\ufff2\1\u0134\123\ufff2\1\u0145\6\ufff2\1\uffac\4\ufff6\1\ufff5" +
+		"\3\ufff6\1\u0148\43\ufff6\1\uffac\6\ufff6\64\uffaf\3\ufff2\3\u0152\1\u0151\1\u014e" +
+		"\1\u014a\1\u0152\11\ufff2\1\u0152\3\ufff2\2\u0152\10\ufff2\1\u0152\2\ufff2\1\u0152" +
+		"\1\ufff2\2\u0152\2\ufff2\1\u0152\7\ufff2\1\u0152\4\ufff2\1\u014b\22\ufff2\1\u014b" +
+		"\5\ufff2\1\u014b\1\ufff2\1\u014b\2\ufff2\1\u014b\2\ufff2\1\u014b\2\ufff2\1\u014b" +
+		"\7\ufff2\1\u014b\1\ufff2\2\u014b\4\ufff2\1\u014c\22\ufff2\1\u014c\5\ufff2\1\u014c" +
+		"\1\ufff2\1\u014c\2\ufff2\1\u014c\2\ufff2\1\u014c\2\ufff2\1\u014c\7\ufff2\1\u014c" +
+		"\1\ufff2\2\u014c\4\ufff2\1\u014d\22\ufff2\1\u014d\5\ufff2\1\u014d\1\ufff2\1\u014d" +
+		"\2\ufff2\1\u014d\2\ufff2\1\u014d\2\ufff2\1\u014d\7\ufff2\1\u014d\1\ufff2\2\u014d" +
+		"\4\ufff2\1\u014e\22\ufff2\1\u014e\5\ufff2\1\u014e\1\ufff2\1\u014e\2\ufff2\1\u014e" +
+		"\2\ufff2\1\u014e\2\ufff2\1\u014e\7\ufff2\1\u014e\1\ufff2\2\u014e\4\ufff2\1\u014f" +
+		"\22\ufff2\1\u014f\5\ufff2\1\u014f\1\ufff2\1\u014f\2\ufff2\1\u014f\2\ufff2\1\u014f" +
+		"\2\ufff2\1\u014f\7\ufff2\1\u014f\1\ufff2\2\u014f\4\ufff2\1\u0150\22\ufff2\1\u0150" +
+		"\5\ufff2\1\u0150\1\ufff2\1\u0150\2\ufff2\1\u0150\2\ufff2\1\u0150\2\ufff2\1\u0150" +
+		"\7\ufff2\1\u0150\1\ufff2\2\u0150\4\ufff2\1\u0151\22\ufff2\1\u0151\5\ufff2\1\u0151" +
+		"\1\ufff2\1\u0151\2\ufff2\1\u0151\2\ufff2\1\u0151\2\ufff2\1\u0151\7\ufff2\1\u0151" +
+		"\1\ufff2\2\u0151\4\ufff2\1\u0152\22\ufff2\1\u0152\5\ufff2\1\u0152\1\ufff2\1\u0152" +
+		"\2\ufff2\1\u0152\2\ufff2\1\u0152\2\ufff2\1\u0152\7\ufff2\1\u0152\1\ufff2\2\u0152" +
+		"\2\ufff2\4\u0152\1\u0149\3\u0152\1\u0148\43\u0152\1\ufff2\6\u0152\1\uffac\3\ufff4" +
+		"\1\u015e\1\ufff3\47\ufff4\1\uffac\6\ufff4\3\ufff2\3\u015d\1\u015c\1\u0159\1\u0155" +
+		"\1\u015d\11\ufff2\1\u015d\3\ufff2\2\u015d\10\ufff2\1\u015d\2\ufff2\1\u015d\1\ufff2" +
+		"\2\u015d\2\ufff2\1\u015d\7\ufff2\1\u015d\4\ufff2\1\u0156\22\ufff2\1\u0156\5\ufff2" +
+		"\1\u0156\1\ufff2\1\u0156\2\ufff2\1\u0156\2\ufff2\1\u0156\2\ufff2\1\u0156\7\ufff2" +
+		"\1\u0156\1\ufff2\2\u0156\4\ufff2\1\u0157\22\ufff2\1\u0157\5\ufff2\1\u0157\1\ufff2" +
+		"\1\u0157\2\ufff2\1\u0157\2\ufff2\1\u0157\2\ufff2\1\u0157\7\ufff2\1\u0157\1\ufff2" +
+		"\2\u0157\4\ufff2\1\u0158\22\ufff2\1\u0158\5\ufff2\1\u0158\1\ufff2\1\u0158\2\ufff2" +
+		"\1\u0158\2\ufff2\1\u0158\2\ufff2\1\u0158\7\ufff2\1\u0158\1\ufff2\2\u0158\4\ufff2" +
+		"\1\u0159\22\ufff2\1\u0159\5\ufff2\1\u0159\1\ufff2\1\u0159\2\ufff2\1\u0159\2\ufff2" +
+		"\1\u0159\2\ufff2\1\u0159\7\ufff2\1\u0159\1\ufff2\2\u0159\4\ufff2\1\u015a\22\ufff2" +
+		"\1\u015a\5\ufff2\1\u015a\1\ufff2\1\u015a\2\ufff2\1\u015a\2\ufff2\1\u015a\2\ufff2" +
+		"\1\u015a\7\ufff2\1\u015a\1\ufff2\2\u015a\4\ufff2\1\u015b\22\ufff2\1\u015b\5\ufff2" +
+		"\1\u015b\1\ufff2\1\u015b\2\ufff2\1\u015b\2\ufff2\1\u015b\2\ufff2\1\u015b\7\ufff2" +
+		"\1\u015b\1\ufff2\2\u015b\4\ufff2\1\u015c\22\ufff2\1\u015c\5\ufff2\1\u015c\1\ufff2" +
+		"\1\u015c\2\ufff2\1\u015c\2\ufff2\1\u015c\2\ufff2\1\u015c\7\ufff2\1\u015c\1\ufff2" +
+		"\2\u015c\4\ufff2\1\u015d\22\ufff2\1\u015d\5\ufff2\1\u015d\1\ufff2\1\u015d\2\ufff2" +
+		"\1\u015d\2\ufff2\1\u015d\2\ufff2\1\u015d\7\ufff2\1\u015d\1\ufff2\2\u015d\2\ufff2" +
+		"\3\u015d\1\u015e\1\u0154\47\u015d\1\ufff2\6\u015d\64\uffb0\64\uffac\1\ufff2\3\u015f" +
+		"\1\u0153\4\u015f\1\u0147\1\u0142\2\u015f\1\u013d\4\u015f\1\u0135\26\u015f\1\u0134" +
+		"\1\u015f\1\u0161\10\u015f\64\uffb5\1\ufff2\3\u015f\1\u0153\4\u015f\1\u0147\3\u015f" +
+		"\1\u0163\4\u015f\1\u0135\41\u015f\53\uffac\1\u0164\10\uffac\64\uffb4\1\ufff2\11\u0169" +
+		"\1\u0168\1\u0169\1\u0167\30\u0169\1\u0166\16\u0169\1\uffb3\11\u0169\1\uffb3\32\u0169" +
+		"\1\u0166\16\u0169\64\uffb1\64\uffb2\1\uffb3\11\u0169\1\uffb3\1\u0169\1\uffb3\30\u0169" +
+		"\1\u0166\16\u0169\1\ufff2\3\u015f\1\u0153\4\u015f\1\u0147\10\u015f\1\u0135\41\u015f");
 
 	private static short[] unpack_vc_short(int size, String... st) {
 		short[] res = new short[size];
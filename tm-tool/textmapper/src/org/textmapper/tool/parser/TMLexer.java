@@ -292,7 +292,7 @@ public class TMLexer {
 	};
 
 	private static final short tmStateMap[] = {
-		0, 0, 52, 62
+		0, 0, 52, 59
 	};
 
 	private static final short tmBacktracking[] = {
@@ -311,7 +311,7 @@ public class TMLexer {
 
 	private static final int tmClassesCount = 36;
 
-	private static final short[] tmGoto = unpack_vc_short(2304,
+	private static final short[] tmGoto = unpack_vc_short(2196,
 		"\1\ufffb\1\ufffc\1\61\1\ufffc\1\60\1\55\1\53\1\50\1\60\1\46\1\42\1\41\1\37\1\35\1" +
 		"\33\1\31\1\30\1\27\1\26\1\25\1\24\1\21\1\20\1\17\1\16\1\15\1\14\1\12\1\11\1\7\1\6" +
 		"\1\5\1\4\1\2\1\1\1\60\42\ufff8\1\1\1\ufff8\6\ufffa\1\uffff\32\ufffa\2\2\1\ufffa\6" +
@@ -329,12 +329,10 @@ public class TMLexer {
 		"\35\1\33\1\31\1\30\1\27\1\26\1\25\1\24\1\21\1\20\1\17\1\16\1\15\1\14\1\12\1\11\1" +
 		"\7\1\6\1\5\1\4\1\2\1\1\1\60\1\ufffc\2\71\1\70\1\ufffc\3\71\1\ufffc\1\71\1\ufffc\1" +
 		"\43\7\71\1\66\20\71\1\ufffc\2\66\1\67\1\ufffc\3\66\1\ufffc\13\66\1\71\17\66\1\ufffc" +
-		"\3\66\1\ufffc\37\66\1\ufffc\3\71\1\ufffc\37\71\1\ufffc\2\71\1\75\1\ufffc\3\71\1\ufffc" +
-		"\1\71\1\74\10\71\1\72\20\71\1\ufffc\2\72\1\73\1\ufffc\3\72\1\ufffc\13\72\1\71\17" +
-		"\72\1\ufffc\3\72\1\ufffc\37\72\44\uffad\1\ufffc\3\71\1\ufffc\37\71\2\ufffc\1\61\1" +
-		"\ufffc\1\60\1\55\1\53\1\50\1\60\1\46\1\42\1\41\1\37\1\35\1\33\1\31\1\30\1\27\1\26" +
-		"\1\25\1\24\1\21\1\20\1\17\1\16\1\15\1\14\1\12\1\11\1\7\1\6\1\5\1\77\1\2\1\1\1\60" +
-		"\44\uffae");
+		"\3\66\1\ufffc\37\66\1\ufffc\3\71\1\ufffc\37\71\1\ufffc\2\71\1\70\1\ufffc\3\71\1\ufffc" +
+		"\1\71\1\72\10\71\1\66\20\71\44\uffad\2\ufffc\1\61\1\ufffc\1\60\1\55\1\53\1\50\1\60" +
+		"\1\46\1\42\1\41\1\37\1\35\1\33\1\31\1\30\1\27\1\26\1\25\1\24\1\21\1\20\1\17\1\16" +
+		"\1\15\1\14\1\12\1\11\1\7\1\6\1\5\1\74\1\2\1\1\1\60\44\uffae");
 
 	private static short[] unpack_vc_short(int size, String... st) {
 		short[] res = new short[size];
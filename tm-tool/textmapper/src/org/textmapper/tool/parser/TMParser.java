@@ -17,6 +17,7 @@ package org.textmapper.tool.parser;
 
 import java.io.IOException;
 import java.text.MessageFormat;
+import java.util.Arrays;
 import java.util.List;
 import java.util.ArrayList;
 import org.textmapper.tool.parser.TMLexer.ErrorReporter;
@@ -1620,7 +1621,10 @@ public class TMParser {
 			tmHead--;
 		}
 		if (tmHead >= 0) {
-			tmStack[++tmHead] = new Span();
+			if (++tmHead == tmStack.length) {
+				growStack();
+			}
+			tmStack[tmHead] = new Span();
 			tmStack[tmHead].symbol = 36;
 			tmStack[tmHead].value = null;
 			tmStack[tmHead].state = gotoState(tmStack[tmHead - 1].state, 36);
@@ -1633,7 +1637,10 @@ public class TMParser {
 	}
 
 	protected void shift() throws IOException {
-		tmStack[++tmHead] = tmNext;
+		if (++tmHead == tmStack.length) {
+			growStack();
+		}
+		tmStack[tmHead] = tmNext;
 		tmStack[tmHead].state = gotoState(tmStack[tmHead - 1].state, tmNext.symbol);
 		if (DEBUG_SYNTAX) {
 			System.out.println(MessageFormat.format("shift: {0} ({1})", tmSymbolNames[tmNext.symbol], tmLexer.tokenText()));
@@ -1660,10 +1667,17 @@ public class TMParser {
 			cleanup(tmStack[tmHead]);
 			tmStack[tmHead--] = null;
 		}
-		tmStack[++tmHead] = left;
+		if (++tmHead == tmStack.length) {
+			growStack();
+		}
+		tmStack[tmHead] = left;
 		tmStack[tmHead].state = gotoState(tmStack[tmHead - 1].state, left.symbol);
 	}
 
+	protected void growStack() {
+		tmStack = Arrays.copyOf(tmStack, tmStack.length * 2);
+	}
+
 	@SuppressWarnings("unchecked")
 	protected void applyRule(Span tmLeft, int ruleIndex, int ruleLength) {
 		switch (ruleIndex) {
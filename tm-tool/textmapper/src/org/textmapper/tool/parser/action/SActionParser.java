@@ -17,6 +17,7 @@ package org.textmapper.tool.parser.action;
 
 import java.io.IOException;
 import java.text.MessageFormat;
+import java.util.Arrays;
 import org.textmapper.tool.parser.action.SActionLexer.ErrorReporter;
 import org.textmapper.tool.parser.action.SActionLexer.Span;
 import org.textmapper.tool.parser.action.SActionLexer.Tokens;
@@ -162,7 +163,10 @@ public class SActionParser {
 		if (tmNext == null) {
 			tmNext = tmLexer.next();
 		}
-		tmStack[++tmHead] = tmNext;
+		if (++tmHead == tmStack.length) {
+			growStack();
+		}
+		tmStack[tmHead] = tmNext;
 		tmStack[tmHead].state = gotoState(tmStack[tmHead - 1].state, tmNext.symbol);
 		if (DEBUG_SYNTAX) {
 			System.out.println(MessageFormat.format("shift: {0} ({1})", tmSymbolNames[tmNext.symbol], tmLexer.tokenText()));
@@ -187,10 +191,17 @@ public class SActionParser {
 		for (int e = tmRuleLen[rule]; e > 0; e--) {
 			tmStack[tmHead--] = null;
 		}
-		tmStack[++tmHead] = left;
+		if (++tmHead == tmStack.length) {
+			growStack();
+		}
+		tmStack[tmHead] = left;
 		tmStack[tmHead].state = gotoState(tmStack[tmHead - 1].state, left.symbol);
 	}
 
+	protected void growStack() {
+		tmStack = Arrays.copyOf(tmStack, tmStack.length * 2);
+	}
+
 	@SuppressWarnings("unchecked")
 	protected void applyRule(Span tmLeft, int ruleIndex, int ruleLength) {
 	}
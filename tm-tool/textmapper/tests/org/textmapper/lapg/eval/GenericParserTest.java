@@ -34,20 +34,46 @@ public class GenericParserTest {
 				new String[]{"GenericParser.java", "GenericLexer.java"});
 	}
 
+	@Test
+	public void testGenericUtf8Lexer() {
+		new LapgTemplatesTestHelperEx("GenericUtf8", "utf8").gentest(
+				"java.lexerOnly", "tests/org/textmapper/lapg/eval/templates",
+				"../lapg/src/org/textmapper/lapg/eval",
+				new String[]{"GenericUtf8Lexer.java"});
+	}
+
 	private static class LapgTemplatesTestHelperEx extends LapgTemplatesTestHelper {
+		private final String prefix;
+		private final String lexerInput;
+
+		LapgTemplatesTestHelperEx() {
+			this("Generic", "stream");
+		}
+
+		LapgTemplatesTestHelperEx(String prefix, String lexerInput) {
+			this.prefix = prefix;
+			this.lexerInput = lexerInput;
+		}
+
 		@Override
 		protected Map<String, Object> createOptions() {
 			HashMap<String, Object> res = new HashMap<>();
-			res.put("prefix", "Generic");
+			res.put("prefix", prefix);
 			res.put("package", "org.textmapper.lapg.eval");
 			res.put("positions", "line,offset");
 			res.put("endpositions", "offset");
-			res.put("lexerInput", "buffer");
+			res.put("lexerInput", lexerInput);
 			res.put("maxtoken", 2048);
 			res.put("stack", 1024);
 			res.put("genast", false);
 			res.put("gentree", false);
 			res.put("genCleanup", true);
+			res.put("flatStack", true);
+			res.put("tableStyle", "tables");
+			res.put("packedActions", true);
+			res.put("packedGoto", true);
+			res.put("packedLexer", true);
+			res.put("packedCharClass", true);
 			return res;
 		}
 	}
@@ -0,0 +1,219 @@
+/**
+ * Copyright 2002-2017 Evgeny Gryaznov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.textmapper.lapg.lalr;
+
+import org.junit.Test;
+import org.textmapper.lapg.LapgCore;
+import org.textmapper.lapg.api.Grammar;
+import org.textmapper.lapg.api.LexerData;
+import org.textmapper.lapg.api.ParserData;
+import org.textmapper.lapg.common.AbstractProcessingStatus;
+import org.textmapper.lapg.common.FileUtil;
+import org.textmapper.templates.storage.ClassResourceLoader;
+import org.textmapper.templates.storage.ResourceRegistry;
+import org.textmapper.templates.types.TypesRegistry;
+import org.textmapper.tool.compiler.TMGrammar;
+import org.textmapper.tool.gen.SyntaxUtil;
+import org.textmapper.tool.gen.TemplatesStatusAdapter;
+import org.textmapper.tool.parser.TMTree.TextSource;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+
+public class PackedTablesTest {
+
+	@Test
+	public void testJava() throws IOException {
+		assertSameTables("../templates/src/org/textmapper/templates/java/java.tm");
+	}
+
+	@Test
+	public void testTextmapper() throws IOException {
+		assertSameTables("src/org/textmapper/tool/parser/textmapper.tm");
+	}
+
+	@Test
+	public void testEs6() throws IOException {
+		assertSameTables("../samples/js/src/org/textmapper/js/es6.tm");
+	}
+
+	@Test
+	public void testJs() throws IOException {
+		assertSameTables("../../tm-parsers/js/js.tm");
+	}
+
+	private void assertSameTables(String filename) throws IOException {
+		Grammar g = loadGrammar(filename);
+		ParserData tables = Builder.compile(g, new SilentStatus());
+		assertNotNull(tables);
+		assertSameActions(tables);
+		assertSameGoto(tables);
+
+		LexerData lexerTables = LapgCore.generateLexer(g, new SilentStatus());
+		assertNotNull(lexerTables);
+		assertSameLexer(lexerTables);
+		assertSameCharClasses(lexerTables);
+	}
+
+	private void assertSameActions(ParserData tables) {
+		int[] packedAction = tables.getPackedAction();
+		int[] packedLalr = tables.getPackedLalr();
+		int nterms = tables.getNterms();
+		assertEquals(tables.getStatesCount(), packedAction.length);
+
+		for (int state = 0; state < tables.getStatesCount(); state++) {
+			for (int symbol = 0; symbol < nterms; symbol++) {
+				int expected = action(tables, state, symbol);
+
+				int actual = packedAction[state];
+				if (actual < -2) {
+					int base = -actual - 3;
+					int i = base + symbol;
+					actual = packedLalr[2 * i] == base ? packedLalr[2 * i + 1] : packedLalr[2 * (base + nterms) + 1];
+				}
+
+				// default reductions may replace errors
+				if (expected != actual && !(expected == -2 && actual >= 0)) {
+					fail("state " + state + ", symbol " + symbol + ": expected " + expected + ", was " + actual);
+				}
+			}
+		}
+	}
+
+	private void assertSameGoto(ParserData tables) {
+		int[] symGoto = tables.getSymGoto();
+		int[] symFromTo = tables.getSymFromTo();
+		int[] packedGoto = tables.getPackedGoto();
+		int[] packedFromTo = tables.getPackedFromTo();
+		int nstates = tables.getStatesCount();
+		assertEquals(nstates + 1 + tables.getNsyms(), packedGoto.length);
+
+		for (int symbol = 0; symbol < tables.getNsyms(); symbol++) {
+			int[] expected = new int[nstates + 1];
+			Arrays.fill(expected, -1);
+			for (int i = symGoto[symbol]; i < symGoto[symbol + 1]; i += 2) {
+				expected[symFromTo[i] + 1] = symFromTo[i + 1];
+			}
+
+			for (int state = -1; state < nstates; state++) {
+				int base = packedGoto[state + 1];
+				int i = base + symbol;
+				int actual = packedFromTo[2 * i] == base ? packedFromTo[2 * i + 1] : packedGoto[nstates + 1 + symbol];
+
+				// nonterminals have a default target instead of -1
+				if (expected[state + 1] != actual && !(expected[state + 1] == -1 && symbol >= tables.getNterms())) {
+					fail("state " + state + ", symbol " + symbol + ": expected " + expected[state + 1] + ", was " + actual);
+				}
+			}
+		}
+	}
+
+	private void assertSameLexer(LexerData tables) {
+		int[] change = tables.getChange();
+		int[] packedDefault = tables.getPackedDefault();
+		int[] packedBase = tables.getPackedBase();
+		int[] packedChange = tables.getPackedChange();
+		int nchars = tables.getNchars();
+		int nstates = change.length / nchars;
+		assertEquals(nstates, packedDefault.length);
+
+		for (int state = 0; state < nstates; state++) {
+			for (int c = 0; c < nchars; c++) {
+				int s = state, actual;
+				for (int depth = 0; ; depth++) {
+					assertTrue("default chain is too long", depth <= nstates);
+					int base = packedBase[s];
+					int i = base + c;
+					if (packedChange[2 * i] == base) {
+						actual = packedChange[2 * i + 1];
+						break;
+					}
+					if ((s = packedDefault[s]) == -1) {
+						actual = packedChange[2 * (base + nchars) + 1];
+						break;
+					}
+				}
+				assertEquals("state " + state + ", class " + c, change[state * nchars + c], actual);
+			}
+		}
+	}
+
+	private void assertSameCharClasses(LexerData tables) {
+		int[] char2no = tables.getChar2no();
+		int[] index = tables.getCharClassIndex();
+		int[] pages = tables.getCharClassPages();
+		assertTrue(pages.length >= 128);
+		assertEquals((char2no.length + 127) / 128, index.length);
+
+		for (int chr = 0; chr < index.length * 128; chr++) {
+			int expected = chr < char2no.length ? char2no[chr] : 1;
+			int actual = chr < 128 ? pages[chr] : pages[index[chr >> 7] + (chr & 127)];
+			assertEquals("character " + chr, expected, actual);
+		}
+	}
+
+	private static int action(ParserData tables, int state, int symbol) {
+		int[] lalr = tables.getLalr();
+		int action = tables.getAction()[state];
+		if (action < -2) {
+			int p = -action - 3;
+			while (lalr[p] >= 0 && lalr[p] != symbol) {
+				p += 2;
+			}
+			action = lalr[p + 1];
+		}
+		return action;
+	}
+
+	private Grammar loadGrammar(String filename) throws IOException {
+		File source = new File(filename);
+		assertTrue("grammar source doesn't exist: " + filename, source.exists() && source.isFile());
+		String contents = FileUtil.getFileContents(new FileInputStream(source), FileUtil.DEFAULT_ENCODING);
+
+		SilentStatus status = new SilentStatus();
+		ResourceRegistry resources = new ResourceRegistry(new ClassResourceLoader(getClass().getClassLoader(),
+				"org/textmapper/tool/templates", "utf8"));
+		TypesRegistry types = new TypesRegistry(resources, new TemplatesStatusAdapter(status));
+
+		TMGrammar s = SyntaxUtil.parseSyntax(new TextSource(filename, contents, 1), status, types);
+		assertNotNull(s);
+		assertFalse(s.hasErrors());
+		return s.getGrammar();
+	}
+
+	private static class SilentStatus extends AbstractProcessingStatus {
+		SilentStatus() {
+			super(false, false);
+		}
+
+		@Override
+		public void report(String message, Throwable th) {
+			th.printStackTrace(System.err);
+			fail(message);
+		}
+
+		@Override
+		public void handle(int kind, String text) {
+			if (kind == KIND_ERROR || kind == KIND_FATAL) {
+				fail("error reported: " + text);
+			}
+		}
+	}
+}
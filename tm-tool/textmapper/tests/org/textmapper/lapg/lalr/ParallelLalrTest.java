@@ -0,0 +1,107 @@
+/**
+ * Copyright 2002-2017 Evgeny Gryaznov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.textmapper.lapg.lalr;
+
+import org.junit.Test;
+import org.textmapper.lapg.LapgCore;
+import org.textmapper.lapg.api.Grammar;
+import org.textmapper.lapg.api.ParserData;
+import org.textmapper.lapg.common.AbstractProcessingStatus;
+import org.textmapper.lapg.common.FileUtil;
+import org.textmapper.templates.storage.ClassResourceLoader;
+import org.textmapper.templates.storage.ResourceRegistry;
+import org.textmapper.templates.types.TypesRegistry;
+import org.textmapper.tool.compiler.TMGrammar;
+import org.textmapper.tool.gen.SyntaxUtil;
+import org.textmapper.tool.gen.TemplatesStatusAdapter;
+import org.textmapper.tool.parser.TMTree.TextSource;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+
+import static org.junit.Assert.*;
+
+public class ParallelLalrTest {
+
+	@Test
+	public void testJava() throws IOException {
+		assertSameTables("../templates/src/org/textmapper/templates/java/java.tm");
+	}
+
+	@Test
+	public void testTextmapper() throws IOException {
+		assertSameTables("src/org/textmapper/tool/parser/textmapper.tm");
+	}
+
+	@Test
+	public void testEs6() throws IOException {
+		assertSameTables("../samples/js/src/org/textmapper/js/es6.tm");
+	}
+
+	private void assertSameTables(String filename) throws IOException {
+		Grammar g = loadGrammar(filename);
+		ParserData expected = LapgCore.generateParser(g, new SilentStatus(), false);
+		ParserData actual = LapgCore.generateParser(g, new SilentStatus(), true);
+		assertNotNull(expected);
+		assertNotNull(actual);
+
+		assertEquals(expected.getStatesCount(), actual.getStatesCount());
+		assertArrayEquals(expected.getAction(), actual.getAction());
+		assertArrayEquals(expected.getLalr(), actual.getLalr());
+		assertArrayEquals(expected.getSymGoto(), actual.getSymGoto());
+		assertArrayEquals(expected.getSymFromTo(), actual.getSymFromTo());
+		assertArrayEquals(expected.getFinalStates(), actual.getFinalStates());
+		assertArrayEquals(expected.getLeft(), actual.getLeft());
+		assertArrayEquals(expected.getRuleLength(), actual.getRuleLength());
+		assertEquals(expected.getLookaheadRules().length, actual.getLookaheadRules().length);
+	}
+
+	private Grammar loadGrammar(String filename) throws IOException {
+		File source = new File(filename);
+		assertTrue("grammar source doesn't exist: " + filename, source.exists() && source.isFile());
+		String contents = FileUtil.getFileContents(new FileInputStream(source), FileUtil.DEFAULT_ENCODING);
+
+		SilentStatus status = new SilentStatus();
+		ResourceRegistry resources = new ResourceRegistry(new ClassResourceLoader(getClass().getClassLoader(),
+				"org/textmapper/tool/templates", "utf8"));
+		TypesRegistry types = new TypesRegistry(resources, new TemplatesStatusAdapter(status));
+
+		TMGrammar s = SyntaxUtil.parseSyntax(new TextSource(filename, contents, 1), status, types);
+		assertNotNull(s);
+		assertFalse(s.hasErrors());
+		return s.getGrammar();
+	}
+
+	private static class SilentStatus extends AbstractProcessingStatus {
+		SilentStatus() {
+			super(false, false);
+		}
+
+		@Override
+		public void report(String message, Throwable th) {
+			th.printStackTrace(System.err);
+			fail(message);
+		}
+
+		@Override
+		public void handle(int kind, String text) {
+			if (kind == KIND_ERROR || kind == KIND_FATAL) {
+				fail("error reported: " + text);
+			}
+		}
+	}
+}
@@ -0,0 +1,131 @@
+/**
+ * Copyright 2002-2017 Evgeny Gryaznov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.textmapper.tool;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.*;
+
+/**
+ * Compiles bootstrap grammars in parallel, with shared templates.
+ */
+public class BatchTest {
+
+	private static final String BOOTSTRAP = "tests/org/textmapper/tool/bootstrap";
+	private static final String[] GRAMMARS = {
+			"a/sample1.tm", "b/sample2.tm", "bison/bison1.tm", "eoi/eoi.tm", "events/events.tm",
+			"lexeronly/noparser.tm", "lookahead/lookahead.tm", "set/set_test.tm",
+			"templates/templates1.tm", "unicode/unicode.tm",
+	};
+
+	private File root;
+
+	@Before
+	public void setUp() throws IOException {
+		root = Files.createTempDirectory("batch").toFile();
+	}
+
+	@After
+	public void tearDown() throws IOException {
+		try (Stream<Path> files = Files.walk(root.toPath())) {
+			for (Path p : files.sorted(Comparator.reverseOrder()).collect(Collectors.toList())) {
+				Files.delete(p);
+			}
+		}
+	}
+
+	@Test
+	public void testParallel() throws IOException {
+		File sequential = copyGrammars("sequential");
+		Map<String, String> reports = new HashMap<>();
+		for (String grammar : GRAMMARS) {
+			File source = new File(sequential, grammar);
+			ByteArrayOutputStream out = new ByteArrayOutputStream();
+			ByteArrayOutputStream err = new ByteArrayOutputStream();
+			assertEquals(0, Tool.run(new String[]{source.getName()}, source.getParentFile(), null,
+					new PrintStream(out), new PrintStream(err), null));
+			assertEquals("", err.toString());
+			String[] lines = out.toString().split("\n");
+			reports.put(grammar, lines[lines.length - 1]);
+		}
+
+		for (int round = 0; round < 3; round++) {
+			File parallel = copyGrammars("parallel" + round);
+			ByteArrayOutputStream out = new ByteArrayOutputStream();
+			ByteArrayOutputStream err = new ByteArrayOutputStream();
+			assertEquals(0, Tool.run(new String[]{"-b", "-j", "4", parallel.getPath()}, null, null,
+					new PrintStream(out), new PrintStream(err), null));
+			assertEquals("", err.toString());
+
+			// reports of each grammar come together, in the order of grammars
+			String[] lines = out.toString().split("\n");
+			assertEquals(3 * GRAMMARS.length + 1, lines.length);
+			List<String> sorted = new ArrayList<>(Arrays.asList(GRAMMARS));
+			Collections.sort(sorted);
+			for (int i = 0; i < sorted.size(); i++) {
+				String grammar = sorted.get(i);
+				assertTrue(lines[3 * i], lines[3 * i].startsWith("lalr: "));
+				assertEquals(reports.get(grammar), lines[3 * i + 1]);
+				assertTrue(lines[3 * i + 2],
+						lines[3 * i + 2].startsWith(new File(parallel, grammar).getPath() + ": ok ("));
+			}
+			assertEquals("textmapper: " + GRAMMARS.length + " grammar(s), 0 failed", lines[lines.length - 1]);
+
+			assertSameFiles(sequential, parallel);
+		}
+	}
+
+	private File copyGrammars(String name) throws IOException {
+		File dir = new File(root, name);
+		for (String grammar : GRAMMARS) {
+			File target = new File(dir, grammar);
+			assertTrue(target.getParentFile().mkdirs());
+			Files.copy(new File(BOOTSTRAP, grammar).toPath(), target.toPath());
+		}
+		return dir;
+	}
+
+	private static void assertSameFiles(File expected, File actual) throws IOException {
+		Map<String, byte[]> expectedFiles = readAll(expected);
+		Map<String, byte[]> actualFiles = readAll(actual);
+		assertEquals(expectedFiles.keySet(), actualFiles.keySet());
+		for (Map.Entry<String, byte[]> e : expectedFiles.entrySet()) {
+			assertArrayEquals(e.getKey(), e.getValue(), actualFiles.get(e.getKey()));
+		}
+	}
+
+	private static Map<String, byte[]> readAll(File dir) throws IOException {
+		Map<String, byte[]> result = new TreeMap<>();
+		try (Stream<Path> files = Files.walk(dir.toPath())) {
+			for (Path p : files.filter(Files::isRegularFile).collect(Collectors.toList())) {
+				result.put(dir.toPath().relativize(p).toString(), Files.readAllBytes(p));
+			}
+		}
+		return result;
+	}
+}
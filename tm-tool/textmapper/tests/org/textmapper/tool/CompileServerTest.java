@@ -0,0 +1,97 @@
+/**
+ * Copyright 2002-2017 Evgeny Gryaznov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.textmapper.tool;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.textmapper.tool.CompileClient.Result;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import static org.junit.Assert.*;
+
+public class CompileServerTest {
+
+	private static final String CALC = "language calc(java);\n\nprefix = \"Calc\"\npackage = \"calc\"\n\n:: lexer\n\n" +
+			"num: /[0-9]+/\n'+': /\\+/\n_skip: /[\\n\\t\\r ]+/ (space)\n\n:: parser\n\n" +
+			"input : expr ;\nexpr : expr '+' num | num ;\n";
+
+	private File dir;
+
+	@Before
+	public void setUp() throws IOException {
+		dir = Files.createTempDirectory("server").toFile();
+		Files.write(new File(dir, "calc.tm").toPath(), CALC.getBytes(StandardCharsets.UTF_8));
+	}
+
+	@After
+	public void tearDown() {
+		File[] files = dir.listFiles();
+		if (files != null) {
+			for (File f : files) {
+				assertTrue(f.delete());
+			}
+		}
+		assertTrue(dir.delete());
+	}
+
+	@Test
+	public void testProtocol() throws IOException {
+		String path = dir.getAbsolutePath();
+		String requests = "compile 0\n" + path + "\n"
+				+ "compile 1\n" + path + "\ncalc.tm\n"
+				+ "compile 1\n" + path + "\nmissing.tm\n"
+				+ "hello\n"
+				+ "quit\n"
+				+ "compile 0\n" + path + "\n";
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		new CompileServer().serve(new ByteArrayInputStream(requests.getBytes(StandardCharsets.UTF_8)), out);
+
+		String[] lines = out.toString("UTF-8").split("\n");
+		assertEquals(10, lines.length);
+		assertTrue(lines[0], lines[0].startsWith("out lalr: "));
+		assertEquals("out files: 2 written, 0 unchanged", lines[1]);
+		assertEquals("exit 0", lines[2]);
+		assertTrue(lines[3], lines[3].startsWith("out lalr: "));
+		assertEquals("out files: 0 written, 2 unchanged", lines[4]);
+		assertEquals("exit 0", lines[5]);
+		assertEquals("err textmapper: file not found: " + new File(dir, "missing.tm").getPath(), lines[6]);
+		assertEquals("exit 1", lines[7]);
+		assertEquals("err textmapper: malformed request: hello", lines[8]);
+		assertEquals("exit 2", lines[9]);
+	}
+
+	@Test
+	public void testClient() throws IOException {
+		try (CompileClient client = CompileClient.start()) {
+			Result result = client.compile(dir, "calc.tm");
+			assertEquals(0, result.getExitCode());
+			assertEquals("files: 2 written, 0 unchanged", result.getOut().get(result.getOut().size() - 1));
+			assertTrue(result.getErr().isEmpty());
+
+			result = client.compile(dir, "--jobs=0");
+			assertEquals(1, result.getExitCode());
+			assertEquals("textmapper: invalid number of jobs 0", result.getErr().get(0));
+		}
+		assertTrue(new File(dir, "CalcParser.java").isFile());
+	}
+}
@@ -140,6 +140,18 @@ public class BootstrapTest {
 				new String[]{"EoiLexer.java", "EoiParser.java", "EoiTree.java"}, 0);
 	}
 
+	@Test
+	public void testEvents() {
+		bootstrap("tests/org/textmapper/tool/bootstrap/events", "events.tm", new String[0],
+				new String[]{"EventsLexer.java", "EventsParser.java", "EventsListener.java"}, 0);
+	}
+
+	@Test
+	public void testLookahead() {
+		bootstrap("tests/org/textmapper/tool/bootstrap/lookahead", "lookahead.tm", new String[0],
+				new String[]{"LookaheadLexer.java", "LookaheadParser.java", "LookaheadListener.java"}, 0);
+	}
+
 	@Test
 	public void testJsLexer1() {
 		bootstrap("../tests/javascript/lexer", "lexer1.tm", new String[0],
@@ -152,6 +164,12 @@ public class BootstrapTest {
 				new String[]{"js.y"}, 1);
 	}
 
+	@Test
+	public void testEs6Tm() {
+		bootstrap("../samples/js/src/org/textmapper/js", "es6.tm", new String[0],
+				new String[]{"es6.y"}, 3);
+	}
+
 	@Test
 	public void testJsonTm() {
 		bootstrap("../samples/js/src/org/textmapper/json", "json.tm", new String[0], new String[]{
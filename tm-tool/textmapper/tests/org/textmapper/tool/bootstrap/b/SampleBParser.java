@@ -18,6 +18,7 @@ package org.textmapper.tool.bootstrap.b;
 import java.io.IOException;
 import java.text.MessageFormat;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import org.textmapper.tool.bootstrap.b.SampleBLexer.ErrorReporter;
 import org.textmapper.tool.bootstrap.b.SampleBLexer.Span;
@@ -222,7 +223,10 @@ public class SampleBParser {
 			tmHead--;
 		}
 		if (tmHead >= 0) {
-			tmStack[++tmHead] = new Span();
+			if (++tmHead == tmStack.length) {
+				growStack();
+			}
+			tmStack[tmHead] = new Span();
 			tmStack[tmHead].symbol = 11;
 			tmStack[tmHead].value = null;
 			tmStack[tmHead].state = gotoState(tmStack[tmHead - 1].state, 11);
@@ -237,7 +241,10 @@ public class SampleBParser {
 		if (tmNext == null) {
 			tmNext = tmLexer.next();
 		}
-		tmStack[++tmHead] = tmNext;
+		if (++tmHead == tmStack.length) {
+			growStack();
+		}
+		tmStack[tmHead] = tmNext;
 		tmStack[tmHead].state = gotoState(tmStack[tmHead - 1].state, tmNext.symbol);
 		if (DEBUG_SYNTAX) {
 			System.out.println(MessageFormat.format("shift: {0} ({1})", tmSymbolNames[tmNext.symbol], tmLexer.tokenText()));
@@ -262,10 +269,17 @@ public class SampleBParser {
 		for (int e = tmRuleLen[rule]; e > 0; e--) {
 			tmStack[tmHead--] = null;
 		}
-		tmStack[++tmHead] = left;
+		if (++tmHead == tmStack.length) {
+			growStack();
+		}
+		tmStack[tmHead] = left;
 		tmStack[tmHead].state = gotoState(tmStack[tmHead - 1].state, left.symbol);
 	}
 
+	protected void growStack() {
+		tmStack = Arrays.copyOf(tmStack, tmStack.length * 2);
+	}
+
 	@SuppressWarnings("unchecked")
 	protected void applyRule(Span tmLeft, int ruleIndex, int ruleLength) {
 		switch (ruleIndex) {
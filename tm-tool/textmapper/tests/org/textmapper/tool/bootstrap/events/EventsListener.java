@@ -0,0 +1,33 @@
+package org.textmapper.tool.bootstrap.events;
+
+public interface EventsListener {
+
+	int File = 1;  // (Statement)+
+	int Name = 2;
+	int Statement = 3;  // Name value=Expr
+	int Plus = 4;  // left=Expr right=Expr
+	int Ref = 5;
+	int Number = 6;
+	int Paren = 7;  // Expr
+	int NodeTypeMax = 8;
+
+	String[] nodeTypeStr = new String[] {
+		"NONE",
+		"File",
+		"Name",
+		"Statement",
+		"Plus",
+		"Ref",
+		"Number",
+		"Paren",
+	};
+
+	int[] Expr = new int[] {
+		Number,
+		Paren,
+		Plus,
+		Ref,
+	};
+
+	void node(int type, int offset, int endoffset);
+}
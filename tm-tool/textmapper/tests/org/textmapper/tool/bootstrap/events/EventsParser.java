@@ -0,0 +1,228 @@
+package org.textmapper.tool.bootstrap.events;
+
+import java.io.IOException;
+import java.text.MessageFormat;
+import java.util.Arrays;
+import org.textmapper.tool.bootstrap.events.EventsLexer.ErrorReporter;
+import org.textmapper.tool.bootstrap.events.EventsLexer.Span;
+import org.textmapper.tool.bootstrap.events.EventsLexer.Tokens;
+
+public class EventsParser {
+
+	public static class ParseException extends Exception {
+		private static final long serialVersionUID = 1L;
+
+		public ParseException() {
+		}
+	}
+
+	private final ErrorReporter reporter;
+	private final EventsListener listener;
+
+	public EventsParser(ErrorReporter reporter, EventsListener listener) {
+		this.reporter = reporter;
+		this.listener = listener;
+	}
+
+	private static final boolean DEBUG_SYNTAX = false;
+	private static final int[] tmAction = EventsLexer.unpack_int(18,
+		"\uffff\uffff\uffff\uffff\ufffd\uffff\2\0\uffff\uffff\1\0\6\0\7\0\uffff\uffff\uffff" +
+		"\uffff\4\0\uffff\uffff\3\0\uffff\uffff\10\0\5\0\uffff\uffff\ufffe\uffff");
+
+	private static final int[] tmLalr = EventsLexer.unpack_int(6,
+		"\1\0\uffff\uffff\0\0\0\0\uffff\uffff\ufffe\uffff");
+
+	private static final int[] tmGoto = EventsLexer.unpack_int(15,
+		"\0\0\2\0\14\0\22\0\24\0\26\0\32\0\40\0\42\0\42\0\44\0\46\0\52\0\56\0\64\0");
+
+	private static final int[] tmFromTo = EventsLexer.unpack_int(52,
+		"\20\0\21\0\0\0\1\0\2\0\1\0\4\0\6\0\10\0\6\0\15\0\6\0\4\0\7\0\10\0\7\0\15\0\7\0\1" +
+		"\0\4\0\11\0\14\0\11\0\15\0\13\0\15\0\4\0\10\0\10\0\10\0\15\0\10\0\13\0\16\0\0\0\20" +
+		"\0\0\0\2\0\0\0\3\0\2\0\5\0\4\0\11\0\10\0\13\0\4\0\12\0\10\0\12\0\15\0\17\0");
+
+	private static final int[] tmRuleLen = EventsLexer.unpack_int(9,
+		"\1\0\2\0\1\0\4\0\1\0\3\0\1\0\1\0\3\0");
+
+	private static final int[] tmRuleSymbol = EventsLexer.unpack_int(9,
+		"\11\0\12\0\12\0\13\0\14\0\14\0\15\0\15\0\15\0");
+
+	private static final int[] tmRuleNodeType = EventsLexer.unpack_int(9,
+		"\1\0\0\0\0\0\3\0\0\0\4\0\5\0\6\0\7\0");
+
+	protected static final String[] tmSymbolNames = new String[] {
+		"eoi",
+		"id",
+		"num",
+		"'='",
+		"';'",
+		"'+'",
+		"'('",
+		"')'",
+		"_skip",
+		"input",
+		"statement_list",
+		"statement",
+		"expr",
+		"primary",
+	};
+
+	public interface Nonterminals extends Tokens {
+		// non-terminals
+		int input = 9;
+		int statement_list = 10;
+		int statement = 11;
+		int expr = 12;
+		int primary = 13;
+	}
+
+	public interface Rules {
+		int expr_Plus = 5;  // expr : expr '+' primary
+		int primary_Ref = 6;  // primary : id
+		int primary_Number = 7;  // primary : num
+		int primary_Paren = 8;  // primary : '(' expr ')'
+	}
+
+	/**
+	 * -3-n   Lookahead (state id)
+	 * -2     Error
+	 * -1     Shift
+	 * 0..n   Reduce (rule index)
+	 */
+	protected static int tmAction(int state, int symbol) {
+		int p;
+		if (tmAction[state] < -2) {
+			for (p = -tmAction[state] - 3; tmLalr[p] >= 0; p += 2) {
+				if (tmLalr[p] == symbol) {
+					break;
+				}
+			}
+			return tmLalr[p + 1];
+		}
+		return tmAction[state];
+	}
+
+	protected static int gotoState(int state, int symbol) {
+		int min = tmGoto[symbol], max = tmGoto[symbol + 1];
+		int i, e;
+
+		while (min < max) {
+			e = (min + max) >> 2 << 1;
+			i = tmFromTo[e];
+			if (i == state) {
+				return tmFromTo[e+1];
+			} else if (i < state) {
+				min = e + 2;
+			} else {
+				max = e;
+			}
+		}
+		return -1;
+	}
+
+	protected int tmHead;
+	protected int[] tmState;
+	protected int[] tmSymbol;
+	protected Object[] tmValue;
+	protected int[] tmOffset;
+	protected int[] tmEndoffset;
+	protected final Span tmLeft = new Span();
+	protected Span tmNext;
+	protected EventsLexer tmLexer;
+
+	public Object parse(EventsLexer lexer) throws IOException, ParseException {
+
+		tmLexer = lexer;
+		tmState = new int[1024];
+		tmSymbol = new int[1024];
+		tmValue = new Object[1024];
+		tmOffset = new int[1024];
+		tmEndoffset = new int[1024];
+		tmHead = 0;
+
+		tmState[0] = 0;
+		tmNext = tmLexer.next();
+
+		while (tmState[tmHead] != 17) {
+			int action = tmAction(tmState[tmHead], tmNext.symbol);
+
+			if (action >= 0) {
+				reduce(action);
+			} else if (action == -1) {
+				shift();
+			}
+
+			if (action == -2 || tmState[tmHead] == -1) {
+				break;
+			}
+		}
+
+		if (tmState[tmHead] != 17) {
+			reporter.error(MessageFormat.format("syntax error before line {0}",
+								tmLexer.getTokenLine()), tmNext.offset, tmNext.endoffset);
+			throw new ParseException();
+		}
+		return tmValue[tmHead - 1];
+	}
+
+	protected void shift() throws IOException {
+		if (++tmHead == tmState.length) {
+			growStack();
+		}
+		tmSymbol[tmHead] = tmNext.symbol;
+		tmValue[tmHead] = tmNext.value;
+		tmOffset[tmHead] = tmNext.offset;
+		tmEndoffset[tmHead] = tmNext.endoffset;
+		tmState[tmHead] = gotoState(tmState[tmHead - 1], tmNext.symbol);
+		if (DEBUG_SYNTAX) {
+			System.out.println(MessageFormat.format("shift: {0} ({1})", tmSymbolNames[tmNext.symbol], tmLexer.tokenText()));
+		}
+		if (tmState[tmHead] != -1 && tmNext.symbol != 0) {
+			tmNext = tmLexer.next();
+		}
+	}
+
+	protected void reduce(int rule) {
+		Span left = tmLeft;
+		left.value = (tmRuleLen[rule] != 0) ? tmValue[tmHead + 1 - tmRuleLen[rule]] : null;
+		left.symbol = tmRuleSymbol[rule];
+		left.state = 0;
+		if (DEBUG_SYNTAX) {
+			System.out.println("reduce to " + tmSymbolNames[tmRuleSymbol[rule]]);
+		}
+		left.offset = (tmRuleLen[rule] != 0) ? tmOffset[tmHead + 1 - tmRuleLen[rule]] : tmNext.offset;
+		left.endoffset = (tmRuleLen[rule] != 0) ? tmEndoffset[tmHead] : tmNext.offset;
+		applyRule(left, rule, tmRuleLen[rule]);
+		if (tmRuleNodeType[rule] != 0) {
+			listener.node(tmRuleNodeType[rule], left.offset, left.endoffset);
+		}
+		for (int e = tmRuleLen[rule]; e > 0; e--) {
+			tmValue[tmHead--] = null;
+		}
+		if (++tmHead == tmState.length) {
+			growStack();
+		}
+		tmSymbol[tmHead] = left.symbol;
+		tmValue[tmHead] = left.value;
+		tmOffset[tmHead] = left.offset;
+		tmEndoffset[tmHead] = left.endoffset;
+		tmState[tmHead] = gotoState(tmState[tmHead - 1], left.symbol);
+	}
+
+	protected void growStack() {
+		int capacity = tmState.length * 2;
+		tmState = Arrays.copyOf(tmState, capacity);
+		tmSymbol = Arrays.copyOf(tmSymbol, capacity);
+		tmValue = Arrays.copyOf(tmValue, capacity);
+		tmOffset = Arrays.copyOf(tmOffset, capacity);
+		tmEndoffset = Arrays.copyOf(tmEndoffset, capacity);
+	}
+
+	@SuppressWarnings("unchecked")
+	protected void applyRule(Span tmLeft, int ruleIndex, int ruleLength) {
+		switch (ruleIndex) {
+			case 3:  // statement : id '=' expr ';'
+				listener.node(EventsListener.Name, tmOffset[tmHead - 3], tmEndoffset[tmHead - 3]);
+				break;
+		}
+	}
+}
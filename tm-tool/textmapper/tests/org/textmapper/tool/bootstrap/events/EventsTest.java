@@ -0,0 +1,66 @@
+/**
+ * Copyright 2002-2017 Evgeny Gryaznov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.textmapper.tool.bootstrap.events;
+
+import org.junit.Test;
+import org.textmapper.tool.bootstrap.events.EventsLexer.ErrorReporter;
+import org.textmapper.tool.bootstrap.events.EventsParser.ParseException;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+public class EventsTest {
+
+	@Test
+	public void testEvents() throws IOException {
+		// Nested ranges (Name) are reported when their enclosing rule is reduced.
+		assertEquals(Arrays.asList("Number: 1", "Name: a", "Statement: a = 1;", "File: a = 1;"),
+				parse("a = 1;"));
+		assertEquals(Arrays.asList("Ref: b", "Number: 1", "Paren: (1)", "Plus: b + (1)", "Name: a",
+				"Statement: a = b + (1);", "File: a = b + (1);"),
+				parse("a = b + (1);"));
+	}
+
+	@Test
+	public void testSyntaxError() throws IOException {
+		assertEquals(Arrays.asList("Ref: y", "Name: x", "Statement: x=y;", "Number: 0", "syntax error"),
+				parse(" x=y; z=0 "));
+	}
+
+	@Test
+	public void testCategories() {
+		assertEquals(4, EventsListener.Expr.length);
+		assertEquals("Plus", EventsListener.nodeTypeStr[EventsListener.Plus]);
+		assertEquals(EventsListener.NodeTypeMax, EventsListener.nodeTypeStr.length);
+	}
+
+	private List<String> parse(String text) throws IOException {
+		List<String> events = new ArrayList<>();
+		ErrorReporter reporter = (message, offset, endoffset) -> events.add("syntax error");
+		EventsParser parser = new EventsParser(reporter, (type, offset, endoffset) ->
+				events.add(EventsListener.nodeTypeStr[type] + ": " + text.substring(offset, endoffset)));
+		try {
+			parser.parse(new EventsLexer(text, reporter));
+		} catch (ParseException ex) {
+			/* not parsed */
+		}
+		return events;
+	}
+}
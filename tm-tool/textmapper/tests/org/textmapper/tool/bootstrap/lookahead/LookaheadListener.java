@@ -0,0 +1,26 @@
+package org.textmapper.tool.bootstrap.lookahead;
+
+public interface LookaheadListener {
+
+	int Statement = 1;
+	int Plus = 2;
+	int Ref = 3;
+	int Number = 4;
+	int Paren = 5;
+	int ArrowFunction = 6;
+	int Param = 7;
+	int NodeTypeMax = 8;
+
+	String[] nodeTypeStr = new String[] {
+		"NONE",
+		"Statement",
+		"Plus",
+		"Ref",
+		"Number",
+		"Paren",
+		"ArrowFunction",
+		"Param",
+	};
+
+	void node(int type, int offset, int endoffset);
+}
@@ -0,0 +1,683 @@
+package org.textmapper.tool.bootstrap.lookahead;
+
+import java.io.IOException;
+import java.text.MessageFormat;
+import java.util.Arrays;
+import org.textmapper.tool.bootstrap.lookahead.LookaheadLexer.ErrorReporter;
+import org.textmapper.tool.bootstrap.lookahead.LookaheadLexer.Span;
+import org.textmapper.tool.bootstrap.lookahead.LookaheadLexer.Tokens;
+
+public class LookaheadParser {
+
+	public static class ParseException extends Exception {
+		private static final long serialVersionUID = 1L;
+
+		public ParseException() {
+		}
+	}
+
+	private final ErrorReporter reporter;
+	private final LookaheadListener listener;
+
+	public LookaheadParser(ErrorReporter reporter, LookaheadListener listener) {
+		this.reporter = reporter;
+		this.listener = listener;
+	}
+
+	private static final boolean DEBUG_SYNTAX = false;
+	private static final int[] tmRuleLen = LookaheadLexer.unpack_int(20,
+		"\1\0\2\0\1\0\2\0\1\0\3\0\0\0\0\0\1\0\1\0\4\0\6\0\5\0\1\0\3\0\1\0\3\0\4\0\3\0\0\0");
+
+	private static final int[] tmRuleSymbol = LookaheadLexer.unpack_int(20,
+		"\13\0\14\0\14\0\15\0\16\0\16\0\17\0\20\0\21\0\21\0\21\0\21\0\21\0\22\0\22\0\23\0" +
+		"\23\0\24\0\24\0\17\0");
+
+	private static final int[] tmRuleNodeType = LookaheadLexer.unpack_int(19,
+		"\0\0\0\0\0\0\1\0\0\0\2\0\0\0\0\0\3\0\4\0\5\0\6\0\6\0\0\0\0\0\7\0\7\0\0\0\0\0");
+
+	protected static final String[] tmSymbolNames = new String[] {
+		"eoi",
+		"id",
+		"num",
+		"'=>'",
+		"'='",
+		"';'",
+		"','",
+		"'+'",
+		"'('",
+		"')'",
+		"_skip",
+		"input",
+		"statement_list",
+		"statement",
+		"expr",
+		"lookahead_notStartOfArrowFunction",
+		"lookahead_StartOfArrowFunction",
+		"primary",
+		"params",
+		"param",
+		"StartOfArrowFunction",
+	};
+
+	public interface Nonterminals extends Tokens {
+		// non-terminals
+		int input = 11;
+		int statement_list = 12;
+		int statement = 13;
+		int expr = 14;
+		int lookahead_notStartOfArrowFunction = 15;
+		int lookahead_StartOfArrowFunction = 16;
+		int primary = 17;
+		int params = 18;
+		int param = 19;
+		int StartOfArrowFunction = 20;
+	}
+
+	public interface Rules {
+		int expr_Plus = 5;  // expr : expr '+' primary
+		int primary_Ref = 8;  // primary : id
+		int primary_Number = 9;  // primary : num
+		int primary_Paren = 10;  // primary : lookahead_notStartOfArrowFunction '(' expr ')'
+		int primary_ArrowFunction = 11;  // primary : lookahead_StartOfArrowFunction '(' params ')' '=>' primary
+		int primary_ArrowFunction2 = 12;  // primary : lookahead_StartOfArrowFunction '(' ')' '=>' primary
+	}
+
+	/**
+	 * -3-n   Lookahead (state id)
+	 * -2     Error
+	 * -1     Shift
+	 * 0..n   Reduce (rule index)
+	 */
+	protected static int tmAction(int state, int symbol) {
+		switch (state) {
+			case 1:
+				switch (symbol) {
+					case -1:
+						return -4;
+					case 1:
+					case 2:
+						return -1;
+					case 8:
+						return 19;
+				}
+				return -2;
+			case 3:
+				return 8;
+			case 4:
+				return 9;
+			case 5:
+				switch (symbol) {
+					case -1:
+						return -8;
+					case 1:
+					case 2:
+						return -1;
+					case 0:
+						return 0;
+					case 8:
+						return 19;
+				}
+				return -2;
+			case 6:
+				return 2;
+			case 10:
+				return 4;
+			case 11:
+				switch (symbol) {
+					case -1:
+						return -14;
+					case 4:
+						return -1;
+					case 6:
+					case 9:
+						return 15;
+				}
+				return -2;
+			case 14:
+				return 13;
+			case 15:
+				return 1;
+			case 16:
+				return 3;
+			case 17:
+				switch (symbol) {
+					case -1:
+						return -20;
+					case 1:
+					case 2:
+						return -1;
+					case 8:
+						return 19;
+				}
+				return -2;
+			case 18:
+				switch (symbol) {
+					case -1:
+						return -21;
+					case 1:
+					case 2:
+						return -1;
+					case 8:
+						return 19;
+				}
+				return -2;
+			case 20:
+				switch (symbol) {
+					case -1:
+						return -23;
+					case 1:
+					case 2:
+						return -1;
+					case 8:
+						return 19;
+				}
+				return -2;
+			case 21:
+				return 18;
+			case 24:
+				return 5;
+			case 28:
+				return 16;
+			case 29:
+				return 14;
+			case 30:
+				return 17;
+			case 31:
+				return 10;
+			case 32:
+				switch (symbol) {
+					case -1:
+						return -35;
+					case 1:
+					case 2:
+						return -1;
+					case 8:
+						return 19;
+				}
+				return -2;
+			case 34:
+				return 12;
+			case 35:
+				switch (symbol) {
+					case -1:
+						return -38;
+					case 1:
+					case 2:
+						return -1;
+					case 8:
+						return 19;
+				}
+				return -2;
+			case 36:
+				return 11;
+			case 37:
+			case 39:
+				return -2;
+		}
+		return -1;
+	}
+
+	protected static int gotoState(int state, int symbol) {
+		switch (state) {
+			case 0:
+				switch (symbol) {
+					case 8:
+						return 2;
+					case 20:
+						return 37;
+				}
+				return -1;
+			case 1:
+				switch (symbol) {
+					case 1:
+						return 3;
+					case 2:
+						return 4;
+					case 11:
+						return 38;
+					case 12:
+						return 5;
+					case 13:
+						return 6;
+					case 14:
+						return 7;
+					case 15:
+						return 8;
+					case 16:
+						return 9;
+					case 17:
+						return 10;
+				}
+				return -1;
+			case 2:
+				switch (symbol) {
+					case 1:
+						return 11;
+					case 9:
+						return 12;
+					case 18:
+						return 13;
+					case 19:
+						return 14;
+				}
+				return -1;
+			case 5:
+				switch (symbol) {
+					case 1:
+						return 3;
+					case 2:
+						return 4;
+					case 13:
+						return 15;
+					case 14:
+						return 7;
+					case 15:
+						return 8;
+					case 16:
+						return 9;
+					case 17:
+						return 10;
+				}
+				return -1;
+			case 7:
+				switch (symbol) {
+					case 5:
+						return 16;
+					case 7:
+						return 17;
+				}
+				return -1;
+			case 8:
+				switch (symbol) {
+					case 8:
+						return 18;
+				}
+				return -1;
+			case 9:
+				switch (symbol) {
+					case 8:
+						return 19;
+				}
+				return -1;
+			case 11:
+				switch (symbol) {
+					case 4:
+						return 20;
+				}
+				return -1;
+			case 12:
+				switch (symbol) {
+					case 3:
+						return 21;
+				}
+				return -1;
+			case 13:
+				switch (symbol) {
+					case 6:
+						return 22;
+					case 9:
+						return 23;
+				}
+				return -1;
+			case 17:
+				switch (symbol) {
+					case 1:
+						return 3;
+					case 2:
+						return 4;
+					case 15:
+						return 8;
+					case 16:
+						return 9;
+					case 17:
+						return 24;
+				}
+				return -1;
+			case 18:
+				switch (symbol) {
+					case 1:
+						return 3;
+					case 2:
+						return 4;
+					case 14:
+						return 25;
+					case 15:
+						return 8;
+					case 16:
+						return 9;
+					case 17:
+						return 10;
+				}
+				return -1;
+			case 19:
+				switch (symbol) {
+					case 1:
+						return 11;
+					case 9:
+						return 26;
+					case 18:
+						return 27;
+					case 19:
+						return 14;
+				}
+				return -1;
+			case 20:
+				switch (symbol) {
+					case 1:
+						return 3;
+					case 2:
+						return 4;
+					case 15:
+						return 8;
+					case 16:
+						return 9;
+					case 17:
+						return 28;
+				}
+				return -1;
+			case 22:
+				switch (symbol) {
+					case 1:
+						return 11;
+					case 19:
+						return 29;
+				}
+				return -1;
+			case 23:
+				switch (symbol) {
+					case 3:
+						return 30;
+				}
+				return -1;
+			case 25:
+				switch (symbol) {
+					case 7:
+						return 17;
+					case 9:
+						return 31;
+				}
+				return -1;
+			case 26:
+				switch (symbol) {
+					case 3:
+						return 32;
+				}
+				return -1;
+			case 27:
+				switch (symbol) {
+					case 6:
+						return 22;
+					case 9:
+						return 33;
+				}
+				return -1;
+			case 32:
+				switch (symbol) {
+					case 1:
+						return 3;
+					case 2:
+						return 4;
+					case 15:
+						return 8;
+					case 16:
+						return 9;
+					case 17:
+						return 34;
+				}
+				return -1;
+			case 33:
+				switch (symbol) {
+					case 3:
+						return 35;
+				}
+				return -1;
+			case 35:
+				switch (symbol) {
+					case 1:
+						return 3;
+					case 2:
+						return 4;
+					case 15:
+						return 8;
+					case 16:
+						return 9;
+					case 17:
+						return 36;
+				}
+				return -1;
+			case 38:
+				switch (symbol) {
+					case 0:
+						return 39;
+				}
+				return -1;
+		}
+		return -1;
+	}
+
+	protected int tmHead;
+	protected int[] tmState;
+	protected int[] tmSymbol;
+	protected Object[] tmValue;
+	protected int[] tmOffset;
+	protected int[] tmEndoffset;
+	protected final Span tmLeft = new Span();
+	protected Span tmNext;
+	protected LookaheadLexer tmLexer;
+
+	// tokens fetched by lookahead rules but not consumed yet (a ring buffer)
+	protected Span[] tmLaBuffer;
+	protected int tmLaStart;
+	protected int tmLaCount;
+	protected int[] tmLaStack;
+	protected int tmLaTop;
+
+	private Object parse(LookaheadLexer lexer, int initialState, int finalState, boolean noEoi) throws IOException, ParseException {
+
+		tmLexer = lexer;
+		tmState = new int[1024];
+		tmSymbol = new int[1024];
+		tmValue = new Object[1024];
+		tmOffset = new int[1024];
+		tmEndoffset = new int[1024];
+		tmHead = 0;
+		tmLaBuffer = new Span[16];
+		tmLaStart = tmLaCount = tmLaTop = 0;
+		tmLaStack = new int[64];
+
+		tmState[0] = initialState;
+		tmNext = nextToken();
+
+		while (tmState[tmHead] != finalState) {
+			int action = tmAction(tmState[tmHead], tmNext == null ? Tokens.Unavailable_ : tmNext.symbol);
+			if (action <= -3 && tmNext == null) {
+				tmNext = nextToken();
+				action = tmAction(tmState[tmHead], tmNext.symbol);
+			}
+
+			if (action >= 0) {
+				reduce(action);
+			} else if (action == -1) {
+				shift(noEoi);
+			}
+
+			if (action == -2 || tmState[tmHead] == -1) {
+				break;
+			}
+		}
+
+		if (tmState[tmHead] != finalState) {
+			reporter.error(MessageFormat.format("syntax error before line {0}",
+								tmLexer.getTokenLine()), tmNext == null ? tmLexer.getOffset() : tmNext.offset, tmNext == null ? tmLexer.getOffset() : tmNext.endoffset);
+			throw new ParseException();
+		}
+		return tmValue[noEoi ? tmHead : tmHead - 1];
+	}
+
+	protected void shift(boolean lazy) throws IOException {
+		if (tmNext == null) {
+			tmNext = nextToken();
+		}
+		if (++tmHead == tmState.length) {
+			growStack();
+		}
+		tmSymbol[tmHead] = tmNext.symbol;
+		tmValue[tmHead] = tmNext.value;
+		tmOffset[tmHead] = tmNext.offset;
+		tmEndoffset[tmHead] = tmNext.endoffset;
+		tmState[tmHead] = gotoState(tmState[tmHead - 1], tmNext.symbol);
+		if (DEBUG_SYNTAX) {
+			System.out.println(MessageFormat.format("shift: {0} ({1})", tmSymbolNames[tmNext.symbol], tmLexer.tokenText()));
+		}
+		if (tmState[tmHead] != -1 && tmNext.symbol != 0) {
+			tmNext = lazy && tmLaCount == 0 ? null : nextToken();
+		}
+	}
+
+	protected void reduce(int rule) throws IOException {
+		Span left = tmLeft;
+		left.value = (tmRuleLen[rule] != 0) ? tmValue[tmHead + 1 - tmRuleLen[rule]] : null;
+		left.symbol = tmRuleSymbol[rule];
+		int lookaheadSymbol = lookaheadRule(tmNext == null ? Tokens.Unavailable_ : tmNext.symbol, 0, rule);
+		if (lookaheadSymbol != 0) {
+			left.symbol = lookaheadSymbol;
+			if (tmNext == null && tmLaCount > 0) {
+				tmNext = nextToken();
+			}
+		}
+		left.state = 0;
+		if (DEBUG_SYNTAX) {
+			System.out.println("reduce to " + tmSymbolNames[tmRuleSymbol[rule]]);
+		}
+		left.offset = (tmRuleLen[rule] != 0) ? tmOffset[tmHead + 1 - tmRuleLen[rule]] : tmNext == null ? tmLexer.getOffset() : tmNext.offset;
+		left.endoffset = (tmRuleLen[rule] != 0) ? tmEndoffset[tmHead] : tmNext == null ? tmLexer.getOffset() : tmNext.offset;
+		applyRule(left, rule, tmRuleLen[rule]);
+		// lookahead rules are appended after the grammar rules and have no node type
+		if (rule < tmRuleNodeType.length && tmRuleNodeType[rule] != 0) {
+			listener.node(tmRuleNodeType[rule], left.offset, left.endoffset);
+		}
+		for (int e = tmRuleLen[rule]; e > 0; e--) {
+			tmValue[tmHead--] = null;
+		}
+		if (++tmHead == tmState.length) {
+			growStack();
+		}
+		tmSymbol[tmHead] = left.symbol;
+		tmValue[tmHead] = left.value;
+		tmOffset[tmHead] = left.offset;
+		tmEndoffset[tmHead] = left.endoffset;
+		tmState[tmHead] = gotoState(tmState[tmHead - 1], left.symbol);
+	}
+
+	protected void growStack() {
+		int capacity = tmState.length * 2;
+		tmState = Arrays.copyOf(tmState, capacity);
+		tmSymbol = Arrays.copyOf(tmSymbol, capacity);
+		tmValue = Arrays.copyOf(tmValue, capacity);
+		tmOffset = Arrays.copyOf(tmOffset, capacity);
+		tmEndoffset = Arrays.copyOf(tmEndoffset, capacity);
+	}
+
+	protected Span nextToken() throws IOException {
+		if (tmLaCount == 0) {
+			return tmLexer.next();
+		}
+		Span token = tmLaBuffer[tmLaStart];
+		tmLaBuffer[tmLaStart] = null;
+		tmLaStart = (tmLaStart + 1) & (tmLaBuffer.length - 1);
+		tmLaCount--;
+		return token;
+	}
+
+	/**
+	 * Returns the symbol of the index-th token after tmNext, lexing it if needed.
+	 */
+	protected int lookaheadNext(int index) throws IOException {
+		if (index == tmLaCount) {
+			if (tmLaCount == tmLaBuffer.length) {
+				Span[] buffer = new Span[tmLaCount * 2];
+				for (int i = 0; i < tmLaCount; i++) {
+					buffer[i] = tmLaBuffer[(tmLaStart + i) & (tmLaCount - 1)];
+				}
+				tmLaBuffer = buffer;
+				tmLaStart = 0;
+			}
+			tmLaBuffer[(tmLaStart + tmLaCount++) & (tmLaBuffer.length - 1)] = tmLexer.next();
+		}
+		return tmLaBuffer[(tmLaStart + index) & (tmLaBuffer.length - 1)].symbol;
+	}
+
+	protected int lookaheadRule(int next, int index, int rule) throws IOException {
+		switch (rule) {
+			case 19:
+				if (lookahead(next, index, 0, 37)) {
+					return 16;  // lookahead_StartOfArrowFunction
+				} else {
+					return 15;  // lookahead_notStartOfArrowFunction
+				}
+		}
+		return 0;
+	}
+
+	/**
+	 * Runs the parser from the start state on the upcoming tokens without consuming them,
+	 * and reports whether it reaches the end state.
+	 */
+	protected boolean lookahead(int next, int index, int start, int end) throws IOException {
+		int base = tmLaTop, sp = base;
+		if (sp == tmLaStack.length) {
+			tmLaStack = Arrays.copyOf(tmLaStack, sp * 2);
+		}
+		int state = start;
+		tmLaStack[sp] = state;
+
+		while (state != end) {
+			int action = tmAction(state, next);
+			if (action <= -3 && next == Tokens.Unavailable_) {
+				next = lookaheadNext(index++);
+				action = tmAction(state, next);
+			}
+
+			if (action >= 0) {
+				sp -= tmRuleLen[action];
+				int symbol = tmRuleSymbol[action];
+				tmLaTop = sp + 1;
+				int lookaheadSymbol = lookaheadRule(next, index, action);
+				tmLaTop = base;
+				if (lookaheadSymbol != 0) {
+					symbol = lookaheadSymbol;
+				}
+				state = gotoState(tmLaStack[sp], symbol);
+			} else if (action == -1) {
+				if (next == Tokens.Unavailable_) {
+					next = lookaheadNext(index++);
+				}
+				state = gotoState(state, next);
+				if (state != -1 && next != 0) {
+					next = Tokens.Unavailable_;
+				}
+			}
+
+			if (action == -2 || state == -1) {
+				break;
+			}
+			if (++sp == tmLaStack.length) {
+				tmLaStack = Arrays.copyOf(tmLaStack, sp * 2);
+			}
+			tmLaStack[sp] = state;
+		}
+		return state == end;
+	}
+
+	@SuppressWarnings("unchecked")
+	protected void applyRule(Span tmLeft, int ruleIndex, int ruleLength) {
+	}
+
+	public Object parseStartOfArrowFunction(LookaheadLexer lexer) throws IOException, ParseException {
+		return parse(lexer, 0, 37, true);
+	}
+
+	public Object parseInput(LookaheadLexer lexer) throws IOException, ParseException {
+		return parse(lexer, 1, 39, false);
+	}
+}
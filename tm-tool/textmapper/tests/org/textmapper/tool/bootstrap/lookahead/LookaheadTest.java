@@ -0,0 +1,96 @@
+/**
+ * Copyright 2002-2017 Evgeny Gryaznov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.textmapper.tool.bootstrap.lookahead;
+
+import org.junit.Test;
+import org.textmapper.tool.bootstrap.lookahead.LookaheadLexer.ErrorReporter;
+import org.textmapper.tool.bootstrap.lookahead.LookaheadLexer.Span;
+import org.textmapper.tool.bootstrap.lookahead.LookaheadParser.ParseException;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+public class LookaheadTest {
+
+	private int tokens;
+
+	@Test
+	public void testParenthesized() throws IOException {
+		assertEquals(Arrays.asList("Ref: a", "Ref: b", "Plus: a + b", "Paren: (a + b)", "Statement: (a + b);"),
+				parse("(a + b);"));
+		assertEquals(Arrays.asList("Ref: a", "Paren: (a)", "Statement: (a);"),
+				parse("(a);"));
+	}
+
+	@Test
+	public void testArrowFunction() throws IOException {
+		assertEquals(Arrays.asList("Param: a", "Param: b", "Ref: a", "ArrowFunction: (a, b) => a",
+				"Statement: (a, b) => a;"),
+				parse("(a, b) => a;"));
+		assertEquals(Arrays.asList("Number: 1", "ArrowFunction: () => 1", "Statement: () => 1;"),
+				parse("() => 1;"));
+		assertEquals(Arrays.asList("Param: x", "Ref: x", "Paren: (x)", "ArrowFunction: (x) => (x)",
+				"Statement: (x) => (x);", "Ref: y", "Statement: y;"),
+				parse("(x) => (x); y;"));
+	}
+
+	@Test
+	public void testNestedLookahead() throws IOException {
+		// the default value is an arrow function itself, which is resolved inside the outer lookahead
+		assertEquals(Arrays.asList("Param: x", "Ref: x", "ArrowFunction: (x) => x", "Param: a = (x) => x",
+				"Param: b", "Ref: b", "ArrowFunction: (a = (x) => x, b) => b", "Statement: (a = (x) => x, b) => b;"),
+				parse("(a = (x) => x, b) => b;"));
+		assertEquals(Arrays.asList("Ref: a", "Paren: (a)", "Param: x = (a)", "Number: 1",
+				"ArrowFunction: (x = (a)) => 1", "Statement: (x = (a)) => 1;"),
+				parse("(x = (a)) => 1;"));
+	}
+
+	@Test
+	public void testTokensAreLexedOnce() throws IOException {
+		StringBuilder sb = new StringBuilder();
+		for (int i = 0; i < 100; i++) {
+			sb.append("(a, b, c, d, e, f, g, h, i, j, k, l, m, n, o, p, q) => (a + (b + c));\n");
+		}
+		List<String> events = parse(sb.toString());
+		assertEquals(100 * 20, events.stream().filter(e -> e.startsWith("Param") || e.startsWith("Ref")).count());
+		// 46 tokens per line, plus eoi
+		assertEquals(100 * 46 + 1, tokens);
+	}
+
+	private List<String> parse(String text) throws IOException {
+		List<String> events = new ArrayList<>();
+		ErrorReporter reporter = (message, offset, endoffset) -> events.add("syntax error");
+		LookaheadParser parser = new LookaheadParser(reporter, (type, offset, endoffset) ->
+				events.add(LookaheadListener.nodeTypeStr[type] + ": " + text.substring(offset, endoffset)));
+		tokens = 0;
+		try {
+			parser.parseInput(new LookaheadLexer(text, reporter) {
+				@Override
+				public Span next() throws IOException {
+					tokens++;
+					return super.next();
+				}
+			});
+		} catch (ParseException ex) {
+			/* not parsed */
+		}
+		return events;
+	}
+}
@@ -26,6 +26,7 @@ import java.io.FileNotFoundException;
 import java.io.IOException;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
@@ -62,6 +63,26 @@ public class GeneratedFileTest {
 				"}\n", written);
 	}
 
+	@Test
+	public void testUnchanged() throws Exception {
+		File baseFolder = tempFolder.newFolder("testUnchanged" + System.nanoTime());
+		File target = new File(baseFolder, "A.txt");
+
+		assertTrue(new GeneratedFile(baseFolder, "A.txt", "content\n", "utf-8", true, 0).update());
+		assertTrue(target.setLastModified(1000000000000L));
+		assertFalse(new GeneratedFile(baseFolder, "A.txt", "content\r\n", "utf-8", true, 0).update());
+		assertEquals(1000000000000L, target.lastModified());
+
+		// same size, different contents
+		assertTrue(new GeneratedFile(baseFolder, "A.txt", "CONTENT\n", "utf-8", true, 0).update());
+		assertEquals("CONTENT\n", FileUtil.getFileContents(new FileInputStream(target), "utf-8"));
+		assertTrue(new GeneratedFile(baseFolder, "A.txt", "content2\n", "utf-8", true, 0).update());
+		assertEquals("content2\n", FileUtil.getFileContents(new FileInputStream(target), "utf-8"));
+
+		// no temporary files are left behind
+		assertEquals(1, baseFolder.list().length);
+	}
+
 	@Test
 	public void testFolderFileConflict() throws Exception {
 		File baseFolder = tempFolder.newFolder("testFolderFileConflict" + System.nanoTime());
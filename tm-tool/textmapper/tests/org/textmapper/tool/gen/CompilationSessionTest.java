@@ -0,0 +1,102 @@
+/**
+ * Copyright 2002-2017 Evgeny Gryaznov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.textmapper.tool.gen;
+
+import org.junit.Test;
+import org.textmapper.lapg.common.AbstractProcessingStatus;
+import org.textmapper.tool.parser.TMTree.TextSource;
+
+import static org.junit.Assert.*;
+
+public class CompilationSessionTest {
+
+	private static final String CALC = "language calc(java);\n\nprefix = \"Calc\"\n\n:: lexer\n\n" +
+			"num: /[0-9]+/\n'+': /\\+/\n_skip: /[\\n\\t\\r ]+/ (space)\n\n:: parser\n\n" +
+			"input : expr ;\nexpr : expr '+' num | num ;\n";
+
+	@Test
+	public void testReuse() {
+		CompilationSession session = new CompilationSession();
+		TablesCache tables = session.getTables();
+
+		assertValid(session, CALC);
+		assertEquals(0, tables.getHits());
+		assertEquals(2, tables.getMisses());
+
+		// the same text is not compiled again
+		assertValid(session, CALC);
+		assertEquals(0, tables.getHits());
+		assertEquals(2, tables.getMisses());
+
+		// semantic actions
+		assertValid(session, CALC.replace("| num ;", "{ $$ = null; } | num ;"));
+		assertEquals(2, tables.getHits());
+		assertEquals(2, tables.getMisses());
+
+		// lexer rules
+		assertValid(session, CALC.replace("[0-9]", "[0-9a-f]"));
+		assertEquals(3, tables.getHits());
+		assertEquals(3, tables.getMisses());
+
+		// parser rules
+		assertValid(session, CALC.replace("expr '+' num", "num '+' expr"));
+		assertEquals(4, tables.getHits());
+		assertEquals(4, tables.getMisses());
+	}
+
+	@Test
+	public void testDiagnostics() {
+		CompilationSession session = new CompilationSession();
+		String conflict = CALC.replace("expr '+' num", "expr '+' expr");
+		for (int i = 0; i < 2; i++) {
+			CollectingStatus status = new CollectingStatus();
+			session.validate(new TextSource("calc.tm", conflict, 1), new TMOptions(), status);
+			assertTrue(status.errors.toString(), status.errors.toString().contains("shift/reduce conflict"));
+		}
+		assertEquals(2, session.getTables().getMisses());
+
+		CollectingStatus status = new CollectingStatus();
+		assertFalse(session.validate(new TextSource("calc.tm", CALC.replace("num ;", "nm ;"), 1),
+				new TMOptions(), status));
+		assertTrue(status.errors.toString(), status.errors.toString().startsWith("calc.tm,14: nm cannot be resolved"));
+	}
+
+	private static void assertValid(CompilationSession session, String text) {
+		CollectingStatus status = new CollectingStatus();
+		assertTrue(session.validate(new TextSource("calc.tm", text, 1), new TMOptions(), status));
+		assertEquals("", status.errors.toString());
+	}
+
+	private static class CollectingStatus extends AbstractProcessingStatus {
+		private final StringBuilder errors = new StringBuilder();
+
+		CollectingStatus() {
+			super(false, false);
+		}
+
+		@Override
+		public void report(String message, Throwable th) {
+			errors.append(message).append('\n');
+		}
+
+		@Override
+		public void handle(int kind, String text) {
+			if (kind == KIND_ERROR || kind == KIND_FATAL) {
+				errors.append(text);
+			}
+		}
+	}
+}
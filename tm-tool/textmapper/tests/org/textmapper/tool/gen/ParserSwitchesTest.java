@@ -0,0 +1,310 @@
+/**
+ * Copyright 2002-2017 Evgeny Gryaznov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.textmapper.tool.gen;
+
+import org.junit.Test;
+import org.textmapper.lapg.LapgCore;
+import org.textmapper.lapg.api.Grammar;
+import org.textmapper.lapg.api.ParserData;
+import org.textmapper.lapg.common.AbstractProcessingStatus;
+import org.textmapper.lapg.common.FileUtil;
+import org.textmapper.templates.storage.ClassResourceLoader;
+import org.textmapper.templates.storage.ResourceRegistry;
+import org.textmapper.templates.types.TypesRegistry;
+import org.textmapper.tool.compiler.TMGrammar;
+import org.textmapper.tool.gen.ParserSwitches.Case;
+import org.textmapper.tool.gen.ParserSwitches.Chunk;
+import org.textmapper.tool.gen.ParserSwitches.Table;
+import org.textmapper.tool.parser.TMTree.TextSource;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+public class ParserSwitchesTest {
+
+	@Test
+	public void testMergedLabels() {
+		int[] action = {-1, 0, 0, 1, -1, -2, 0};
+		Table t = ParserSwitches.actionSwitch(action, new int[0], false);
+		assertEquals(4, t.getBits());
+		assertFalse(t.isSplit());
+
+		Chunk chunk = t.getChunks().get(0);
+		assertEquals(0, chunk.getIndex());
+		// the most frequent value goes into the default
+		assertEquals(0, chunk.getDefaultValue());
+		assertEquals("-1:[0, 4] 1:[3] -2:[5]", toString(chunk.getCases()));
+		assertActionSwitch(t, action, new int[0], false, 1);
+	}
+
+	@Test
+	public void testLookaheadState() {
+		int[] action = {-3, -1};
+		int[] lalr = {5, 2, 7, -1, 9, 4, -1, 4};
+		Table t = ParserSwitches.actionSwitch(action, lalr, false);
+		Case c = t.getChunks().get(0).getCases().get(0);
+		assertEquals(Arrays.asList(0), c.getLabels());
+		assertEquals(4, c.getValue());
+		assertEquals("2:[5] -1:[7]", toString(c.getNested()));
+		assertFalse(c.getOutlined());
+		assertActionSwitch(t, action, lalr, false, 10);
+
+		// lazy parsers ask for the lookahead state when the next token is Unavailable_
+		t = ParserSwitches.actionSwitch(action, lalr, true);
+		c = t.getChunks().get(0).getCases().get(0);
+		assertEquals("-3:[-1] 2:[5] -1:[7]", toString(c.getNested()));
+		assertActionSwitch(t, action, lalr, true, 10);
+
+		int[] second = {-1, -5};
+		t = ParserSwitches.actionSwitch(second, lalr, true);
+		c = t.getChunks().get(0).getCases().get(0);
+		assertEquals(Arrays.asList(1), c.getLabels());
+		assertEquals("-4:[-1] -1:[7]", toString(c.getNested()));
+		assertActionSwitch(t, second, lalr, true, 10);
+	}
+
+	@Test
+	public void testSplit() {
+		int[] lalr = {0, 1, 1, 2, 2, 3, -1, -2};
+		int[] action = new int[64];
+		for (int i = 0; i < action.length; i++) {
+			action[i] = i % 2 == 0 ? -3 : i % 5;
+		}
+		Table whole = ParserSwitches.actionSwitch(action, lalr, false);
+		assertEquals(6, whole.getBits());
+		assertFalse(whole.isSplit());
+
+		Table t = ParserSwitches.actionSwitch(action, lalr, false, 1000);
+		assertTrue(t.isSplit());
+		assertTrue(t.getBits() < 6 && t.getBits() >= 4);
+		assertEquals(64 >> t.getBits(), t.getChunks().size());
+		for (int i = 0; i < t.getChunks().size(); i++) {
+			Chunk chunk = t.getChunks().get(i);
+			assertEquals(i, chunk.getIndex());
+			assertTrue(chunk.size() <= 1000);
+			for (Case c : chunk.getCases()) {
+				assertFalse(c.getOutlined());
+			}
+		}
+		assertActionSwitch(t, action, lalr, false, 3);
+	}
+
+	@Test
+	public void testOutline() {
+		// state 1 has a large nested switch, state 3 a small one
+		int[] lalr = new int[86];
+		for (int i = 0; i < 40; i++) {
+			lalr[2 * i] = i;
+			lalr[2 * i + 1] = i;
+		}
+		System.arraycopy(new int[]{-1, -2, 3, 5, -1, 7}, 0, lalr, 80, 6);
+		int[] action = {-1, -3, 1, -85, 2};
+
+		Table t = ParserSwitches.actionSwitch(action, lalr, false, 200);
+		assertEquals(4, t.getBits());
+		assertFalse(t.isSplit());
+		Chunk chunk = t.getChunks().get(0);
+		assertTrue(chunk.size() <= 200);
+		Case large = chunk.getCases().stream().filter(c -> c.getLabels().contains(1)).findFirst().get();
+		Case small = chunk.getCases().stream().filter(c -> c.getLabels().contains(3)).findFirst().get();
+		assertTrue(large.getOutlined());
+		assertEquals(40, large.getNested().size());
+		assertFalse(small.getOutlined());
+		assertEquals("5:[3]", toString(small.getNested()));
+		assertActionSwitch(t, action, lalr, false, 41);
+
+		// nothing fits, everything nested gets a method
+		t = ParserSwitches.actionSwitch(action, lalr, false, 1);
+		for (Case c : t.getChunks().get(0).getCases()) {
+			assertEquals(c.getNested() != null, c.getOutlined());
+		}
+		assertActionSwitch(t, action, lalr, false, 41);
+	}
+
+	@Test
+	public void testGoto() {
+		// symbol 0: 0 -> 2, 1 -> 3; symbol 1: none; symbol 2: 0 -> 4, 3 -> 4
+		int[] symGoto = {0, 4, 4, 8};
+		int[] symFromTo = {0, 2, 1, 3, 0, 4, 3, 4};
+		Table t = ParserSwitches.gotoSwitch(symGoto, symFromTo, 5);
+		Chunk chunk = t.getChunks().get(0);
+		assertEquals(-1, chunk.getDefaultValue());
+		assertEquals(3, chunk.getCases().size());
+		assertEquals("2:[0] 4:[2]", toString(chunk.getCases().get(0).getNested()));
+		assertGotoSwitch(t, symGoto, symFromTo, 5);
+
+		t = ParserSwitches.gotoSwitch(symGoto, symFromTo, 5, 1);
+		for (Case c : t.getChunks().get(0).getCases()) {
+			assertTrue(c.getOutlined());
+		}
+		assertGotoSwitch(t, symGoto, symFromTo, 5);
+	}
+
+	@Test
+	public void testJs() throws IOException {
+		assertSameAsTables(loadGrammar("../../tm-parsers/js/js.tm"));
+	}
+
+	@Test
+	public void testLookahead() throws IOException {
+		assertSameAsTables(loadGrammar("tests/org/textmapper/tool/bootstrap/lookahead/lookahead.tm"));
+	}
+
+	private static void assertSameAsTables(Grammar g) {
+		ParserData tables = LapgCore.generateParser(g, new SilentStatus());
+		assertNotNull(tables);
+		int[] action = tables.getAction();
+		int[] lalr = tables.getLalr();
+		for (int budget : new int[]{ParserSwitches.METHOD_BUDGET, 300}) {
+			for (boolean lazy : new boolean[]{false, true}) {
+				Table t = ParserSwitches.actionSwitch(action, lalr, lazy, budget);
+				for (Chunk chunk : t.getChunks()) {
+					assertTrue(chunk.size() <= budget || t.getBits() == 4);
+				}
+				assertActionSwitch(t, action, lalr, lazy, tables.getNsyms());
+			}
+			Table t = ParserSwitches.gotoSwitch(tables.getSymGoto(), tables.getSymFromTo(),
+					tables.getStatesCount(), budget);
+			assertGotoSwitch(t, tables.getSymGoto(), tables.getSymFromTo(), tables.getStatesCount());
+		}
+	}
+
+	private static void assertActionSwitch(Table t, int[] action, int[] lalr, boolean lazy, int nsyms) {
+		Switches switches = new Switches(t);
+		for (int state = 0; state < action.length; state++) {
+			for (int symbol = lazy ? -1 : 0; symbol < nsyms; symbol++) {
+				int expected;
+				if (action[state] >= -2) {
+					expected = action[state];
+				} else if (lazy && symbol == -1) {
+					expected = -3 - state;
+				} else {
+					int p;
+					for (p = -action[state] - 3; lalr[p] >= 0; p += 2) {
+						if (lalr[p] == symbol) {
+							break;
+						}
+					}
+					expected = lalr[p + 1];
+				}
+				assertEquals("tmAction(" + state + ", " + symbol + ")", expected, switches.eval(state, symbol));
+			}
+		}
+	}
+
+	private static void assertGotoSwitch(Table t, int[] symGoto, int[] symFromTo, int nstates) {
+		Switches switches = new Switches(t);
+		for (int state = 0; state < nstates; state++) {
+			for (int symbol = 0; symbol + 1 < symGoto.length; symbol++) {
+				int expected = -1;
+				for (int e = symGoto[symbol]; e < symGoto[symbol + 1]; e += 2) {
+					if (symFromTo[e] == state) {
+						expected = symFromTo[e + 1];
+					}
+				}
+				assertEquals("gotoState(" + state + ", " + symbol + ")", expected, switches.eval(state, symbol));
+			}
+		}
+	}
+
+	/**
+	 * Evaluates the switches the way the generated code does, see codegenMethod in java_parser.ltp.
+	 */
+	private static class Switches {
+		private final Table table;
+		private final Map<Integer, Case> byState = new HashMap<>();
+		private final Map<Case, Map<Integer, Integer>> nested = new HashMap<>();
+
+		Switches(Table table) {
+			this.table = table;
+			for (Chunk chunk : table.getChunks()) {
+				for (Case c : chunk.getCases()) {
+					for (int state : c.getLabels()) {
+						assertEquals(chunk.getIndex(), state >> table.getBits());
+						assertNull(byState.put(state, c));
+					}
+					if (c.getNested() == null) {
+						continue;
+					}
+					Map<Integer, Integer> symbols = new HashMap<>();
+					for (Case n : c.getNested()) {
+						for (int symbol : n.getLabels()) {
+							assertNull(symbols.put(symbol, n.getValue()));
+						}
+					}
+					nested.put(c, symbols);
+				}
+			}
+		}
+
+		int eval(int state, int symbol) {
+			Case c = byState.get(state);
+			if (c == null) {
+				return table.getChunks().get(state >> table.getBits()).getDefaultValue();
+			}
+			Map<Integer, Integer> symbols = nested.get(c);
+			return symbols != null && symbols.containsKey(symbol) ? symbols.get(symbol) : c.getValue();
+		}
+	}
+
+	private static String toString(List<Case> cases) {
+		List<String> result = new ArrayList<>();
+		for (Case c : cases) {
+			result.add(c.getValue() + ":" + c.getLabels());
+		}
+		return String.join(" ", result);
+	}
+
+	private Grammar loadGrammar(String filename) throws IOException {
+		File source = new File(filename);
+		assertTrue("grammar source doesn't exist: " + filename, source.exists() && source.isFile());
+		String contents = FileUtil.getFileContents(new FileInputStream(source), FileUtil.DEFAULT_ENCODING);
+
+		SilentStatus status = new SilentStatus();
+		ResourceRegistry resources = new ResourceRegistry(new ClassResourceLoader(getClass().getClassLoader(),
+				"org/textmapper/tool/templates", "utf8"));
+		TypesRegistry types = new TypesRegistry(resources, new TemplatesStatusAdapter(status));
+
+		TMGrammar s = SyntaxUtil.parseSyntax(new TextSource("input", contents, 1), status, types);
+		assertNotNull(s);
+		assertFalse(s.hasErrors());
+		return s.getGrammar();
+	}
+
+	private static class SilentStatus extends AbstractProcessingStatus {
+		SilentStatus() {
+			super(false, false);
+		}
+
+		@Override
+		public void report(String message, Throwable th) {
+			th.printStackTrace(System.err);
+			fail(message);
+		}
+
+		@Override
+		public void handle(int kind, String text) {
+		}
+	}
+}
@@ -0,0 +1,276 @@
+/**
+ * Copyright 2002-2017 Evgeny Gryaznov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.textmapper.tool.gen;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.textmapper.lapg.LapgCore;
+import org.textmapper.lapg.api.*;
+import org.textmapper.lapg.api.LookaheadRule.LookaheadCase;
+import org.textmapper.lapg.common.AbstractProcessingStatus;
+import org.textmapper.lapg.common.BinaryUtil;
+import org.textmapper.lapg.common.FileUtil;
+import org.textmapper.templates.storage.ClassResourceLoader;
+import org.textmapper.templates.storage.ResourceRegistry;
+import org.textmapper.templates.types.TypesRegistry;
+import org.textmapper.tool.compiler.TMGrammar;
+import org.textmapper.tool.parser.TMTree.TextSource;
+
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+
+import static org.junit.Assert.*;
+
+public class TablesCacheTest {
+
+	private static final String CALC = "language calc(java);\n\n:: lexer\n\n" +
+			"num: /[0-9]+/\n'+': /\\+/\n_skip: /[\\n\\t\\r ]+/ (space)\n\n:: parser\n\n" +
+			"input : expr ;\nexpr : expr '+' num | num ;\n";
+
+	private File dir;
+
+	@Before
+	public void setUp() throws IOException {
+		dir = Files.createTempDirectory("tables").toFile();
+	}
+
+	@After
+	public void tearDown() {
+		File[] files = dir.listFiles();
+		if (files != null) {
+			for (File f : files) {
+				assertTrue(f.delete());
+			}
+		}
+		assertTrue(dir.delete());
+	}
+
+	@Test
+	public void testJs() throws IOException {
+		assertCachedTables(loadGrammar("../../tm-parsers/js/js.tm"));
+	}
+
+	@Test
+	public void testLookahead() throws IOException {
+		assertCachedTables(loadGrammar("tests/org/textmapper/tool/bootstrap/lookahead/lookahead.tm"));
+	}
+
+	@Test
+	public void testKeys() {
+		Grammar g = parse(CALC);
+		String parserKey = TablesCache.parserKey(g);
+		String lexerKey = TablesCache.lexerKey(g, true);
+		assertEquals(parserKey, TablesCache.parserKey(parse(CALC)));
+		assertFalse(lexerKey.equals(TablesCache.lexerKey(g, false)));
+
+		// semantic actions do not affect the tables
+		Grammar withAction = parse(CALC.replace("| num ;", "{ $$ = null; } | num ;"));
+		assertEquals(parserKey, TablesCache.parserKey(withAction));
+		assertEquals(lexerKey, TablesCache.lexerKey(withAction, true));
+
+		Grammar rightRecursive = parse(CALC.replace("expr '+' num", "num '+' expr"));
+		assertFalse(parserKey.equals(TablesCache.parserKey(rightRecursive)));
+		assertEquals(lexerKey, TablesCache.lexerKey(rightRecursive, true));
+
+		Grammar hexNumbers = parse(CALC.replace("[0-9]", "[0-9a-f]"));
+		assertEquals(parserKey, TablesCache.parserKey(hexNumbers));
+		assertFalse(lexerKey.equals(TablesCache.lexerKey(hexNumbers, true)));
+	}
+
+	@Test
+	public void testCorruptedEntry() throws IOException {
+		Grammar g = parse(CALC);
+		TablesCache cache = new TablesCache(dir);
+		cache.parser(g, new SilentStatus(), st -> LapgCore.generateParser(g, st));
+		File entry = new File(dir, TablesCache.parserKey(g) + ".parser");
+		assertTrue(entry.isFile());
+		Files.write(entry.toPath(), new byte[]{1, 2, 3});
+
+		TablesCache second = new TablesCache(dir);
+		ParserData tables = second.parser(g, new SilentStatus(), st -> LapgCore.generateParser(g, st));
+		assertNotNull(tables);
+		assertEquals(0, second.getHits());
+		assertEquals(1, second.getMisses());
+	}
+
+	@Test
+	public void testNegativeCounts() throws IOException {
+		Grammar g = parse(CALC);
+		File entry = new File(dir, TablesCache.parserKey(g) + ".parser");
+
+		// a warning with a negative number of anchors
+		writeEntry(entry, out -> {
+			out.writeInt(1);
+			out.writeInt(ProcessingStatus.KIND_WARN);
+			out.writeUTF("warning");
+			out.writeInt(-1);
+		});
+		assertMiss(g);
+
+		// parser tables with a negative number of markers
+		writeEntry(entry, out -> {
+			out.writeInt(0);
+			BinaryUtil.writeInt(out, g.getRules().length);
+			BinaryUtil.writeInt(out, g.getGrammarSymbols());
+			BinaryUtil.writeInt(out, g.getTerminals());
+			BinaryUtil.writeInt(out, 1);
+			for (int i = 0; i < 7; i++) {
+				BinaryUtil.writeArray(out, new int[0]);
+			}
+			BinaryUtil.writeInt(out, -1);
+		});
+		assertMiss(g);
+	}
+
+	private interface EntryContent {
+		void write(DataOutputStream out) throws IOException;
+	}
+
+	private static void writeEntry(File entry, EntryContent content) throws IOException {
+		try (DataOutputStream out = new DataOutputStream(new FileOutputStream(entry))) {
+			out.writeInt(TablesCache.MAGIC);
+			out.writeInt(TablesCache.FORMAT_VERSION);
+			content.write(out);
+		}
+	}
+
+	private void assertMiss(Grammar g) {
+		TablesCache cache = new TablesCache(dir);
+		assertNotNull(cache.parser(g, new SilentStatus(), st -> LapgCore.generateParser(g, st)));
+		assertEquals(0, cache.getHits());
+		assertEquals(1, cache.getMisses());
+	}
+
+	@Test
+	public void testConflictsAreNotCached() {
+		Grammar g = parse(CALC.replace("expr '+' num", "expr '+' expr"));
+		TablesCache cache = new TablesCache(dir);
+		cache.parser(g, new SilentStatus(), st -> LapgCore.generateParser(g, st));
+		assertEquals(1, cache.getMisses());
+		assertFalse(new File(dir, TablesCache.parserKey(g) + ".parser").exists());
+	}
+
+	private void assertCachedTables(Grammar g) {
+		TablesCache first = new TablesCache(dir);
+		SilentStatus freshStatus = new SilentStatus();
+		ParserData fresh = first.parser(g, freshStatus, st -> LapgCore.generateParser(g, st));
+		LexerData freshLexer = first.lexer(g, true, new SilentStatus(), st -> LapgCore.generateLexer(g, st, true));
+		assertEquals(0, first.getHits());
+		assertEquals(2, first.getMisses());
+
+		TablesCache second = new TablesCache(dir);
+		SilentStatus cachedStatus = new SilentStatus();
+		ParserData cached = second.parser(g, cachedStatus, st -> {
+			throw new AssertionError("tables are not cached");
+		});
+		LexerData cachedLexer = second.lexer(g, true, new SilentStatus(), st -> {
+			throw new AssertionError("lexer tables are not cached");
+		});
+		assertEquals(2, second.getHits());
+		assertEquals(0, second.getMisses());
+		assertEquals(freshStatus.warnings.toString(), cachedStatus.warnings.toString());
+
+		assertSame(g.getSymbols(), cached.getSymbols());
+		assertEquals(fresh.getRules(), cached.getRules());
+		assertEquals(fresh.getNsyms(), cached.getNsyms());
+		assertEquals(fresh.getNterms(), cached.getNterms());
+		assertEquals(fresh.getStatesCount(), cached.getStatesCount());
+		assertArrayEquals(fresh.getLeft(), cached.getLeft());
+		assertArrayEquals(fresh.getRuleLength(), cached.getRuleLength());
+		assertArrayEquals(fresh.getSymGoto(), cached.getSymGoto());
+		assertArrayEquals(fresh.getSymFromTo(), cached.getSymFromTo());
+		assertArrayEquals(fresh.getLalr(), cached.getLalr());
+		assertArrayEquals(fresh.getAction(), cached.getAction());
+		assertArrayEquals(fresh.getFinalStates(), cached.getFinalStates());
+		assertArrayEquals(fresh.getPackedAction(), cached.getPackedAction());
+		assertArrayEquals(fresh.getPackedLalr(), cached.getPackedLalr());
+		assertArrayEquals(fresh.getPackedGoto(), cached.getPackedGoto());
+		assertArrayEquals(fresh.getPackedFromTo(), cached.getPackedFromTo());
+		assertEquals(fresh.getByteSize(), cached.getByteSize());
+
+		assertEquals(fresh.getMarkers().length, cached.getMarkers().length);
+		for (int i = 0; i < fresh.getMarkers().length; i++) {
+			assertEquals(fresh.getMarkers()[i].getName(), cached.getMarkers()[i].getName());
+			assertArrayEquals(fresh.getMarkers()[i].getStates(), cached.getMarkers()[i].getStates());
+		}
+		assertEquals(fresh.getLookaheadRules().length, cached.getLookaheadRules().length);
+		for (int i = 0; i < fresh.getLookaheadRules().length; i++) {
+			LookaheadRule expected = fresh.getLookaheadRules()[i];
+			LookaheadRule actual = cached.getLookaheadRules()[i];
+			assertEquals(expected.getIndex(), actual.getIndex());
+			assertSame(expected.getDefaultTarget(), actual.getDefaultTarget());
+			assertEquals(expected.getCases().length, actual.getCases().length);
+			for (int e = 0; e < expected.getCases().length; e++) {
+				LookaheadCase c = expected.getCases()[e];
+				assertSame(c.getInput(), actual.getCases()[e].getInput());
+				assertEquals(c.isNegated(), actual.getCases()[e].isNegated());
+				assertSame(c.getTarget(), actual.getCases()[e].getTarget());
+			}
+		}
+
+		assertEquals(freshLexer.getNchars(), cachedLexer.getNchars());
+		assertArrayEquals(freshLexer.getChar2no(), cachedLexer.getChar2no());
+		assertArrayEquals(freshLexer.getGroupset(), cachedLexer.getGroupset());
+		assertArrayEquals(freshLexer.getChange(), cachedLexer.getChange());
+		assertArrayEquals(freshLexer.getBacktracking(), cachedLexer.getBacktracking());
+		assertArrayEquals(freshLexer.getPackedChange(), cachedLexer.getPackedChange());
+		assertArrayEquals(freshLexer.getCharClassPages(), cachedLexer.getCharClassPages());
+	}
+
+	private Grammar loadGrammar(String filename) throws IOException {
+		File source = new File(filename);
+		assertTrue("grammar source doesn't exist: " + filename, source.exists() && source.isFile());
+		return parse(FileUtil.getFileContents(new FileInputStream(source), FileUtil.DEFAULT_ENCODING));
+	}
+
+	private Grammar parse(String contents) {
+		SilentStatus status = new SilentStatus();
+		ResourceRegistry resources = new ResourceRegistry(new ClassResourceLoader(getClass().getClassLoader(),
+				"org/textmapper/tool/templates", "utf8"));
+		TypesRegistry types = new TypesRegistry(resources, new TemplatesStatusAdapter(status));
+
+		TMGrammar s = SyntaxUtil.parseSyntax(new TextSource("input", contents, 1), status, types);
+		assertNotNull(s);
+		assertFalse(s.hasErrors());
+		return s.getGrammar();
+	}
+
+	private static class SilentStatus extends AbstractProcessingStatus {
+		private final StringBuilder warnings = new StringBuilder();
+
+		SilentStatus() {
+			super(false, false);
+		}
+
+		@Override
+		public void report(String message, Throwable th) {
+			th.printStackTrace(System.err);
+			fail(message);
+		}
+
+		@Override
+		public void handle(int kind, String text) {
+			if (kind == KIND_WARN) {
+				warnings.append(text);
+			}
+		}
+	}
+}
@@ -107,6 +107,23 @@ public class ConsoleArgsTest {
 		closeError();
 	}
 
+	@Test
+	public void testBatch() {
+		TMOptions lo = TMOptions.parseArguments("-b -j 4 synt2 grammars".split(" "), failingStream);
+		assertNotNull(lo);
+		assertTrue(lo.isBatch());
+		assertEquals(4, lo.getJobs());
+		assertNull(lo.getInput());
+		assertEquals(2, lo.getInputs().size());
+		assertEquals("synt2", lo.getInputs().get(0));
+		assertEquals("grammars", lo.getInputs().get(1));
+
+		expectError("textmapper: invalid number of jobs 0\n");
+		lo = TMOptions.parseArguments("-b --jobs=0 synt1".split(" "), System.err);
+		assertNull(lo);
+		closeError();
+	}
+
 	@Test
 	public void testTwiceArg() {
 		expectError("textmapper: option cannot be used twice -e\n");
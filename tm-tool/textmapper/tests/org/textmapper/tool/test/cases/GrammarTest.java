@@ -16,13 +16,17 @@
 package org.textmapper.tool.test.cases;
 
 import org.junit.Test;
+import org.textmapper.lapg.api.Grammar;
 import org.textmapper.lapg.api.LexerData;
 import org.textmapper.lapg.api.ParserData;
+import org.textmapper.lapg.api.Symbol;
 import org.textmapper.lapg.common.FileUtil;
+import org.textmapper.lapg.eval.GenericLexer;
 import org.textmapper.lapg.eval.GenericNode;
 import org.textmapper.lapg.eval.GenericParseContext;
 import org.textmapper.lapg.eval.GenericParseContext.ParseProblem;
 import org.textmapper.lapg.eval.GenericParseContext.Result;
+import org.textmapper.lapg.eval.GenericUtf8Lexer;
 import org.textmapper.lapg.lex.LexerGenerator;
 import org.textmapper.tool.compiler.TMGrammar;
 import org.textmapper.tool.gen.SyntaxUtil;
@@ -34,6 +38,14 @@ import org.textmapper.templates.storage.ClassResourceLoader;
 import org.textmapper.templates.storage.ResourceRegistry;
 import org.textmapper.templates.types.TypesRegistry;
 
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
 import static org.junit.Assert.*;
 
 /**
@@ -87,6 +99,149 @@ public class GrammarTest extends LapgTestCase {
 		testParser(context, 1, "  aaa x  aaa y aaa aaa aaa    ", "[[[[[[[aaa] x]  aaa] y] aaa] aaa] aaa]");
 	}
 
+	@Test
+	public void testLongInput() {
+		GenericParseContext context = loadGrammar("syntaxmultiinput");
+
+		// the lexer reads its input in portions, tokens should survive refills
+		StringBuilder text = new StringBuilder("aaa");
+		String expected = "[aaa]";
+		for (int i = 0; i < 3000; i++) {
+			text.append(i % 2 == 0 ? " aaa" : "\naaa");
+			expected = "[" + expected + (i % 2 == 0 ? " aaa]" : "\naaa]");
+		}
+		StringBuilder longId = new StringBuilder();
+		for (int i = 0; i < 20000; i++) {
+			longId.append((char) ('a' + i % 26));
+		}
+		text.append(' ').append(longId).append("  ");
+		expected = "[" + expected + " " + longId + "]";
+		testParser(context, 1, text.toString(), expected);
+	}
+
+	@Test
+	public void testUtf8Lexer() throws IOException {
+		String grammar = "language utf8(java);\n\n:: lexer\n\n" +
+				"identifier: /[a-zA-Z_][a-zA-Z_0-9]*/\n" +
+				"string: /\"[\\w\\p{Ll} ]*\"/\n" +
+				"replacement: /\\uFFFD+/\n" +
+				"_skip: /[\\n\\t\\r ]+/ (space)\n";
+		TMGrammar g = SyntaxUtil.parseSyntax(new TextSource("utf8", grammar, 1), new TestStatus(),
+				createDefaultTypesRegistry());
+		assertNotNull(g);
+		LexerData l = LexerGenerator.generate(g.getGrammar().getLexerStates(), g.getGrammar().getLexerRules(),
+				g.getGrammar().getPatterns(), new TestStatus());
+
+		String text = "abc \"\u0444\u044b\u0432 a\u00e9\" \ud83d\ude00 x1\n\"\u65e5\u672c\"  \"\u0444\" end";
+		List<String> charErrors = new ArrayList<>();
+		List<String> byteErrors = new ArrayList<>();
+		GenericLexer chars = new GenericLexer(new StringReader(text),
+				(message, line, offset, endoffset) -> charErrors.add(message), l, g.getGrammar());
+		GenericUtf8Lexer bytes = new GenericUtf8Lexer(ByteBuffer.wrap(text.getBytes(StandardCharsets.UTF_8)),
+				(message, line, offset, endoffset) -> byteErrors.add(message), l, g.getGrammar());
+		for (int symbol = -1; symbol != 0; ) {
+			GenericLexer.Span expected = chars.next();
+			GenericUtf8Lexer.Span actual = bytes.next();
+			symbol = expected.symbol;
+			assertEquals(symbol, actual.symbol);
+			assertEquals(chars.tokenText(), bytes.tokenText());
+			// offsets are in bytes
+			assertEquals(text.substring(0, expected.offset).getBytes(StandardCharsets.UTF_8).length, actual.offset);
+		}
+		assertFalse(charErrors.isEmpty());
+		assertEquals(charErrors, byteErrors);
+
+		// overlong forms, surrogates and code points above U+10FFFF are malformed (RFC 3629)
+		int replacement = -1;
+		for (Symbol sym : g.getGrammar().getSymbols()) {
+			if (sym.getNameText().equals("replacement")) {
+				replacement = sym.getIndex();
+			}
+		}
+		byte[][] malformed = {
+				{(byte) 0xe0, (byte) 0x80, (byte) 0x80},
+				{(byte) 0xe0, (byte) 0x9f, (byte) 0xbf},
+				{(byte) 0xed, (byte) 0xa0, (byte) 0x80},
+				{(byte) 0xed, (byte) 0xbf, (byte) 0xbf},
+				{(byte) 0xf0, (byte) 0x80, (byte) 0x80, (byte) 0x80},
+				{(byte) 0xf0, (byte) 0x8f, (byte) 0xbf, (byte) 0xbf},
+				{(byte) 0xf4, (byte) 0x90, (byte) 0x80, (byte) 0x80},
+				{(byte) 0xf4, (byte) 0xbf, (byte) 0xbf, (byte) 0xbf},
+		};
+		for (byte[] sequence : malformed) {
+			GenericUtf8Lexer lexer = new GenericUtf8Lexer(ByteBuffer.wrap(sequence),
+					(message, line, offset, endoffset) -> fail(message), l, g.getGrammar());
+			GenericUtf8Lexer.Span token = lexer.next();
+			assertEquals(replacement, token.symbol);
+			assertEquals(0, token.offset);
+			assertEquals(sequence.length, token.endoffset);
+			assertEquals(0, lexer.next().symbol);
+		}
+
+		// the smallest and largest well-formed sequences around them
+		String boundaries = "\u0800\ud7ff\ue000\ud800\udc00\udbff\udfff";
+		assertEquals(boundaries.codePoints().boxed().collect(Collectors.toList()),
+				lookahead(boundaries, l, g));
+
+		// lookahead past multi-byte characters
+		String text2 = "\u0444\u044b\u0432\u65e5\u672c\ud83d\ude00x";
+		assertEquals(text2.codePoints().boxed().collect(Collectors.toList()), lookahead(text2, l, g));
+	}
+
+	/**
+	 * Returns all characters of the text, as seen by the lexer lookahead from the first one.
+	 */
+	private static List<Integer> lookahead(String text, LexerData l, TMGrammar g) throws IOException {
+		LookaheadLexer lexer = new LookaheadLexer(ByteBuffer.wrap(text.getBytes(StandardCharsets.UTF_8)),
+				l, g.getGrammar());
+		List<Integer> result = new ArrayList<>();
+		for (int i = 0; lexer.lookahead(i) != -1; i++) {
+			result.add(lexer.lookahead(i));
+		}
+		return result;
+	}
+
+	private static class LookaheadLexer extends GenericUtf8Lexer {
+		LookaheadLexer(ByteBuffer input, LexerData lexerData, Grammar grammar) throws IOException {
+			super(input, (message, line, offset, endoffset) -> fail(message), lexerData, grammar);
+		}
+
+		int lookahead(int i) {
+			return charAt(i);
+		}
+	}
+
+	@Test
+	public void testDeepNesting() {
+		String grammar = "language deep(java);\n\n:: lexer\n\n" +
+				"'(': /\\(/\n')': /\\)/\nx: /x/\n\n:: parser\n\n" +
+				"input : expr ;\nexpr : '(' expr ')' | x ;\n";
+		TMGrammar g = SyntaxUtil.parseSyntax(new TextSource("deep", grammar, 1), new TestStatus(),
+				createDefaultTypesRegistry());
+		assertNotNull(g);
+		LexerData l = LexerGenerator.generate(g.getGrammar().getLexerStates(), g.getGrammar().getLexerRules(),
+				g.getGrammar().getPatterns(), new TestStatus());
+		ParserData r = Builder.compile(g.getGrammar(), new TestStatus());
+		GenericParseContext context = new GenericParseContext(g.getGrammar(), r, l);
+
+		// the parser stack starts with 1024 slots and has to grow
+		int depth = 1000000;
+		StringBuilder text = new StringBuilder(2 * depth + 1);
+		for (int i = 0; i < depth; i++) {
+			text.append('(');
+		}
+		text.append('x');
+		for (int i = 0; i < depth; i++) {
+			text.append(')');
+		}
+		Result root = context.parse(text, 0);
+		assertEquals(0, root.getErrors().size());
+		GenericNode node = (GenericNode) root.getRoot();
+		assertNotNull(node);
+		assertEquals(0, node.getOffset());
+		assertEquals(text.length(), node.getEndOffset());
+	}
+
 	@Test
 	public void testNoEoi() {
 		GenericParseContext context = loadGrammar("syntaxNoEoi");